@@ -0,0 +1,436 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+
+/**
+ * Class loader shared by all Groovy script engines, caching the bytecode of scripts by a hash of their source and of
+ * the libraries.
+ *
+ * Script engines compile scripts with {@link #parseClass(String, String)}, so a script file that is unchanged is not
+ * compiled again when it's reloaded or used by another engine. Each call defines the classes of the script with its own
+ * class loader, so scripts with the same source don't share static state and the classes of a changed script can be
+ * unloaded. The bytecode of the most recently used scripts is kept in memory. Library classes in the library folder are
+ * compiled once into this class loader and shared by all scripts. Optionally the bytecode of scripts is also cached on
+ * disk, so unchanged scripts are loaded without compiling after a restart. The disk cache holds the same scripts as the
+ * memory cache, only the files of the most recently used scripts are kept when the class loader is created.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoader extends GroovyClassLoader {
+    /**
+     * Maximum number of scripts of which the bytecode is kept in memory and on disk
+     */
+    static final int MAX_CACHED_SCRIPTS = 100; // Visible for testing
+
+    private static final String GROOVY_EXTENSION = ".groovy";
+    private static final String CACHE_FILE_EXTENSION = ".classes";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    /**
+     * Name given by the script engine to scripts without file, e.g. the scripts of rules created in the UI. Every
+     * evaluation gets a new name, so these scripts aren't tracked by name.
+     */
+    private static final Pattern GENERATED_SCRIPT_NAME = Pattern.compile("Script\\d+\\.groovy");
+
+    private final Logger logger = LoggerFactory.getLogger(CachingGroovyClassLoader.class);
+    private final CompilerConfiguration configuration;
+    private final Path libraryFolder;
+    private final @Nullable Path cacheFolder;
+
+    private final Map<String, ScriptClasses> scriptClasses = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, ScriptClasses> eldest) {
+            if (size() > MAX_CACHED_SCRIPTS) {
+                if (eldest != null) {
+                    deleteCacheFile(eldest.getKey());
+                }
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, String> hashByFileName = new ConcurrentHashMap<>();
+    private final AtomicInteger compilations = new AtomicInteger();
+    private final Object librariesLock = new Object();
+    private volatile @Nullable String librariesHash;
+
+    /**
+     * @param parent parent class loader of the scripts
+     * @param libraryFolder folder with Groovy sources of classes shared by scripts
+     * @param cacheFolder folder to cache bytecode in, null to only cache in memory
+     */
+    public CachingGroovyClassLoader(ClassLoader parent, Path libraryFolder, @Nullable Path cacheFolder) {
+        this(parent, new CompilerConfiguration(CompilerConfiguration.DEFAULT), libraryFolder, cacheFolder);
+    }
+
+    private CachingGroovyClassLoader(ClassLoader parent, CompilerConfiguration configuration, Path libraryFolder,
+            @Nullable Path cacheFolder) {
+        super(parent, configuration);
+        this.configuration = configuration;
+        this.libraryFolder = libraryFolder;
+        this.cacheFolder = cacheFolder;
+        addClasspath(libraryFolder.toString());
+        if (cacheFolder != null) {
+            pruneCacheFolder(cacheFolder);
+        }
+    }
+
+    @Override
+    public Class<?> parseClass(String text, String fileName) throws CompilationFailedException {
+        boolean generatedName = GENERATED_SCRIPT_NAME.matcher(fileName).matches();
+        String hash = hash(compileLibraries(), generatedName ? "" : fileName, text);
+        ScriptClasses classes = getScriptClasses(hash, text, fileName);
+        if (!generatedName) {
+            String previousHash = hashByFileName.put(fileName, hash);
+            if (previousHash != null && !previousHash.equals(hash)) {
+                // the script changed, drop the bytecode of the previous version
+                removeScriptClasses(previousHash);
+            }
+        }
+        try {
+            return new ScriptClassLoader(this, classes.bytecode).loadClass(classes.mainClassName);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Compiled script class " + classes.mainClassName + " not found", e);
+        }
+    }
+
+    /**
+     * Clears the compiled libraries and scripts. The libraries are compiled again with the next script.
+     */
+    @Override
+    public void clearCache() {
+        synchronized (librariesLock) {
+            super.clearCache();
+            librariesHash = null;
+        }
+        synchronized (scriptClasses) {
+            scriptClasses.clear();
+        }
+        hashByFileName.clear();
+    }
+
+    // Visible for testing
+    int getCompilations() {
+        return compilations.get();
+    }
+
+    // Visible for testing
+    int getCachedScriptCount() {
+        synchronized (scriptClasses) {
+            return scriptClasses.size();
+        }
+    }
+
+    /**
+     * Compiles the sources in the library folder once, so scripts using them don't compile them again.
+     *
+     * @return hash of the library sources
+     */
+    private String compileLibraries() {
+        String hash = librariesHash;
+        if (hash != null) {
+            return hash;
+        }
+        synchronized (librariesLock) {
+            hash = librariesHash;
+            if (hash != null) {
+                return hash;
+            }
+            MessageDigest digest = newDigest();
+            if (Files.isDirectory(libraryFolder)) {
+                try (Stream<Path> files = Files.walk(libraryFolder)) {
+                    List<Path> libraries = files.filter(file -> file.toString().endsWith(GROOVY_EXTENSION)).sorted()
+                            .collect(Collectors.toList());
+                    for (Path library : libraries) {
+                        digest.update(libraryFolder.relativize(library).toString().getBytes(StandardCharsets.UTF_8));
+                        digest.update(Files.readAllBytes(library));
+                        compileLibrary(library);
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to read Groovy libraries in {}: {}", libraryFolder, e.getMessage());
+                }
+            }
+            hash = toHex(digest.digest());
+            librariesHash = hash;
+            return hash;
+        }
+    }
+
+    private void compileLibrary(Path file) {
+        try {
+            parseClass(file.toFile());
+            logger.debug("Compiled Groovy library {}", file);
+        } catch (IOException | CompilationFailedException e) {
+            logger.warn("Failed to compile Groovy library {}: {}", file, e.getMessage());
+        }
+    }
+
+    private ScriptClasses getScriptClasses(String hash, String text, String fileName) {
+        ScriptClasses classes;
+        synchronized (scriptClasses) {
+            classes = scriptClasses.get(hash);
+        }
+        if (classes == null) {
+            classes = readCacheFile(hash);
+            if (classes == null) {
+                classes = compile(text, fileName);
+                writeCacheFile(hash, classes);
+            }
+            synchronized (scriptClasses) {
+                scriptClasses.put(hash, classes);
+            }
+        }
+        return classes;
+    }
+
+    private void removeScriptClasses(String hash) {
+        synchronized (scriptClasses) {
+            scriptClasses.remove(hash);
+        }
+        deleteCacheFile(hash);
+    }
+
+    private ScriptClasses compile(String text, String fileName) {
+        logger.debug("Compiling Groovy script {}", fileName);
+        compilations.incrementAndGet();
+        CompilationUnit unit = new CompilationUnit(configuration, null, this);
+        unit.addSource(fileName, text);
+        unit.compile(Phases.CLASS_GENERATION);
+
+        Map<String, byte[]> bytecode = new LinkedHashMap<>();
+        for (GroovyClass groovyClass : unit.getClasses()) {
+            bytecode.put(groovyClass.getName(), groovyClass.getBytes());
+        }
+        return new ScriptClasses(unit.getFirstClassNode().getName(), bytecode);
+    }
+
+    /**
+     * Deletes the cache files of all but the most recently used scripts, e.g. of deleted scripts or of previous
+     * versions of scripts, and temporary files left by an interrupted write.
+     */
+    private void pruneCacheFolder(Path folder) {
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            List<Path> cacheFiles = files.sorted(Comparator.comparing(this::getLastModifiedTime).reversed())
+                    .collect(Collectors.toList());
+            int kept = 0;
+            for (Path file : cacheFiles) {
+                if (file.toString().endsWith(CACHE_FILE_EXTENSION) && kept < MAX_CACHED_SCRIPTS) {
+                    kept++;
+                } else if (file.toString().endsWith(CACHE_FILE_EXTENSION)
+                        || file.toString().endsWith(TEMP_FILE_EXTENSION)) {
+                    deleteFile(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to prune Groovy bytecode cache {}: {}", folder, e.getMessage());
+        }
+    }
+
+    private FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private @Nullable ScriptClasses readCacheFile(String hash) {
+        Path cacheFile = getCacheFile(hash);
+        if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(cacheFile))) {
+            String mainClassName = in.readUTF();
+            int count = in.readInt();
+            Map<String, byte[]> bytecode = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String className = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                bytecode.put(className, bytes);
+            }
+            logger.debug("Loaded Groovy script classes from {}", cacheFile);
+            touch(cacheFile);
+            return new ScriptClasses(mainClassName, bytecode);
+        } catch (IOException e) {
+            logger.debug("Failed to read Groovy bytecode cache {}, compiling script: {}", cacheFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Updates the modification time, which tells the most recently used files when the cache folder is pruned
+     */
+    private void touch(Path cacheFile) {
+        try {
+            Files.setLastModifiedTime(cacheFile, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.debug("Failed to update Groovy bytecode cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private void writeCacheFile(String hash, ScriptClasses classes) {
+        Path folder = cacheFolder;
+        if (folder == null) {
+            return;
+        }
+        Path cacheFile = folder.resolve(hash + CACHE_FILE_EXTENSION);
+        try {
+            Files.createDirectories(folder);
+            Path tempFile = Files.createTempFile(folder, hash, TEMP_FILE_EXTENSION);
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+                out.writeUTF(classes.mainClassName);
+                out.writeInt(classes.bytecode.size());
+                for (Map.Entry<String, byte[]> entry : classes.bytecode.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write Groovy bytecode cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private void deleteCacheFile(String hash) {
+        Path cacheFile = getCacheFile(hash);
+        if (cacheFile != null) {
+            deleteFile(cacheFile);
+        }
+    }
+
+    private void deleteFile(Path cacheFile) {
+        try {
+            Files.deleteIfExists(cacheFile);
+        } catch (IOException e) {
+            logger.debug("Failed to delete Groovy bytecode cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private @Nullable Path getCacheFile(String hash) {
+        Path folder = cacheFolder;
+        return folder == null ? null : folder.resolve(hash + CACHE_FILE_EXTENSION);
+    }
+
+    /**
+     * Hashes the script source together with the Groovy version, the libraries and the file name, so bytecode cached by
+     * another version, compiled against other libraries or compiled for another file isn't used.
+     */
+    private static String hash(String librariesHash, String fileName, String text) {
+        MessageDigest digest = newDigest();
+        digest.update(GroovySystem.getVersion().getBytes(StandardCharsets.UTF_8));
+        digest.update(librariesHash.getBytes(StandardCharsets.UTF_8));
+        digest.update(fileName.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The bytecode of the classes of a script, the main class is the script itself.
+     */
+    private static class ScriptClasses {
+        private final String mainClassName;
+        private final Map<String, byte[]> bytecode;
+
+        private ScriptClasses(String mainClassName, Map<String, byte[]> bytecode) {
+            this.mainClassName = mainClassName;
+            this.bytecode = bytecode;
+        }
+    }
+
+    /**
+     * Defines the classes of a single script, other classes are loaded by the shared class loader.
+     */
+    private static class ScriptClassLoader extends ClassLoader {
+        private final Map<String, byte[]> bytecode;
+
+        private ScriptClassLoader(ClassLoader parent, Map<String, byte[]> bytecode) {
+            super(parent);
+            this.bytecode = bytecode;
+        }
+
+        @Override
+        protected Class<?> loadClass(@Nullable String name, boolean resolve) throws ClassNotFoundException {
+            if (name != null && bytecode.containsKey(name)) {
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loadedClass = findLoadedClass(name);
+                    return loadedClass != null ? loadedClass : findClass(name);
+                }
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        @Override
+        protected Class<?> findClass(@Nullable String name) throws ClassNotFoundException {
+            byte[] bytes = name == null ? null : bytecode.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
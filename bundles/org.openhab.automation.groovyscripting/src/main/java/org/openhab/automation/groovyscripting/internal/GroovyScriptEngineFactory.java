@@ -12,33 +12,64 @@
  */
 package org.openhab.automation.groovyscripting.internal;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.script.ScriptEngine;
 
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 
 /**
  * This is an implementation of a {@link ScriptEngineFactory} for Groovy.
  *
+ * All script engines share a {@link CachingGroovyClassLoader}, so scripts and libraries are only compiled when they
+ * change.
+ *
  * @author Wouter Born - Initial contribution
  */
-@Component(service = ScriptEngineFactory.class)
+@Component(service = ScriptEngineFactory.class, configurationPid = "org.openhab.groovyscripting")
 @NonNullByDefault
 public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
 
+    private static final String CONFIG_BYTECODE_CACHE = "bytecodeCache";
+
+    private static final Path LIBRARY_FOLDER = Paths.get(OpenHAB.getConfigFolder(), "automation", "lib", "groovy");
+    private static final Path CACHE_FOLDER = Paths.get(OpenHAB.getUserDataFolder(), "cache",
+            GroovyScriptEngineFactory.class.getPackageName(), "bytecode");
+
     private final org.codehaus.groovy.jsr223.GroovyScriptEngineFactory factory = new org.codehaus.groovy.jsr223.GroovyScriptEngineFactory();
 
     private final List<String> scriptTypes = (List<String>) Stream.of(factory.getExtensions(), factory.getMimeTypes())
             .flatMap(List::stream) //
             .collect(Collectors.toUnmodifiableList());
 
+    private final CachingGroovyClassLoader classLoader;
+
+    @Activate
+    public GroovyScriptEngineFactory(Map<String, Object> config) {
+        boolean bytecodeCache = Boolean.parseBoolean(String.valueOf(config.get(CONFIG_BYTECODE_CACHE)));
+        classLoader = new CachingGroovyClassLoader(GroovyScriptEngineFactory.class.getClassLoader(), LIBRARY_FOLDER,
+                bytecodeCache ? CACHE_FOLDER : null);
+        logger.debug("Groovy libraries: {}, bytecode cache: {}", LIBRARY_FOLDER, bytecodeCache ? CACHE_FOLDER : "off");
+    }
+
+    @Deactivate
+    public void deactivate() {
+        classLoader.clearCache();
+    }
+
     @Override
     public List<String> getScriptTypes() {
         return scriptTypes;
@@ -46,6 +77,6 @@ public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
 
     @Override
     public @Nullable ScriptEngine createScriptEngine(String scriptType) {
-        return scriptTypes.contains(scriptType) ? factory.getScriptEngine() : null;
+        return scriptTypes.contains(scriptType) ? new GroovyScriptEngineImpl(classLoader) : null;
     }
 }
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import groovy.lang.Binding;
+
+/**
+ * Tests for {@link CachingGroovyClassLoader}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoaderTest {
+    private static final String COUNTER_SCRIPT = "class Counter { static int count = 0 }\nreturn ++Counter.count";
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+    private @NonNullByDefault({}) Path libraryFolder;
+    private @NonNullByDefault({}) Path cacheFolder;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        libraryFolder = Files.createDirectories(tempDir.resolve("lib"));
+        cacheFolder = tempDir.resolve("cache");
+    }
+
+    private CachingGroovyClassLoader createClassLoader() {
+        return new CachingGroovyClassLoader(getClass().getClassLoader(), libraryFolder, cacheFolder);
+    }
+
+    private static Object run(Class<?> scriptClass) {
+        return InvokerHelper.createScript(scriptClass, new Binding()).run();
+    }
+
+    private long countCacheFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheFolder)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void reloadedScriptIsNotCompiledAgain() {
+        CachingGroovyClassLoader classLoader = createClassLoader();
+
+        assertEquals(1, run(classLoader.parseClass("return 1", "a.groovy")));
+        assertEquals(1, run(classLoader.parseClass("return 1", "a.groovy")));
+        assertEquals(1, classLoader.getCompilations());
+    }
+
+    @Test
+    public void scriptsDoNotShareStaticState() {
+        CachingGroovyClassLoader classLoader = createClassLoader();
+
+        Class<?> first = classLoader.parseClass(COUNTER_SCRIPT, "a.groovy");
+        Class<?> second = classLoader.parseClass(COUNTER_SCRIPT, "b.groovy");
+        Class<?> reloaded = classLoader.parseClass(COUNTER_SCRIPT, "a.groovy");
+
+        assertNotSame(first, second);
+        assertNotSame(first, reloaded);
+        assertEquals(1, run(first));
+        assertEquals(2, run(first));
+        assertEquals(1, run(second));
+        assertEquals(1, run(reloaded));
+    }
+
+    @Test
+    public void changedScriptReplacesCachedBytecode() throws IOException {
+        CachingGroovyClassLoader classLoader = createClassLoader();
+
+        assertEquals(1, run(classLoader.parseClass("return 1", "a.groovy")));
+        assertEquals(2, run(classLoader.parseClass("return 2", "a.groovy")));
+
+        assertEquals(2, classLoader.getCompilations());
+        assertEquals(1, classLoader.getCachedScriptCount());
+        assertEquals(1, countCacheFiles());
+    }
+
+    @Test
+    public void bytecodeIsLoadedFromDiskCache() {
+        assertEquals(1, run(createClassLoader().parseClass("return 1", "a.groovy")));
+
+        CachingGroovyClassLoader classLoader = createClassLoader();
+        assertEquals(1, run(classLoader.parseClass("return 1", "a.groovy")));
+        assertEquals(0, classLoader.getCompilations());
+    }
+
+    @Test
+    public void changedLibraryInvalidatesDiskCache() throws IOException {
+        Path library = libraryFolder.resolve("Library.groovy");
+        Files.writeString(library, "class Library { static int value() { 1 } }");
+        assertEquals(1, run(createClassLoader().parseClass("return Library.value()", "a.groovy")));
+
+        Files.writeString(library, "class Library { static int value() { 2 } }");
+        CachingGroovyClassLoader classLoader = createClassLoader();
+        assertEquals(2, run(classLoader.parseClass("return Library.value()", "a.groovy")));
+        assertEquals(1, classLoader.getCompilations());
+    }
+
+    @Test
+    public void inlineScriptsAreBounded() {
+        CachingGroovyClassLoader classLoader = new CachingGroovyClassLoader(getClass().getClassLoader(),
+                libraryFolder, null);
+
+        for (int i = 1; i <= CachingGroovyClassLoader.MAX_CACHED_SCRIPTS + 10; i++) {
+            assertEquals(i, run(classLoader.parseClass("return " + i, "Script" + i + ".groovy")));
+        }
+        assertEquals(CachingGroovyClassLoader.MAX_CACHED_SCRIPTS, classLoader.getCachedScriptCount());
+
+        // an inline script with the same source is not compiled again, although it gets a new name
+        int compilations = classLoader.getCompilations();
+        classLoader.parseClass("return 20", "Script1000.groovy");
+        assertEquals(compilations, classLoader.getCompilations());
+    }
+
+    @Test
+    public void evictedScriptsAreDeletedFromDiskCache() throws IOException {
+        CachingGroovyClassLoader classLoader = createClassLoader();
+
+        for (int i = 1; i <= CachingGroovyClassLoader.MAX_CACHED_SCRIPTS + 10; i++) {
+            classLoader.parseClass("return " + i, "Script" + i + ".groovy");
+        }
+        assertEquals(CachingGroovyClassLoader.MAX_CACHED_SCRIPTS, countCacheFiles());
+    }
+
+    @Test
+    public void leastRecentlyUsedCacheFilesArePrunedOnCreation() throws IOException {
+        Files.createDirectories(cacheFolder);
+        int count = CachingGroovyClassLoader.MAX_CACHED_SCRIPTS + 10;
+        for (int i = 0; i < count; i++) {
+            Path cacheFile = Files.write(cacheFolder.resolve(i + ".classes"), new byte[0]);
+            Files.setLastModifiedTime(cacheFile, FileTime.fromMillis(i * 1000L));
+        }
+        Files.write(cacheFolder.resolve("interrupted.tmp"), new byte[0]);
+
+        createClassLoader();
+
+        assertEquals(CachingGroovyClassLoader.MAX_CACHED_SCRIPTS, countCacheFiles());
+        assertTrue(Files.exists(cacheFolder.resolve((count - 1) + ".classes")));
+        assertFalse(Files.exists(cacheFolder.resolve("0.classes")));
+    }
+
+    @Test
+    public void clearCacheDropsCachedBytecode() {
+        CachingGroovyClassLoader classLoader = new CachingGroovyClassLoader(getClass().getClassLoader(),
+                libraryFolder, null);
+        classLoader.parseClass("return 1", "a.groovy");
+
+        classLoader.clearCache();
+        assertEquals(0, classLoader.getCachedScriptCount());
+
+        classLoader.parseClass("return 1", "a.groovy");
+        assertEquals(2, classLoader.getCompilations());
+    }
+}
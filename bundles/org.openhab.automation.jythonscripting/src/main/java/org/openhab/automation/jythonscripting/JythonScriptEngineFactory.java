@@ -13,12 +13,21 @@
 package org.openhab.automation.jythonscripting;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.script.ScriptEngine;
 
@@ -27,6 +36,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.openhab.core.common.NamedThreadFactory;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -34,10 +44,14 @@ import org.osgi.service.component.annotations.Deactivate;
 /**
  * This is an implementation of {@link ScriptEngineFactory} for Jython.
  *
+ * Initializing a Jython engine is slow, so a pool of engines is initialized in the background. Script engines are
+ * taken from the pool and the pool is refilled after each script. This only saves setting up the interpreter, the
+ * modules of a script are still imported when it is loaded.
+ *
  * @author Scott Rushworth - Initial contribution
  * @author Wouter Born - Initial contribution
  */
-@Component(service = ScriptEngineFactory.class)
+@Component(service = ScriptEngineFactory.class, configurationPid = "org.openhab.jythonscripting")
 @NonNullByDefault
 public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
 
@@ -48,11 +62,18 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
     private static final String DEFAULT_PYTHON_PATH = Paths
             .get(OpenHAB.getConfigFolder(), "automation", "lib", "python").toString();
 
+    private static final String CONFIG_POOL_SIZE = "poolSize";
+    private static final int DEFAULT_POOL_SIZE = 2;
+
     private static final String SCRIPT_TYPE = "py";
     private static final javax.script.ScriptEngineManager ENGINE_MANAGER = new javax.script.ScriptEngineManager();
 
+    private final ExecutorService poolExecutor = Executors
+            .newSingleThreadExecutor(new NamedThreadFactory("automation-jythonscripting", true));
+    private final @Nullable BlockingQueue<ScriptEngine> enginePool;
+
     @Activate
-    public JythonScriptEngineFactory() {
+    public JythonScriptEngineFactory(Map<String, Object> config) {
         logger.debug("Loading JythonScriptEngineFactory");
 
         String pythonHome = JythonScriptEngineFactory.class.getProtectionDomain().getCodeSource().getLocation()
@@ -68,11 +89,40 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
             System.setProperty(PYTHON_PATH, String.join(File.pathSeparator, newPythonPathList));
         }
 
-        System.setProperty(PYTHON_CACHEDIR, Paths
-                .get(OpenHAB.getUserDataFolder(), "cache", JythonScriptEngineFactory.class.getPackageName(), "cachedir")
-                .toString());
+        Path cacheDir = Paths.get(OpenHAB.getUserDataFolder(), "cache",
+                JythonScriptEngineFactory.class.getPackageName(), "cachedir");
+        try {
+            // Jython disables its package cache when it fails to create the directory
+            Files.createDirectories(cacheDir);
+        } catch (IOException e) {
+            logger.warn("Failed to create Jython cache directory {}: {}", cacheDir, e.getMessage());
+        }
+        System.setProperty(PYTHON_CACHEDIR, cacheDir.toString());
 
         logPythonPaths();
+
+        int poolSize = getPoolSize(config);
+        if (poolSize > 0) {
+            BlockingQueue<ScriptEngine> pool = new ArrayBlockingQueue<>(poolSize);
+            enginePool = pool;
+            for (int i = 0; i < poolSize; i++) {
+                poolExecutor.execute(() -> fillPool(pool));
+            }
+        } else {
+            enginePool = null;
+        }
+    }
+
+    private int getPoolSize(Map<String, Object> config) {
+        Object poolSize = config.get(CONFIG_POOL_SIZE);
+        if (poolSize != null) {
+            try {
+                return Integer.parseInt(poolSize.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid Jython engine pool size '{}', using {}", poolSize, DEFAULT_POOL_SIZE);
+            }
+        }
+        return DEFAULT_POOL_SIZE;
     }
 
     private void logPythonPaths() {
@@ -99,6 +149,19 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
 
     @Override
     public @Nullable ScriptEngine createScriptEngine(String scriptType) {
+        BlockingQueue<ScriptEngine> pool = enginePool;
+        if (pool != null && getScriptTypes().contains(scriptType)) {
+            ScriptEngine scriptEngine = pool.poll();
+            try {
+                poolExecutor.execute(() -> fillPool(pool));
+            } catch (RejectedExecutionException e) {
+                // factory is deactivated
+            }
+            if (scriptEngine != null) {
+                logger.debug("Using initialized Jython engine from pool");
+                return scriptEngine;
+            }
+        }
         ScriptEngine scriptEngine = ENGINE_MANAGER.getEngineByExtension(scriptType);
         if (scriptEngine == null) {
             scriptEngine = ENGINE_MANAGER.getEngineByMimeType(scriptType);
@@ -109,10 +172,34 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
         return scriptEngine;
     }
 
+    /**
+     * Initializes an engine and adds it to the pool, unless the pool is full.
+     */
+    private void fillPool(BlockingQueue<ScriptEngine> pool) {
+        if (pool.remainingCapacity() == 0) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        ScriptEngine scriptEngine = ENGINE_MANAGER.getEngineByExtension(SCRIPT_TYPE);
+        if (scriptEngine == null) {
+            logger.warn("Jython engine not available");
+            return;
+        }
+        if (pool.offer(scriptEngine)) {
+            logger.debug("Initialized Jython engine for pool in {} ms", System.currentTimeMillis() - startTime);
+        }
+    }
+
     @Deactivate
     public void removePythonPath() {
         logger.debug("Unloading JythonScriptEngineFactory");
 
+        poolExecutor.shutdownNow();
+        BlockingQueue<ScriptEngine> pool = enginePool;
+        if (pool != null) {
+            pool.clear();
+        }
+
         String existingPythonPath = System.getProperty(PYTHON_PATH);
         if (existingPythonPath != null && existingPythonPath.contains(DEFAULT_PYTHON_PATH)) {
             Set<String> newPythonPathList = new TreeSet<>(Arrays.asList(existingPythonPath.split(File.pathSeparator)));
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.openhab.automation.pidcontroller.internal.PIDControllerConstants.AUTOMATION_NAME;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * Runtime shared by all PID controllers: a single thread runs the control loops of all controllers, and a single
+ * event subscription routes item state changes by item name to the controllers using the item.
+ *
+ * All callbacks of a controller are executed by the runtime thread, so they never run concurrently.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = { PIDControllerRuntime.class, EventSubscriber.class })
+@NonNullByDefault
+public class PIDControllerRuntime implements EventSubscriber {
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateChangedEvent.TYPE);
+
+    /**
+     * A controller driven by the runtime.
+     */
+    public interface Controller {
+        /**
+         * Called every loop time.
+         */
+        void tick();
+
+        /**
+         * Called when the state of one of the items the controller registered for changed.
+         */
+        void itemStateChanged(ItemStateChangedEvent event);
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, List<Controller>> controllersByItem = new ConcurrentHashMap<>();
+    private final Map<Controller, ScheduledFuture<?>> loops = new ConcurrentHashMap<>();
+
+    public PIDControllerRuntime() {
+        this(Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("automation-" + AUTOMATION_NAME, true)));
+    }
+
+    // Visible for testing
+    PIDControllerRuntime(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Deactivate
+    public void deactivate() {
+        scheduler.shutdownNow();
+        loops.clear();
+        controllersByItem.clear();
+    }
+
+    /**
+     * Starts the control loop of a controller and routes state changes of the given items to it.
+     *
+     * @param controller controller to register
+     * @param itemNames items whose state changes are passed to the controller
+     * @param loopTimeMs interval of the control loop
+     */
+    public synchronized void register(Controller controller, Set<String> itemNames, long loopTimeMs) {
+        for (String itemName : itemNames) {
+            controllersByItem.computeIfAbsent(itemName, name -> new CopyOnWriteArrayList<>()).add(controller);
+        }
+        loops.put(controller,
+                scheduler.scheduleWithFixedDelay(controller::tick, 0, loopTimeMs, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Stops the control loop of a controller and the routing of state changes to it.
+     *
+     * @param controller controller to unregister
+     */
+    public synchronized void unregister(Controller controller) {
+        ScheduledFuture<?> loop = loops.remove(controller);
+        if (loop != null) {
+            loop.cancel(false);
+        }
+        controllersByItem.values().forEach(controllers -> controllers.remove(controller));
+        controllersByItem.values().removeIf(List::isEmpty);
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent) {
+            ItemStateChangedEvent changedEvent = (ItemStateChangedEvent) event;
+            List<Controller> controllers = controllersByItem.get(changedEvent.getItemName());
+            if (controllers != null) {
+                for (Controller controller : controllers) {
+                    scheduler.execute(() -> {
+                        // skip events queued before the controller was unregistered
+                        if (loops.containsKey(controller)) {
+                            controller.itemStateChanged(changedEvent);
+                        }
+                    });
+                }
+            }
+        }
+    }
+}
@@ -15,41 +15,29 @@ package org.openhab.automation.pidcontroller.internal.handler;
 import static org.openhab.automation.pidcontroller.internal.PIDControllerConstants.*;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.pidcontroller.internal.PIDException;
 import org.openhab.core.automation.ModuleHandlerCallback;
 import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseTriggerModuleHandler;
 import org.openhab.core.automation.handler.TriggerHandlerCallback;
-import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.Configuration;
-import org.openhab.core.events.Event;
-import org.openhab.core.events.EventFilter;
 import org.openhab.core.events.EventPublisher;
-import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemEventFactory;
 import org.openhab.core.items.events.ItemStateChangedEvent;
-import org.openhab.core.items.events.ItemStateEvent;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,27 +47,23 @@ import org.slf4j.LoggerFactory;
  * @author Fabian Wolter - Add PID debug output values
  */
 @NonNullByDefault
-public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
+public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implements PIDControllerRuntime.Controller {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
-    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE, ItemStateChangedEvent.TYPE);
     private final Logger logger = LoggerFactory.getLogger(PIDControllerTriggerHandler.class);
-    private final ScheduledExecutorService scheduler = Executors
-            .newSingleThreadScheduledExecutor(new NamedThreadFactory("automation-" + AUTOMATION_NAME, true));
-    private final ServiceRegistration<?> eventSubscriberRegistration;
+    private final PIDControllerRuntime runtime;
     private final PIDController controller;
     private final int loopTimeMs;
-    private @Nullable ScheduledFuture<?> controllerjob;
     private long previousTimeMs = System.currentTimeMillis();
     private Item inputItem;
     private Item setpointItem;
-    private Optional<String> commandTopic;
-    private EventFilter eventFilter;
+    private Optional<String> commandItemName;
     private EventPublisher eventPublisher;
 
     public PIDControllerTriggerHandler(Trigger module, ItemRegistry itemRegistry, EventPublisher eventPublisher,
-            BundleContext bundleContext) {
+            PIDControllerRuntime runtime) {
         super(module);
         this.eventPublisher = eventPublisher;
+        this.runtime = runtime;
 
         Configuration config = module.getConfiguration();
 
@@ -98,12 +82,7 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
             throw new IllegalArgumentException("Configured setpoint item not found: " + setpointItemName, e);
         }
 
-        String commandItemName = (String) config.get(CONFIG_COMMAND_ITEM);
-        if (commandItemName != null) {
-            commandTopic = Optional.of("openhab/items/" + commandItemName + "/statechanged");
-        } else {
-            commandTopic = Optional.empty();
-        }
+        commandItemName = Optional.ofNullable((String) config.get(CONFIG_COMMAND_ITEM));
 
         double kpAdjuster = getDoubleFromConfig(config, CONFIG_KP_GAIN);
         double kiAdjuster = getDoubleFromConfig(config, CONFIG_KI_GAIN);
@@ -115,20 +94,12 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
 
         controller = new PIDController(kpAdjuster, kiAdjuster, kdAdjuster, kdTimeConstant);
 
-        eventFilter = event -> {
-            String topic = event.getTopic();
-
-            return topic.equals("openhab/items/" + inputItemName + "/state")
-                    || topic.equals("openhab/items/" + inputItemName + "/statechanged")
-                    || topic.equals("openhab/items/" + setpointItemName + "/statechanged")
-                    || commandTopic.map(t -> topic.equals(t)).orElse(false);
-        };
-
-        eventSubscriberRegistration = bundleContext.registerService(EventSubscriber.class.getName(), this, null);
+        Set<String> itemNames = new HashSet<>(Set.of(inputItemName, setpointItemName));
+        commandItemName.ifPresent(itemNames::add);
 
         eventPublisher.post(ItemEventFactory.createCommandEvent(inputItemName, RefreshType.REFRESH));
 
-        controllerjob = scheduler.scheduleWithFixedDelay(this::calculate, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+        runtime.register(this, itemNames, loopTimeMs);
     }
 
     private <T> T requireNonNull(T obj, String message) {
@@ -165,13 +136,11 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         PIDOutputDTO output = controller.calculate(input, setpoint, now - previousTimeMs, loopTimeMs);
         previousTimeMs = now;
 
-        Map<String, BigDecimal> outputs = new HashMap<>();
-
-        putBigDecimal(outputs, OUTPUT, output.getOutput());
-        putBigDecimal(outputs, P_INSPECTOR, output.getProportionalPart());
-        putBigDecimal(outputs, I_INSPECTOR, output.getIntegralPart());
-        putBigDecimal(outputs, D_INSPECTOR, output.getDerivativePart());
-        putBigDecimal(outputs, E_INSPECTOR, output.getError());
+        // The rule engine processes the outputs asynchronously, so they can't be reused for the next calculation
+        Map<String, BigDecimal> outputs = Map.of(OUTPUT, BigDecimal.valueOf(output.getOutput()), P_INSPECTOR,
+                BigDecimal.valueOf(output.getProportionalPart()), I_INSPECTOR,
+                BigDecimal.valueOf(output.getIntegralPart()), D_INSPECTOR,
+                BigDecimal.valueOf(output.getDerivativePart()), E_INSPECTOR, BigDecimal.valueOf(output.getError()));
 
         ModuleHandlerCallback localCallback = callback;
         if (localCallback != null && localCallback instanceof TriggerHandlerCallback) {
@@ -181,10 +150,6 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         }
     }
 
-    private void putBigDecimal(Map<String, BigDecimal> map, String key, double value) {
-        map.put(key, BigDecimal.valueOf(value));
-    }
-
     private double getItemValueAsNumber(Item item) throws PIDException {
         State setpointState = item.getState();
 
@@ -206,43 +171,28 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
     }
 
     @Override
-    public void receive(Event event) {
-        if (event instanceof ItemStateChangedEvent) {
-            if (commandTopic.isPresent() && event.getTopic().equals(commandTopic.get())) {
-                ItemStateChangedEvent changedEvent = (ItemStateChangedEvent) event;
-                if ("RESET".equals(changedEvent.getItemState().toString())) {
-                    controller.setIntegralResult(0);
-                    controller.setDerivativeResult(0);
-                    eventPublisher.post(ItemEventFactory.createStateEvent(changedEvent.getItemName(), UnDefType.NULL));
-                } else if (changedEvent.getItemState() != UnDefType.NULL) {
-                    logger.warn("Unknown command: {}", changedEvent.getItemState());
-                }
-            } else {
-                calculate();
-            }
-        }
-    }
-
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return SUBSCRIBED_EVENT_TYPES;
+    public void tick() {
+        calculate();
     }
 
     @Override
-    public @Nullable EventFilter getEventFilter() {
-        return eventFilter;
+    public void itemStateChanged(ItemStateChangedEvent event) {
+        if (commandItemName.isPresent() && event.getItemName().equals(commandItemName.get())) {
+            if ("RESET".equals(event.getItemState().toString())) {
+                controller.setIntegralResult(0);
+                controller.setDerivativeResult(0);
+                eventPublisher.post(ItemEventFactory.createStateEvent(event.getItemName(), UnDefType.NULL));
+            } else if (event.getItemState() != UnDefType.NULL) {
+                logger.warn("Unknown command: {}", event.getItemState());
+            }
+        } else {
+            calculate();
+        }
     }
 
     @Override
     public void dispose() {
-        eventSubscriberRegistration.unregister();
-
-        ScheduledFuture<?> localControllerjob = controllerjob;
-        if (localControllerjob != null) {
-            localControllerjob.cancel(true);
-        }
-
-        scheduler.shutdown();
+        runtime.unregister(this);
 
         super.dispose();
     }
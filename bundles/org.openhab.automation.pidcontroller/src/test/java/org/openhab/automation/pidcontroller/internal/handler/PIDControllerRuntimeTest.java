@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * Test for PIDControllerRuntime.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class PIDControllerRuntimeTest {
+    private static final int CONTROLLERS = 500;
+    private static final int EVENTS = 100_000;
+    private static final long LOOP_TIME_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final PIDControllerRuntime runtime = new PIDControllerRuntime(scheduler);
+    private final List<CountingController> controllers = new ArrayList<>();
+
+    private static class CountingController implements PIDControllerRuntime.Controller {
+        private final AtomicInteger changes = new AtomicInteger();
+
+        @Override
+        public void tick() {
+        }
+
+        @Override
+        public void itemStateChanged(ItemStateChangedEvent event) {
+            changes.incrementAndGet();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < CONTROLLERS; i++) {
+            CountingController controller = new CountingController();
+            controllers.add(controller);
+            runtime.register(controller, Set.of("input" + i, "setpoint"), LOOP_TIME_MS);
+        }
+    }
+
+    @Test
+    void eventsAreRoutedToControllersOfTheItem() throws InterruptedException {
+        for (int i = 0; i < EVENTS; i++) {
+            runtime.receive(stateChangedEvent("input" + (i % CONTROLLERS)));
+            // events of other items are ignored
+            runtime.receive(stateChangedEvent("other" + i));
+        }
+        runtime.receive(stateChangedEvent("setpoint"));
+        awaitProcessed();
+
+        for (CountingController controller : controllers) {
+            assertEquals(EVENTS / CONTROLLERS + 1, controller.changes.get());
+        }
+    }
+
+    @Test
+    void unregisteredControllersAreNotCalled() throws InterruptedException {
+        CountingController controller = controllers.get(0);
+        runtime.unregister(controller);
+
+        runtime.receive(stateChangedEvent("input0"));
+        runtime.receive(stateChangedEvent("setpoint"));
+        awaitProcessed();
+
+        assertEquals(0, controller.changes.get());
+        assertEquals(1, controllers.get(1).changes.get());
+    }
+
+    private ItemStateChangedEvent stateChangedEvent(String itemName) {
+        return ItemEventFactory.createStateChangedEvent(itemName, new DecimalType(1), new DecimalType(0));
+    }
+
+    private void awaitProcessed() throws InterruptedException {
+        // periodic loops are cancelled, already queued events are processed
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(30, TimeUnit.SECONDS));
+    }
+}
@@ -27,7 +27,9 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -153,6 +155,8 @@ public class Connection {
     private Map<Integer, Volume> volumes = Collections.synchronizedMap(new LinkedHashMap<>());
     private Map<String, LinkedBlockingQueue<QueueObject>> devices = Collections.synchronizedMap(new LinkedHashMap<>());
 
+    private final Map<String, CompletableFuture<String>> pendingGetRequests = new ConcurrentHashMap<>();
+
     private final Map<TimerType, ScheduledFuture<?>> timers = new ConcurrentHashMap<>();
     private final Map<TimerType, Lock> locks = new ConcurrentHashMap<>();
 
@@ -539,12 +543,81 @@ public class Connection {
 
     public String makeRequestAndReturnString(String verb, String url, @Nullable String postData, boolean json,
             @Nullable Map<String, String> customHeaders) throws IOException, URISyntaxException, InterruptedException {
+        if (!"GET".equals(verb) || postData != null || customHeaders != null) {
+            return makeRequestAndReadResult(verb, url, postData, json, customHeaders);
+        }
+        // handlers of several devices often request the same url at the same time, so they share one request
+        CompletableFuture<String> request = new CompletableFuture<>();
+        CompletableFuture<String> pendingRequest = pendingGetRequests.putIfAbsent(url, request);
+        if (pendingRequest != null) {
+            logger.debug("Waiting for pending request to {}", url);
+            return getPendingResult(pendingRequest);
+        }
+        try {
+            String result = makeRequestAndReadResult(verb, url, null, json, null);
+            request.complete(result);
+            return result;
+        } catch (IOException | URISyntaxException | InterruptedException | RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingGetRequests.remove(url, request);
+        }
+    }
+
+    private String makeRequestAndReadResult(String verb, String url, @Nullable String postData, boolean json,
+            @Nullable Map<String, String> customHeaders) throws IOException, URISyntaxException, InterruptedException {
         HttpsURLConnection connection = makeRequest(verb, url, postData, json, true, customHeaders, 3);
         String result = convertStream(connection);
         logger.debug("Result of {} {}:{}", verb, url, result);
         return result;
     }
 
+    private String getPendingResult(CompletableFuture<String> pendingRequest)
+            throws IOException, URISyntaxException, InterruptedException {
+        try {
+            return pendingRequest.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof URISyntaxException) {
+                throw (URISyntaxException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw new InterruptedIOException("Pending request was interrupted");
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Makes a request without reading its result
+     */
+    private void makeRequestAndDiscardResponse(String verb, String url, String postData, int badRequestRepeats)
+            throws IOException, URISyntaxException, InterruptedException {
+        discardResponse(makeRequest(verb, url, postData, true, true, null, badRequestRepeats));
+    }
+
+    /**
+     * Reads and closes the response body, so the connection is kept alive and reused by the next request to the
+     * server
+     */
+    private void discardResponse(HttpsURLConnection connection) {
+        try {
+            InputStream input = connection.getResponseCode() >= 400 ? connection.getErrorStream()
+                    : connection.getInputStream();
+            if (input != null) {
+                try (InputStream stream = input) {
+                    stream.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+        } catch (IOException e) {
+            connection.disconnect();
+        }
+    }
+
     public HttpsURLConnection makeRequest(String verb, String url, @Nullable String postData, boolean json,
             boolean autoredirect, @Nullable Map<String, String> customHeaders, int badRequestRepeats)
             throws IOException, URISyntaxException, InterruptedException {
@@ -668,6 +741,7 @@ public class Connection {
                     }
                     currentUrl = location;
                     if (autoredirect) {
+                        discardResponse(connection);
                         continue; // repeat with new location
                     }
                     return connection;
@@ -678,6 +752,7 @@ public class Connection {
                         throw new HttpException(code,
                                 verb + " url '" + url + "' failed: " + connection.getResponseMessage());
                     }
+                    discardResponse(connection);
                     Thread.sleep(2000);
                 }
             } catch (InterruptedException | InterruptedIOException e) {
@@ -1141,7 +1216,7 @@ public class Connection {
     public void command(Device device, String command) throws IOException, URISyntaxException, InterruptedException {
         String url = alexaServer + "/api/np/command?deviceSerialNumber=" + device.serialNumber + "&deviceType="
                 + device.deviceType;
-        makeRequest("POST", url, command, true, true, null, 0);
+        makeRequestAndDiscardResponse("POST", url, command, 0);
     }
 
     public void smartHomeCommand(String entityId, String action) throws IOException, InterruptedException {
@@ -1205,7 +1280,7 @@ public class Connection {
                 + "/" + device.serialNumber;
         String command = "{\"deviceSerialNumber\":\"" + device.serialNumber + "\",\"deviceType\":\"" + device.deviceType
                 + "\",\"softwareVersion\":\"" + device.softwareVersion + "\",\"volumeLevel\":" + volume + "}";
-        makeRequest("PUT", url, command, true, true, null, 0);
+        makeRequestAndDiscardResponse("PUT", url, command, 0);
     }
 
     public void ascendingAlarm(Device device, boolean ascendingAlarm)
@@ -1214,7 +1289,7 @@ public class Connection {
         String command = "{\"ascendingAlarmEnabled\":" + (ascendingAlarm ? "true" : "false")
                 + ",\"deviceSerialNumber\":\"" + device.serialNumber + "\",\"deviceType\":\"" + device.deviceType
                 + "\",\"deviceAccountId\":null}";
-        makeRequest("PUT", url, command, true, true, null, 0);
+        makeRequestAndDiscardResponse("PUT", url, command, 0);
     }
 
     public List<DeviceNotificationState> getDeviceNotificationStates() {
@@ -1244,13 +1319,13 @@ public class Connection {
             throws IOException, URISyntaxException, InterruptedException {
         if (address == null || address.isEmpty()) {
             // disconnect
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/bluetooth/disconnect-sink/" + device.deviceType + "/" + device.serialNumber, "",
-                    true, true, null, 0);
+                    0);
         } else {
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/bluetooth/pair-sink/" + device.deviceType + "/" + device.serialNumber,
-                    "{\"bluetoothDeviceAddress\":\"" + address + "\"}", true, true, null, 0);
+                    "{\"bluetoothDeviceAddress\":\"" + address + "\"}", 0);
         }
     }
 
@@ -1264,12 +1339,12 @@ public class Connection {
         if (stationId == null || stationId.isEmpty()) {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/tunein/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&guideId=" + stationId
                             + "&contentType=station&callSign=&mediaOwnerCustomerId="
                             + getCustomerId(device.deviceOwnerCustomerId),
-                    "", true, true, null, 0);
+                    "", 0);
         }
     }
 
@@ -1279,11 +1354,11 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"trackId\":\"" + trackId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + getCustomerId(device.deviceOwnerCustomerId) + "&shuffle=false",
-                    command, true, true, null, 0);
+                    command, 0);
         }
     }
 
@@ -1293,11 +1368,11 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"playlistId\":\"" + playListId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + getCustomerId(device.deviceOwnerCustomerId) + "&shuffle=false",
-                    command, true, true, null, 0);
+                    command, 0);
         }
     }
 
@@ -1671,7 +1746,7 @@ public class Connection {
                 delay += text.length() * 150;
             }
 
-            makeRequest("POST", alexaServer + "/api/behaviors/preview", json, true, true, null, 3);
+            makeRequestAndDiscardResponse("POST", alexaServer + "/api/behaviors/preview", json, 3);
 
             Thread.sleep(delay);
         } catch (IOException | URISyntaxException | InterruptedException e) {
@@ -1867,7 +1942,7 @@ public class Connection {
             request.sequenceJson = sequenceJson;
 
             String requestJson = gson.toJson(request);
-            makeRequest("POST", alexaServer + "/api/behaviors/preview", requestJson, true, true, null, 3);
+            makeRequestAndDiscardResponse("POST", alexaServer + "/api/behaviors/preview", requestJson, 3);
         } else {
             logger.warn("Routine {} not found", utterance);
         }
@@ -1891,7 +1966,7 @@ public class Connection {
         JsonEnabledFeeds enabled = new JsonEnabledFeeds();
         enabled.enabledFeeds = enabledFlashBriefing;
         String json = gsonWithNullSerialization.toJson(enabled);
-        makeRequest("POST", alexaServer + "/api/content-skills/enabled-feeds", json, true, true, null, 0);
+        makeRequestAndDiscardResponse("POST", alexaServer + "/api/content-skills/enabled-feeds", json, 0);
     }
 
     public List<JsonNotificationSound> getNotificationSounds(Device device)
@@ -2012,7 +2087,7 @@ public class Connection {
         startRoutineRequest.status = null;
 
         String postData = gson.toJson(startRoutineRequest);
-        makeRequest("POST", alexaServer + "/api/behaviors/preview", postData, true, true, null, 3);
+        makeRequestAndDiscardResponse("POST", alexaServer + "/api/behaviors/preview", postData, 3);
     }
 
     public @Nullable JsonEqualizer getEqualizer(Device device)
@@ -2025,8 +2100,8 @@ public class Connection {
     public void setEqualizer(Device device, JsonEqualizer settings)
             throws IOException, URISyntaxException, InterruptedException {
         String postData = gson.toJson(settings);
-        makeRequest("POST", alexaServer + "/api/equalizer/" + device.serialNumber + "/" + device.deviceType, postData,
-                true, true, null, 0);
+        makeRequestAndDiscardResponse("POST",
+                alexaServer + "/api/equalizer/" + device.serialNumber + "/" + device.deviceType, postData, 0);
     }
 
     public static class AnnouncementWrapper {
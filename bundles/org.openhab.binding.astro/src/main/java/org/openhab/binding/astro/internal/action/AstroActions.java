@@ -12,15 +12,20 @@
  */
 package org.openhab.binding.astro.internal.action;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Map;
 
 import javax.measure.quantity.Angle;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.astro.internal.AstroBindingConstants;
+import org.openhab.binding.astro.internal.calc.SunPositionCache;
 import org.openhab.binding.astro.internal.handler.AstroThingHandler;
 import org.openhab.binding.astro.internal.handler.SunHandler;
+import org.openhab.binding.astro.internal.model.Position;
 import org.openhab.binding.astro.internal.model.SunPhaseName;
 import org.openhab.core.automation.annotation.ActionInput;
 import org.openhab.core.automation.annotation.ActionOutput;
@@ -112,6 +117,62 @@ public class AstroActions implements ThingActions {
         return null;
     }
 
+    @RuleAction(label = "get the sun positions", description = "Get the sun positions within a time range.")
+    public @ActionOutput(name = "getPositions", label = "Positions", type = "java.util.Map<java.time.ZonedDateTime, org.openhab.binding.astro.internal.model.Position>") Map<ZonedDateTime, Position> getPositions(
+            @ActionInput(name = "start", label = "Start", required = true, description = "Begin of the time range") ZonedDateTime start,
+            @ActionInput(name = "end", label = "End", required = true, description = "End of the time range") ZonedDateTime end,
+            @ActionInput(name = "interval", label = "Interval", required = false, defaultValue = "15", description = "Minutes between two positions") @Nullable Integer interval) {
+        logger.debug("Sun action 'getPositions' called");
+        int minutes = interval != null ? interval : 15;
+        if (minutes < 1) {
+            logger.info("Parameter interval must be at least 1 minute");
+            return Collections.emptyMap();
+        }
+        SunHandler theHandler = getSunHandler();
+        if (theHandler == null) {
+            return Collections.emptyMap();
+        }
+        try {
+            return theHandler.getPositions(start, end, Duration.ofMinutes(minutes));
+        } catch (IllegalArgumentException e) {
+            logger.info("Sun action 'getPositions' failed: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    @RuleAction(label = "get the time of an elevation", description = "Get the first time within a time range at which the sun crosses an elevation.")
+    public @Nullable @ActionOutput(name = "getElevationTime", type = "java.time.ZonedDateTime") ZonedDateTime getElevationTime(
+            @ActionInput(name = "elevation", label = "Elevation", required = true, description = "Elevation in degrees") double elevation,
+            @ActionInput(name = "start", label = "Start", required = true, description = "Begin of the time range") ZonedDateTime start,
+            @ActionInput(name = "end", label = "End", required = true, description = "End of the time range") ZonedDateTime end) {
+        logger.debug("Sun action 'getElevationTime' called");
+        SunHandler theHandler = getSunHandler();
+        return theHandler != null ? theHandler.getCrossingTime(SunPositionCache.ELEVATION, elevation, start, end)
+                : null;
+    }
+
+    @RuleAction(label = "get the time of an azimuth", description = "Get the first time within a time range at which the sun crosses an azimuth.")
+    public @Nullable @ActionOutput(name = "getAzimuthTime", type = "java.time.ZonedDateTime") ZonedDateTime getAzimuthTime(
+            @ActionInput(name = "azimuth", label = "Azimuth", required = true, description = "Azimuth in degrees") double azimuth,
+            @ActionInput(name = "start", label = "Start", required = true, description = "Begin of the time range") ZonedDateTime start,
+            @ActionInput(name = "end", label = "End", required = true, description = "End of the time range") ZonedDateTime end) {
+        logger.debug("Sun action 'getAzimuthTime' called");
+        SunHandler theHandler = getSunHandler();
+        return theHandler != null ? theHandler.getCrossingTime(SunPositionCache.AZIMUTH, azimuth, start, end) : null;
+    }
+
+    private @Nullable SunHandler getSunHandler() {
+        AstroThingHandler theHandler = this.handler;
+        if (theHandler == null) {
+            logger.info("Astro Action service ThingHandler is null!");
+        } else if (theHandler instanceof SunHandler) {
+            return (SunHandler) theHandler;
+        } else {
+            logger.info("Astro Action service ThingHandler is not a SunHandler!");
+        }
+        return null;
+    }
+
     public static @Nullable QuantityType<Angle> getElevation(ThingActions actions, @Nullable ZonedDateTime date) {
         return ((AstroActions) actions).getElevation(date);
     }
@@ -128,4 +189,19 @@ public class AstroActions implements ThingActions {
             throw new IllegalArgumentException("phaseName can not be null");
         }
     }
+
+    public static Map<ZonedDateTime, Position> getPositions(ThingActions actions, ZonedDateTime start,
+            ZonedDateTime end, @Nullable Integer interval) {
+        return ((AstroActions) actions).getPositions(start, end, interval);
+    }
+
+    public static @Nullable ZonedDateTime getElevationTime(ThingActions actions, double elevation,
+            ZonedDateTime start, ZonedDateTime end) {
+        return ((AstroActions) actions).getElevationTime(elevation, start, end);
+    }
+
+    public static @Nullable ZonedDateTime getAzimuthTime(ThingActions actions, double azimuth, ZonedDateTime start,
+            ZonedDateTime end) {
+        return ((AstroActions) actions).getAzimuthTime(azimuth, start, end);
+    }
 }
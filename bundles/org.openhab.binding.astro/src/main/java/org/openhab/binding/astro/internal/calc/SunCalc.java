@@ -64,27 +64,36 @@ public class SunCalc {
      * Calculates the sun position (azimuth and elevation).
      */
     public void setPositionalInfo(Calendar calendar, double latitude, double longitude, Double altitude, Sun sun) {
+        double[] azimuthElevation = new double[2];
+        calculatePosition(DateTimeUtils.dateToJulianDate(calendar), latitude, longitude, azimuthElevation);
+        double elevation = azimuthElevation[1];
+
+        Position position = sun.getPosition();
+        position.setAzimuth(azimuthElevation[0]);
+        position.setElevation(elevation);
+        position.setShadeLength(getShadeLength(elevation));
+
+        setRadiationInfo(calendar, elevation, altitude, sun);
+    }
+
+    /**
+     * Calculates the sun position at a julian date, without creating any objects.
+     *
+     * @param azimuthElevation receives the azimuth (index 0) and the elevation (index 1) in degrees
+     */
+    public void calculatePosition(double julianDate, double latitude, double longitude, double[] azimuthElevation) {
         double lw = -longitude * DEG2RAD;
         double phi = latitude * DEG2RAD;
 
-        double j = DateTimeUtils.dateToJulianDate(calendar);
-        double m = getSolarMeanAnomaly(j);
+        double m = getSolarMeanAnomaly(julianDate);
         double c = getEquationOfCenter(m);
         double lsun = getEclipticLongitude(m, c);
         double d = getSunDeclination(lsun);
         double a = getRightAscension(lsun);
-        double th = getSiderealTime(j, lw);
+        double th = getSiderealTime(julianDate, lw);
 
-        double azimuth = getAzimuth(th, a, phi, d) / DEG2RAD;
-        double elevation = getElevation(th, a, phi, d) / DEG2RAD;
-        double shadeLength = getShadeLength(elevation);
-
-        Position position = sun.getPosition();
-        position.setAzimuth(azimuth + 180);
-        position.setElevation(elevation);
-        position.setShadeLength(shadeLength);
-
-        setRadiationInfo(calendar, elevation, altitude, sun);
+        azimuthElevation[0] = getAzimuth(th, a, phi, d) / DEG2RAD + 180;
+        azimuthElevation[1] = getElevation(th, a, phi, d) / DEG2RAD;
     }
 
     /**
@@ -119,15 +128,14 @@ public class SunCalc {
     /**
      * Returns true, if the sun is up all day (no rise and set).
      */
-    private boolean isSunUpAllDay(Calendar calendar, double latitude, double longitude, Double altitude) {
-        Calendar cal = DateTimeUtils.truncateToMidnight(calendar);
-        Sun sun = new Sun();
+    private boolean isSunUpAllDay(Calendar calendar, double latitude, double longitude) {
+        double midnight = DateTimeUtils.midnightDateToJulianDate(calendar);
+        double[] azimuthElevation = new double[2];
         for (int minutes = 0; minutes <= MINUTES_PER_DAY; minutes += CURVE_TIME_INTERVAL) {
-            setPositionalInfo(cal, latitude, longitude, altitude, sun);
-            if (sun.getPosition().getElevationAsDouble() < SUN_ANGLE) {
+            calculatePosition(midnight + minutes * JD_ONE_MINUTE_FRACTION, latitude, longitude, azimuthElevation);
+            if (azimuthElevation[1] < SUN_ANGLE) {
                 return false;
             }
-            cal.add(Calendar.MINUTE, CURVE_TIME_INTERVAL);
         }
         return true;
     }
@@ -188,7 +196,7 @@ public class SunCalc {
         sun.setNauticDawn(new Range(DateTimeUtils.toCalendar(jnau2), DateTimeUtils.toCalendar(jciv2)));
         sun.setNauticDusk(new Range(DateTimeUtils.toCalendar(jnau), DateTimeUtils.toCalendar(jastro)));
 
-        boolean isSunUpAllDay = isSunUpAllDay(calendar, latitude, longitude, altitude);
+        boolean isSunUpAllDay = isSunUpAllDay(calendar, latitude, longitude);
 
         // daylight
         Range daylightRange = new Range();
@@ -321,7 +329,10 @@ public class SunCalc {
         return Math.asin(Math.sin(phi) * Math.sin(d) + Math.cos(phi) * Math.cos(d) * Math.cos(th - a));
     }
 
-    private double getShadeLength(double elevation) {
+    /**
+     * Returns the shade length of an object of height 1 at the given elevation in degrees.
+     */
+    public double getShadeLength(double elevation) {
         return 1 / Math.tan(elevation * DEG2RAD);
     }
 
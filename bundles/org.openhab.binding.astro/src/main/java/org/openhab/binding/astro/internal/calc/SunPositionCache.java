@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+
+/**
+ * Memoizes the sun positions of a location for whole days, in steps of one minute. Series of positions and the times
+ * the sun crosses an azimuth or elevation, as queried by shading rules for many facades, are looked up instead of
+ * being calculated again for every query.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SunPositionCache {
+    public static final int AZIMUTH = 0;
+    public static final int ELEVATION = 1;
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int CACHED_DAYS = 4;
+    private static final long CROSSING_ACCURACY_MILLIS = 1000;
+
+    private final SunCalc sunCalc;
+    private final double latitude;
+    private final double longitude;
+
+    /**
+     * Azimuth and elevation of each minute of a day, interleaved, by days since the epoch (UTC).
+     */
+    private final Map<Long, double[]> days = new LinkedHashMap<Long, double[]>(CACHED_DAYS + 1, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+            return size() > CACHED_DAYS;
+        }
+    };
+
+    public SunPositionCache(SunCalc sunCalc, double latitude, double longitude) {
+        this.sunCalc = sunCalc;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Returns true, if the positions are calculated for the given location.
+     */
+    public boolean isLocatedAt(double latitude, double longitude) {
+        return this.latitude == latitude && this.longitude == longitude;
+    }
+
+    /**
+     * Gets the sun position at the given time. Positions at full minutes are taken from the cache.
+     *
+     * @param azimuthElevation receives the azimuth (index 0) and the elevation (index 1) in degrees
+     */
+    public synchronized void getPosition(long millis, double[] azimuthElevation) {
+        if (millis % MILLIS_PER_MINUTE != 0) {
+            calculatePosition(millis, azimuthElevation);
+            return;
+        }
+        double[] day = getDay(Math.floorDiv(millis, MILLIS_PER_DAY));
+        int index = (int) (Math.floorMod(millis, MILLIS_PER_DAY) / MILLIS_PER_MINUTE) * 2;
+        azimuthElevation[AZIMUTH] = day[index];
+        azimuthElevation[ELEVATION] = day[index + 1];
+    }
+
+    /**
+     * Finds the first time within a time range at which the sun crosses the given angle, rising or falling. The time
+     * is accurate to a second.
+     *
+     * @param angleType {@link #AZIMUTH} or {@link #ELEVATION}
+     * @param angle the angle in degrees
+     * @return the time in milliseconds since the epoch, or empty if the angle is not crossed
+     */
+    public synchronized OptionalLong getCrossingTime(int angleType, double angle, long fromMillis, long toMillis) {
+        double[] azimuthElevation = new double[2];
+        getPosition(fromMillis, azimuthElevation);
+        double previous = azimuthElevation[angleType];
+        long previousMillis = fromMillis;
+        long nextMinute = Math.floorDiv(fromMillis, MILLIS_PER_MINUTE) * MILLIS_PER_MINUTE + MILLIS_PER_MINUTE;
+        while (previousMillis < toMillis) {
+            long millis = Math.min(nextMinute, toMillis);
+            getPosition(millis, azimuthElevation);
+            double current = azimuthElevation[angleType];
+            if (isCrossing(angleType, angle, previous, current)) {
+                return OptionalLong.of(refineCrossingTime(angleType, angle, previousMillis, millis, previous < angle,
+                        azimuthElevation));
+            }
+            previous = current;
+            previousMillis = millis;
+            nextMinute += MILLIS_PER_MINUTE;
+        }
+        return OptionalLong.empty();
+    }
+
+    private boolean isCrossing(int angleType, double angle, double previous, double current) {
+        if ((previous < angle) == (current < angle)) {
+            return false;
+        }
+        // the azimuth wraps from 360 to 0 degrees in the north, which is not a crossing
+        return angleType != AZIMUTH || Math.abs(current - previous) < 180;
+    }
+
+    /**
+     * Narrows down the crossing time by bisection between two positions on both sides of the angle.
+     */
+    private long refineCrossingTime(int angleType, double angle, long lowMillis, long highMillis, boolean lowBelow,
+            double[] azimuthElevation) {
+        long low = lowMillis;
+        long high = highMillis;
+        while (high - low > CROSSING_ACCURACY_MILLIS) {
+            long middle = low + (high - low) / 2;
+            calculatePosition(middle, azimuthElevation);
+            if ((azimuthElevation[angleType] < angle) == lowBelow) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    private double[] getDay(long epochDay) {
+        double[] day = days.get(epochDay);
+        if (day == null) {
+            day = new double[MINUTES_PER_DAY * 2];
+            double[] azimuthElevation = new double[2];
+            long midnight = epochDay * MILLIS_PER_DAY;
+            for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+                calculatePosition(midnight + minute * MILLIS_PER_MINUTE, azimuthElevation);
+                day[minute * 2] = azimuthElevation[AZIMUTH];
+                day[minute * 2 + 1] = azimuthElevation[ELEVATION];
+            }
+            days.put(epochDay, day);
+        }
+        return day;
+    }
+
+    private void calculatePosition(long millis, double[] azimuthElevation) {
+        sunCalc.calculatePosition(DateTimeUtils.millisToJulianDate(millis), latitude, longitude, azimuthElevation);
+    }
+}
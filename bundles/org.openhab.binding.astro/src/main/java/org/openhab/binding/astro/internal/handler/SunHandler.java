@@ -14,16 +14,22 @@ package org.openhab.binding.astro.internal.handler;
 
 import static org.openhab.binding.astro.internal.AstroBindingConstants.THING_TYPE_SUN;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.astro.internal.calc.SunCalc;
+import org.openhab.binding.astro.internal.calc.SunPositionCache;
 import org.openhab.binding.astro.internal.job.DailyJobSun;
 import org.openhab.binding.astro.internal.job.Job;
 import org.openhab.binding.astro.internal.model.Planet;
@@ -31,6 +37,7 @@ import org.openhab.binding.astro.internal.model.Position;
 import org.openhab.binding.astro.internal.model.Range;
 import org.openhab.binding.astro.internal.model.Sun;
 import org.openhab.binding.astro.internal.model.SunPhaseName;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.scheduler.CronScheduler;
 import org.openhab.core.thing.Thing;
@@ -41,16 +48,23 @@ import org.openhab.core.thing.ThingTypeUID;
  *
  * @author Gerhard Riegler - Initial contribution
  * @author Amit Kumar Mondal - Implementation to be compliant with ESH Scheduler
+ * @author agent - Position series and crossing times
  */
 @NonNullByDefault
 public class SunHandler extends AstroThingHandler {
 
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = new HashSet<>(Arrays.asList(THING_TYPE_SUN));
 
+    /**
+     * Maximum number of positions returned by {@link #getPositions}, e.g. a year with an interval of an hour
+     */
+    public static final int MAX_POSITIONS = 10_000;
+
     private final String[] positionalChannelIds = new String[] { "position#azimuth", "position#elevation",
             "radiation#direct", "radiation#diffuse", "radiation#total" };
     private final SunCalc sunCalc = new SunCalc();
     private @NonNullByDefault({}) Sun sun;
+    private volatile @Nullable SunPositionCache positionCache;
 
     /**
      * Constructor
@@ -115,12 +129,78 @@ public class SunHandler extends AstroThingHandler {
 
     @Override
     public @Nullable Position getPositionAt(ZonedDateTime date) {
-        Sun localSun = getSunAt(date);
+        // the position doesn't depend on the sun info of the day, it is calculated directly
         Double latitude = thingConfig.latitude;
         Double longitude = thingConfig.longitude;
-        Double altitude = thingConfig.altitude;
-        sunCalc.setPositionalInfo(GregorianCalendar.from(date), latitude != null ? latitude : 0,
-                longitude != null ? longitude : 0, altitude != null ? altitude : 0, localSun);
-        return localSun.getPosition();
+        double[] azimuthElevation = new double[2];
+        sunCalc.calculatePosition(DateTimeUtils.millisToJulianDate(date.toInstant().toEpochMilli()),
+                latitude != null ? latitude : 0, longitude != null ? longitude : 0, azimuthElevation);
+        return toPosition(azimuthElevation);
+    }
+
+    /**
+     * Returns the sun positions within a time range.
+     *
+     * @param start begin of the time range (inclusive)
+     * @param end end of the time range (inclusive)
+     * @param interval time between two positions
+     * @return the positions by time, ordered by time
+     * @throws IllegalArgumentException if the interval is not positive or the time range contains more than
+     *             {@link #MAX_POSITIONS} positions
+     */
+    public Map<ZonedDateTime, Position> getPositions(ZonedDateTime start, ZonedDateTime end, Duration interval) {
+        long startMillis = start.toInstant().toEpochMilli();
+        long endMillis = end.toInstant().toEpochMilli();
+        long intervalMillis = interval.toMillis();
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("The interval must be positive");
+        }
+        if (endMillis > startMillis && (endMillis - startMillis) / intervalMillis >= MAX_POSITIONS) {
+            throw new IllegalArgumentException(
+                    "The time range contains more than " + MAX_POSITIONS + " positions, use a larger interval");
+        }
+
+        SunPositionCache cache = getPositionCache();
+        Map<ZonedDateTime, Position> positions = new LinkedHashMap<>();
+        double[] azimuthElevation = new double[2];
+        for (long millis = startMillis; millis <= endMillis; millis += intervalMillis) {
+            cache.getPosition(millis, azimuthElevation);
+            positions.put(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), start.getZone()),
+                    toPosition(azimuthElevation));
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the first time within a time range at which the sun crosses an angle.
+     *
+     * @param angleType {@link SunPositionCache#AZIMUTH} or {@link SunPositionCache#ELEVATION}
+     * @param angle the angle in degrees
+     * @return the time or null, if the angle is not crossed within the time range
+     */
+    public @Nullable ZonedDateTime getCrossingTime(int angleType, double angle, ZonedDateTime start,
+            ZonedDateTime end) {
+        OptionalLong millis = getPositionCache().getCrossingTime(angleType, angle, start.toInstant().toEpochMilli(),
+                end.toInstant().toEpochMilli());
+        return millis.isPresent() ? ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis.getAsLong()), start.getZone())
+                : null;
+    }
+
+    private SunPositionCache getPositionCache() {
+        Double latitude = thingConfig.latitude;
+        Double longitude = thingConfig.longitude;
+        double lat = latitude != null ? latitude : 0;
+        double lon = longitude != null ? longitude : 0;
+        SunPositionCache cache = positionCache;
+        if (cache == null || !cache.isLocatedAt(lat, lon)) {
+            cache = new SunPositionCache(sunCalc, lat, lon);
+            positionCache = cache;
+        }
+        return cache;
+    }
+
+    private Position toPosition(double[] azimuthElevation) {
+        double elevation = azimuthElevation[SunPositionCache.ELEVATION];
+        return new Position(azimuthElevation[SunPositionCache.AZIMUTH], elevation, sunCalc.getShadeLength(elevation));
     }
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.OptionalLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+
+/**
+ * Tests for {@link SunPositionCache} for Amsterdam on 27 February 2019.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SunPositionCacheTest {
+    private static final double AMSTERDAM_LATITUDE = 52.367607;
+    private static final double AMSTERDAM_LONGITUDE = 4.8978293;
+    private static final long MIDNIGHT = ZonedDateTime.parse("2019-02-27T00:00+01:00[Europe/Amsterdam]").toInstant()
+            .toEpochMilli();
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000;
+    private static final int ACCURACY_IN_MILLIS = 3 * 60 * 1000;
+
+    private final SunCalc sunCalc = new SunCalc();
+    private final SunPositionCache cache = new SunPositionCache(sunCalc, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE);
+
+    @Test
+    public void testCachedPositionsEqualCalculatedPositions() {
+        double[] cached = new double[2];
+        double[] calculated = new double[2];
+        for (long millis = MIDNIGHT; millis < MIDNIGHT + 24 * MILLIS_PER_HOUR; millis += 7 * 60 * 1000 + 500) {
+            cache.getPosition(millis, cached);
+            sunCalc.calculatePosition(DateTimeUtils.millisToJulianDate(millis), AMSTERDAM_LATITUDE,
+                    AMSTERDAM_LONGITUDE, calculated);
+            assertArrayEquals(calculated, cached);
+        }
+    }
+
+    @Test
+    public void testElevationCrossing() {
+        OptionalLong rising = cache.getCrossingTime(SunPositionCache.ELEVATION, 10, MIDNIGHT,
+                MIDNIGHT + 12 * MILLIS_PER_HOUR);
+        OptionalLong setting = cache.getCrossingTime(SunPositionCache.ELEVATION, 10, MIDNIGHT + 12 * MILLIS_PER_HOUR,
+                MIDNIGHT + 24 * MILLIS_PER_HOUR);
+        assertTrue(rising.isPresent());
+        assertTrue(setting.isPresent());
+
+        double[] azimuthElevation = new double[2];
+        sunCalc.calculatePosition(DateTimeUtils.millisToJulianDate(rising.getAsLong()), AMSTERDAM_LATITUDE,
+                AMSTERDAM_LONGITUDE, azimuthElevation);
+        assertEquals(10, azimuthElevation[SunPositionCache.ELEVATION], 0.01);
+        sunCalc.calculatePosition(DateTimeUtils.millisToJulianDate(setting.getAsLong()), AMSTERDAM_LATITUDE,
+                AMSTERDAM_LONGITUDE, azimuthElevation);
+        assertEquals(10, azimuthElevation[SunPositionCache.ELEVATION], 0.01);
+
+        // the sun doesn't rise that high in February
+        assertFalse(cache.getCrossingTime(SunPositionCache.ELEVATION, 60, MIDNIGHT, MIDNIGHT + 24 * MILLIS_PER_HOUR)
+                .isPresent());
+    }
+
+    @Test
+    public void testAzimuthCrossing() {
+        // the sun is in the south at noon (12:54)
+        OptionalLong south = cache.getCrossingTime(SunPositionCache.AZIMUTH, 180, MIDNIGHT,
+                MIDNIGHT + 24 * MILLIS_PER_HOUR);
+        assertTrue(south.isPresent());
+        assertTrue(Math.abs(MIDNIGHT + 12 * MILLIS_PER_HOUR + 54 * 60 * 1000 - south.getAsLong()) < ACCURACY_IN_MILLIS);
+
+        // the azimuth wrapping around in the north is not a crossing
+        assertFalse(cache.getCrossingTime(SunPositionCache.AZIMUTH, 90, MIDNIGHT + 20 * MILLIS_PER_HOUR,
+                MIDNIGHT + 28 * MILLIS_PER_HOUR).isPresent());
+    }
+}
@@ -259,6 +259,12 @@ public abstract class SensorBaseThingHandler extends DeconzBaseThingHandler {
         }
     }
 
+    @Override
+    public boolean isRepeatedStateIgnored() {
+        // a repeated state only updates the last updated channel
+        return !isLinked(CHANNEL_LAST_UPDATED);
+    }
+
     private void updateChannels(SensorConfig newConfig) {
         List<String> configChannels = getConfigChannels();
         thing.getChannels().stream().map(Channel::getUID)
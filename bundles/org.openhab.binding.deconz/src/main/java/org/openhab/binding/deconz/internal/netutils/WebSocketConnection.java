@@ -13,6 +13,7 @@
 package org.openhab.binding.deconz.internal.netutils;
 
 import java.net.URI;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -33,18 +34,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 
 /**
  * Establishes and keeps a websocket connection to the deCONZ software.
  *
  * The connection is closed by deCONZ now and then and needs to be re-established.
  *
+ * Each message is parsed once, the resource type and id are read from the parsed message to find the listener before
+ * the message is bound to its typed message class. State pushes which only repeat the previous state of a resource
+ * with a new {@code lastupdated} timestamp are dropped for listeners that don't need them.
+ *
  * @author David Graeff - Initial contribution
  */
 @WebSocket
 @NonNullByDefault
 public class WebSocketConnection {
     private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+    private static final String LAST_UPDATED = "lastupdated";
+    // repeated values of these fields are new events, e.g. a presence sensor triggered again or a repeated alarm
+    private static final String[] EVENT_FIELDS = { "buttonevent", "gesture", "presence", "vibration", "tampered",
+            "fire", "water", "alarm", "carbonmonoxide" };
+
     private final Logger logger = LoggerFactory.getLogger(WebSocketConnection.class);
 
     private final WebSocketClient client;
@@ -52,7 +64,7 @@ public class WebSocketConnection {
     private final Gson gson;
 
     private final WebSocketConnectionListener connectionListener;
-    private final Map<String, WebSocketMessageListener> listeners = new ConcurrentHashMap<>();
+    private final Map<ResourceType, Map<String, ListenerEntry>> listeners = new EnumMap<>(ResourceType.class);
 
     private ConnectionState connectionState = ConnectionState.DISCONNECTED;
     private @Nullable Session session;
@@ -63,6 +75,10 @@ public class WebSocketConnection {
         this.client.setMaxIdleTimeout(0);
         this.gson = gson;
         this.socketName = "Websocket$" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet();
+        // the table itself is never modified afterwards, so it's safe to read from any thread
+        for (ResourceType resourceType : ResourceType.values()) {
+            listeners.put(resourceType, new ConcurrentHashMap<>());
+        }
     }
 
     public void start(String ip) {
@@ -95,11 +111,11 @@ public class WebSocketConnection {
     }
 
     public void registerListener(ResourceType resourceType, String sensorID, WebSocketMessageListener listener) {
-        listeners.put(getListenerId(resourceType, sensorID), listener);
+        getListeners(resourceType).put(sensorID, new ListenerEntry(listener));
     }
 
     public void unregisterListener(ResourceType resourceType, String sensorID) {
-        listeners.remove(getListenerId(resourceType, sensorID));
+        getListeners(resourceType).remove(sensorID);
     }
 
     @SuppressWarnings("unused")
@@ -108,6 +124,8 @@ public class WebSocketConnection {
         connectionState = ConnectionState.CONNECTED;
         logger.debug("{} successfully connected to {}: {}", socketName, session.getRemoteAddress().getAddress(),
                 session.hashCode());
+        // states may have changed while disconnected
+        listeners.values().forEach(entries -> entries.values().forEach(entry -> entry.lastState = null));
         connectionListener.connectionEstablished();
         this.session = session;
     }
@@ -122,31 +140,46 @@ public class WebSocketConnection {
         logger.trace("{} received raw data: {}", socketName, message);
 
         try {
-            DeconzBaseMessage changedMessage = Objects.requireNonNull(gson.fromJson(message, DeconzBaseMessage.class));
-            if (changedMessage.r == ResourceType.UNKNOWN) {
+            JsonObject json = Objects.requireNonNull(gson.fromJson(message, JsonObject.class));
+            ResourceType resourceType = gson.fromJson(json.get("r"), ResourceType.class);
+            if (resourceType == null || resourceType == ResourceType.UNKNOWN) {
                 logger.trace("Received message has unknown resource type. Skipping message.");
                 return;
             }
 
-            WebSocketMessageListener listener = listeners.get(getListenerId(changedMessage.r, changedMessage.id));
-            if (listener == null) {
+            JsonElement idElement = json.get("id");
+            String id = idElement != null && idElement.isJsonPrimitive() ? idElement.getAsString() : "";
+            ListenerEntry entry = getListeners(resourceType).get(id);
+            if (entry == null) {
                 logger.debug(
                         "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
-                        changedMessage.id, changedMessage.r);
+                        id, resourceType);
                 return;
             }
 
-            Class<? extends DeconzBaseMessage> expectedMessageType = changedMessage.r.getExpectedMessageType();
+            JsonElement stateElement = json.get("state");
+            if (stateElement != null && stateElement.isJsonObject()) {
+                JsonObject state = stateElement.getAsJsonObject();
+                JsonObject lastState = entry.lastState;
+                entry.lastState = state;
+                if (lastState != null && entry.listener.isRepeatedStateIgnored() && isRepeatedState(state, lastState)
+                        && !json.has("config")) {
+                    logger.trace("Skipping state of {} {} which only repeats the previous state", resourceType, id);
+                    return;
+                }
+            }
+
+            Class<? extends DeconzBaseMessage> expectedMessageType = resourceType.getExpectedMessageType();
             if (expectedMessageType == null) {
                 logger.warn(
                         "BUG! Could not get expected message type for resource type {}. Please report this incident.",
-                        changedMessage.r);
+                        resourceType);
                 return;
             }
 
-            DeconzBaseMessage deconzMessage = gson.fromJson(message, expectedMessageType);
+            DeconzBaseMessage deconzMessage = gson.fromJson(json, expectedMessageType);
             if (deconzMessage != null) {
-                listener.messageReceived(changedMessage.id, deconzMessage);
+                entry.listener.messageReceived(id, deconzMessage);
 
             }
         } catch (RuntimeException e) {
@@ -202,15 +235,46 @@ public class WebSocketConnection {
         return connectionState == ConnectionState.CONNECTED;
     }
 
+    private Map<String, ListenerEntry> getListeners(ResourceType resourceType) {
+        return Objects.requireNonNull(listeners.get(resourceType));
+    }
+
     /**
-     * create a unique identifier for a listener
+     * check if a state only differs from the previous state in its last update timestamp
      *
-     * @param resourceType the listener resource-type (LIGHT, SENSOR, ...)
-     * @param id the listener id (same as deconz-id)
-     * @return a unique string for this listener
+     * @param state the received state
+     * @param lastState the previously received state
+     * @return true if the state contains no event and the same values as the previous state
+     */
+    private static boolean isRepeatedState(JsonObject state, JsonObject lastState) {
+        for (String eventField : EVENT_FIELDS) {
+            if (state.has(eventField)) {
+                return false;
+            }
+        }
+        int size = state.has(LAST_UPDATED) ? state.size() - 1 : state.size();
+        int lastSize = lastState.has(LAST_UPDATED) ? lastState.size() - 1 : lastState.size();
+        if (size != lastSize) {
+            return false;
+        }
+        for (Map.Entry<String, JsonElement> field : state.entrySet()) {
+            if (!LAST_UPDATED.equals(field.getKey()) && !field.getValue().equals(lastState.get(field.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * a registered listener with the last state received for its resource
      */
-    private String getListenerId(ResourceType resourceType, String id) {
-        return resourceType.name() + "$" + id;
+    private static class ListenerEntry {
+        private final WebSocketMessageListener listener;
+        private volatile @Nullable JsonObject lastState;
+
+        private ListenerEntry(WebSocketMessageListener listener) {
+            this.listener = listener;
+        }
     }
 
     /**
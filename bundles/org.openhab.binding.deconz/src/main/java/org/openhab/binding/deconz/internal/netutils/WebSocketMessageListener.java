@@ -29,4 +29,13 @@ public interface WebSocketMessageListener {
      * @param message The received message
      */
     void messageReceived(String sensorID, DeconzBaseMessage message);
+
+    /**
+     * Whether states which only repeat the previous state with a new last update timestamp may be skipped
+     *
+     * @return true if such states don't need to be received
+     */
+    default boolean isRepeatedStateIgnored() {
+        return false;
+    }
 }
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.InetSocketAddress;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.dto.SensorMessage;
+import org.openhab.binding.deconz.internal.dto.SensorState;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnection;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnectionListener;
+import org.openhab.binding.deconz.internal.netutils.WebSocketMessageListener;
+import org.openhab.binding.deconz.internal.types.ResourceType;
+import org.openhab.binding.deconz.internal.types.ResourceTypeDeserializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * This class provides tests for the websocket message dispatching of the deconz binding
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class WebSocketConnectionTest {
+    private static final String TEMPERATURE = "{\"e\":\"changed\",\"id\":\"5\",\"r\":\"sensors\",\"t\":\"event\","
+            + "\"state\":{\"lastupdated\":\"%s\",\"temperature\":%d}}";
+    private static final String BUTTON = "{\"e\":\"changed\",\"id\":\"5\",\"r\":\"sensors\",\"t\":\"event\","
+            + "\"state\":{\"buttonevent\":1002,\"lastupdated\":\"%s\"}}";
+    private static final String PRESENCE = "{\"e\":\"changed\",\"id\":\"5\",\"r\":\"sensors\",\"t\":\"event\","
+            + "\"state\":{\"lastupdated\":\"%s\",\"presence\":true}}";
+
+    private @Mock @NonNullByDefault({}) WebSocketConnectionListener connectionListener;
+    private @Mock @NonNullByDefault({}) WebSocketClient client;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener messageListener;
+    private @Mock @NonNullByDefault({}) Session session;
+
+    private @NonNullByDefault({}) WebSocketConnection connection;
+
+    @BeforeEach
+    public void initialize() {
+        Gson gson = new GsonBuilder().registerTypeAdapter(ResourceType.class, new ResourceTypeDeserializer())
+                .create();
+        connection = new WebSocketConnection(connectionListener, client, gson);
+        doReturn(new InetSocketAddress(443)).when(session).getRemoteAddress();
+        connection.onConnect(session);
+    }
+
+    @Test
+    public void messageIsDispatchedToListenerOfResource() {
+        connection.registerListener(ResourceType.SENSORS, "5", messageListener);
+
+        connection.onMessage(session, String.format(TEMPERATURE, "2021-01-01T10:00:00", 2150));
+        connection.onMessage(session, String.format(TEMPERATURE.replace("sensors", "lights"), "none", 2150));
+        connection.onMessage(session, String.format(TEMPERATURE.replace("\"5\"", "\"6\""), "none", 2150));
+
+        ArgumentCaptor<DeconzBaseMessage> message = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(messageListener, times(1)).messageReceived(eq("5"), message.capture());
+        SensorMessage sensorMessage = (SensorMessage) message.getValue();
+        assertEquals(ResourceType.SENSORS, sensorMessage.r);
+        SensorState state = sensorMessage.state;
+        assertNotNull(state);
+        assertEquals(2150f, state.temperature);
+    }
+
+    @Test
+    public void repeatedStateIsSkippedIfIgnored() {
+        doReturn(true).when(messageListener).isRepeatedStateIgnored();
+        connection.registerListener(ResourceType.SENSORS, "5", messageListener);
+
+        connection.onMessage(session, String.format(TEMPERATURE, "2021-01-01T10:00:00", 2150));
+        connection.onMessage(session, String.format(TEMPERATURE, "2021-01-01T10:05:00", 2150));
+        verify(messageListener, times(1)).messageReceived(eq("5"), any());
+
+        connection.onMessage(session, String.format(TEMPERATURE, "2021-01-01T10:10:00", 2160));
+        verify(messageListener, times(2)).messageReceived(eq("5"), any());
+    }
+
+    @Test
+    public void repeatedStateIsDispatchedIfNotIgnored() {
+        connection.registerListener(ResourceType.SENSORS, "5", messageListener);
+
+        connection.onMessage(session, String.format(TEMPERATURE, "2021-01-01T10:00:00", 2150));
+        connection.onMessage(session, String.format(TEMPERATURE, "2021-01-01T10:05:00", 2150));
+        verify(messageListener, times(2)).messageReceived(eq("5"), any());
+    }
+
+    @Test
+    public void repeatedEventIsDispatched() {
+        doReturn(true).when(messageListener).isRepeatedStateIgnored();
+        connection.registerListener(ResourceType.SENSORS, "5", messageListener);
+
+        connection.onMessage(session, String.format(BUTTON, "2021-01-01T10:00:00"));
+        connection.onMessage(session, String.format(BUTTON, "2021-01-01T10:00:01"));
+        verify(messageListener, times(2)).messageReceived(eq("5"), any());
+    }
+
+    @Test
+    public void repeatedPresenceIsDispatched() {
+        doReturn(true).when(messageListener).isRepeatedStateIgnored();
+        connection.registerListener(ResourceType.SENSORS, "5", messageListener);
+
+        connection.onMessage(session, String.format(PRESENCE, "2021-01-01T10:00:00"));
+        connection.onMessage(session, String.format(PRESENCE, "2021-01-01T10:00:30"));
+        verify(messageListener, times(2)).messageReceived(eq("5"), any());
+    }
+}
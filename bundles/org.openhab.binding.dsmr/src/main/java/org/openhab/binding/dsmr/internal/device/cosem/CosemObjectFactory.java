@@ -52,6 +52,18 @@ public class CosemObjectFactory {
      */
     private final List<CosemObjectType> obisWildcardCosemTypeList = new ArrayList<>();
 
+    /**
+     * Maximum number of entries in the {@link #obisIdentifierCache}. A meter sends the same set of OBIS Identifiers
+     * with every telegram. The limit is to protect against filling the cache with corrupted data.
+     */
+    private static final int MAX_OBIS_IDENTIFIER_CACHE_SIZE = 256;
+
+    /**
+     * Lookup cache for OBIS Identifier strings as received in a telegram to their parsed OBIS Identifiers.
+     * This avoids parsing the same identifier strings with every telegram.
+     */
+    private final Map<String, ParsedOBISIdentifier> obisIdentifierCache = new HashMap<>();
+
     /**
      * Creates a new CosemObjectFactory
      */
@@ -91,18 +103,14 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
+        final ParsedOBISIdentifier parsedObisId = getParsedOBISIdentifier(obisIdString);
 
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
-        } catch (final ParseException pe) {
-            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+        if (parsedObisId == null) {
             return null;
         }
+        final OBISIdentifier obisId = parsedObisId.obisId;
+        final OBISIdentifier reducedObisId = parsedObisId.reducedObisId;
+        final OBISIdentifier reducedObisIdGroupE = parsedObisId.reducedObisIdGroupE;
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
@@ -151,6 +159,30 @@ public class CosemObjectFactory {
         return null;
     }
 
+    /**
+     * Returns the parsed OBIS Identifier for the given string. Parsed identifiers are cached. Therefore a recurring
+     * identifier string is only parsed once.
+     *
+     * @param obisIdString String containing the OBIS message identifier
+     * @return the parsed OBIS Identifier or null if the string is not a valid OBIS Identifier
+     */
+    private @Nullable ParsedOBISIdentifier getParsedOBISIdentifier(String obisIdString) {
+        ParsedOBISIdentifier parsedObisId = obisIdentifierCache.get(obisIdString);
+
+        if (parsedObisId == null) {
+            try {
+                parsedObisId = new ParsedOBISIdentifier(new OBISIdentifier(obisIdString));
+            } catch (final ParseException pe) {
+                logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+                return null;
+            }
+            if (obisIdentifierCache.size() < MAX_OBIS_IDENTIFIER_CACHE_SIZE) {
+                obisIdentifierCache.put(obisIdString, parsedObisId);
+            }
+        }
+        return parsedObisId;
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
@@ -175,4 +207,19 @@ public class CosemObjectFactory {
         }
         return null;
     }
+
+    /**
+     * Holds a parsed OBIS Identifier together with its reduced variants used in the lookup tables.
+     */
+    private static class ParsedOBISIdentifier {
+        private final OBISIdentifier obisId;
+        private final OBISIdentifier reducedObisId;
+        private final OBISIdentifier reducedObisIdGroupE;
+
+        public ParsedOBISIdentifier(OBISIdentifier obisId) {
+            this.obisId = obisId;
+            reducedObisId = obisId.getReducedOBISIdentifier();
+            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
+        }
+    }
 }
@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -60,9 +59,9 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal characters of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -84,9 +83,14 @@ public class P1TelegramParser implements TelegramParser {
     private final StringBuilder rawData = new StringBuilder();
 
     /**
-     * Current crc value read.
+     * Current crc value read. The hexadecimal characters are accumulated directly into this value.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+
+    /**
+     * Number of characters of the crc value read. Set to -1 if an invalid character was read.
+     */
+    private int crcValueLength;
 
     /**
      * CRC calculation helper
@@ -242,18 +246,17 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        logger.trace("telegramState {}, crcValue length {}", telegramState, crcValueLength);
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcValueLength != 0) {
+                            if (crcValueLength == CRC_LENGTH) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: 0x{}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -339,7 +342,7 @@ public class P1TelegramParser implements TelegramParser {
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -348,6 +351,27 @@ public class P1TelegramParser implements TelegramParser {
         }
     }
 
+    /**
+     * Adds a single character of the CRC value to the crc value read so far. If the character is not a valid
+     * hexadecimal character or more characters are received than a CRC value can have the crc value is marked
+     * invalid.
+     *
+     * @param c the character to process
+     */
+    private void appendCrcCharacter(char c) {
+        if (crcValueLength < 0) {
+            return;
+        }
+        final int digit = Character.digit(c, 16);
+
+        if (digit < 0 || Character.isLowerCase(c) || crcValueLength >= CRC_LENGTH) {
+            crcValueLength = -1;
+        } else {
+            crcValue = (crcValue << 4) | digit;
+            crcValueLength++;
+        }
+    }
+
     /**
      * Clears all internal state
      */
@@ -355,7 +379,8 @@ public class P1TelegramParser implements TelegramParser {
         obisId.setLength(0);
         obisValue.setLength(0);
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcValueLength = 0;
         crc.initialize();
         cosemObjects.clear();
         unknownCosemObjects.clear();
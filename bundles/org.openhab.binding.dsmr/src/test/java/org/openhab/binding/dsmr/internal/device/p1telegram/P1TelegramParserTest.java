@@ -14,6 +14,7 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -50,6 +51,8 @@ public class P1TelegramParserTest {
     }
     // @formatter:on
 
+    private static final int REPLAY_COUNT = 3;
+
     @ParameterizedTest
     @MethodSource("data")
     public void testParsing(final String telegramName, final int numberOfCosemObjects, final int unknownObjects) {
@@ -60,4 +63,37 @@ public class P1TelegramParserTest {
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
                 "Expected number of objects");
     }
+
+    /**
+     * Replays a recorded telegram several times in small chunks through a single parser, like data is received from a
+     * meter, and checks each replayed telegram gives the same result.
+     */
+    @ParameterizedTest
+    @MethodSource("data")
+    public void testReplayChunked(final String telegramName, final int numberOfCosemObjects,
+            final int unknownObjects) {
+        final byte[] rawTelegram = TelegramReaderUtil.readRawTelegram(telegramName);
+        final List<P1Telegram> telegrams = new ArrayList<>();
+        final P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+        final byte[] chunk = new byte[7];
+
+        parser.setLenientMode(true);
+        for (int replay = 0; replay < REPLAY_COUNT; replay++) {
+            for (int offset = 0; offset < rawTelegram.length; offset += chunk.length) {
+                final int length = Math.min(chunk.length, rawTelegram.length - offset);
+
+                System.arraycopy(rawTelegram, offset, chunk, 0, length);
+                parser.parse(chunk, length);
+            }
+        }
+        assertEquals(REPLAY_COUNT, telegrams.size(), "Expected number of telegrams replayed");
+        for (P1Telegram telegram : telegrams) {
+            assertEquals(TelegramState.OK, telegram.getTelegramState(), "Expected TelegramState should be OK");
+            assertEquals(unknownObjects, telegram.getUnknownCosemObjects().size(),
+                    "Should not have other than " + unknownObjects + " unknown cosem objects");
+            assertEquals(numberOfCosemObjects,
+                    telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
+                    "Expected number of objects");
+        }
+    }
 }
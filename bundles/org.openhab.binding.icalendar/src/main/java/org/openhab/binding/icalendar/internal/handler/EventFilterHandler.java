@@ -62,6 +62,8 @@ import org.slf4j.LoggerFactory;
 public class EventFilterHandler extends BaseThingHandler implements CalendarUpdateListener {
 
     private @Nullable EventFilterConfiguration configuration;
+    // kept between updates, so the filter pattern is compiled only once
+    private @Nullable EventTextFilter textFilter;
     private final Logger logger = LoggerFactory.getLogger(EventFilterHandler.class);
     private final List<ResultChannelSet> resultChannels;
     private final TimeZoneProvider tzProvider;
@@ -294,7 +296,13 @@ public class EventFilterHandler extends BaseThingHandler implements CalendarUpda
                         EventTextFilter.Field textFilterField = EventTextFilter.Field.valueOf(textEventField);
                         EventTextFilter.Type textFilterType = EventTextFilter.Type.valueOf(textValueType);
 
-                        filter = new EventTextFilter(textFilterField, textFilterValue, textFilterType);
+                        EventTextFilter currentFilter = textFilter;
+                        if (currentFilter == null
+                                || !currentFilter.matchesSettings(textFilterField, textFilterValue, textFilterType)) {
+                            currentFilter = new EventTextFilter(textFilterField, textFilterValue, textFilterType);
+                            textFilter = currentFilter;
+                        }
+                        filter = currentFilter;
                     } catch (IllegalArgumentException e2) {
                         throw new ConfigBrokenException("textEventField or textValueType are not set properly.");
                     }
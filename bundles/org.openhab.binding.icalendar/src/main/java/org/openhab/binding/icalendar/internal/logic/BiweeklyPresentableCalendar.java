@@ -19,15 +19,17 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.icalendar.internal.logic.EventTextFilter.Type;
 
 import biweekly.ICalendar;
 import biweekly.component.VEvent;
@@ -59,12 +61,35 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
  * @author Andrew Fiddian-Green - Methods getJustBegunEvents() & getJustEndedEvents()
  * @author Michael Wodniok - Extension for filtered events
  * @author Michael Wodniok - Added logic for events moved with "RECURRENCE-ID" (issue 9647)
+ * @author agent - Occurrence index for queries near the current time
  */
 @NonNullByDefault
 class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
+    /**
+     * Default time frame covered by the occurrence index.
+     */
+    static final Duration DEFAULT_INDEX_HORIZON = Duration.ofDays(62);
+
+    /**
+     * Time covered by the occurrence index before the begin of the first query, so slightly older queries (e.g. for
+     * events which ended since the last update) don't require a rebuild.
+     */
+    private static final Duration INDEX_LOOKBACK = Duration.ofDays(1);
+
     private final ICalendar usedCalendar;
+    private final OccurrenceIndex index;
 
     BiweeklyPresentableCalendar(InputStream streamed) throws IOException, CalendarException {
+        this(streamed, DEFAULT_INDEX_HORIZON);
+    }
+
+    /**
+     * Creates a calendar with a given time frame covered by the occurrence index.
+     *
+     * @param streamed A Stream containing the iCal data.
+     * @param indexHorizon The time frame covered by the occurrence index, {@link Duration#ZERO} to disable the index.
+     */
+    BiweeklyPresentableCalendar(InputStream streamed, Duration indexHorizon) throws IOException, CalendarException {
         try (final ICalReader reader = new ICalReader(streamed)) {
             final ICalendar currentCalendar = reader.readNext();
             if (currentCalendar == null) {
@@ -72,6 +97,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             }
             this.usedCalendar = currentCalendar;
         }
+        this.index = new OccurrenceIndex(indexHorizon);
     }
 
     @Override
@@ -86,6 +112,23 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustBegunEvents(Instant frameBegin, Instant frameEnd) {
+        synchronized (index) {
+            if (index.covers(frameBegin, frameEnd.plusMillis(1))) {
+                // first occurrence of each event within the time frame, ordered like the events in the calendar
+                final List<Occurrence> firstOccurrences = index.getFirstPerEvent(frameBegin, frameEnd, false);
+                final List<Event> eventList = new ArrayList<>(firstOccurrences.size());
+                for (final Occurrence occurrence : firstOccurrences) {
+                    Duration duration = occurrence.length;
+                    if (duration == null) {
+                        duration = Duration.ofMinutes(1);
+                    }
+                    eventList.add(
+                            new VEventWPeriod(occurrence.vEvent, occurrence.start, occurrence.start.plus(duration))
+                                    .toEvent());
+                }
+                return eventList;
+            }
+        }
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -112,6 +155,17 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustEndedEvents(Instant frameBegin, Instant frameEnd) {
+        synchronized (index) {
+            if (index.covers(frameBegin.minus(index.getMaximumEventLength()), frameEnd.plusMillis(1))) {
+                // first occurrence of each event ending within the time frame, ordered like the events in the calendar
+                final List<Occurrence> firstOccurrences = index.getFirstPerEvent(frameBegin, frameEnd, true);
+                final List<Event> eventList = new ArrayList<>(firstOccurrences.size());
+                for (final Occurrence occurrence : firstOccurrences) {
+                    eventList.add(new VEventWPeriod(occurrence.vEvent, occurrence.start, occurrence.getEnd()).toEvent());
+                }
+                return eventList;
+            }
+        }
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -139,6 +193,16 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public @Nullable Event getNextEvent(Instant instant) {
+        synchronized (index) {
+            // look ahead by half of the index, so the index is moved forward only every now and then
+            if (index.covers(instant, instant.plus(index.getMaximumQueryLength().dividedBy(2)))) {
+                final Occurrence next = index.getNext(instant);
+                if (next != null) {
+                    return new VEventWPeriod(next.vEvent, next.start, next.getEnd()).toEvent();
+                }
+                // the next event may be beyond the index
+            }
+        }
         final Collection<VEventWPeriod> candidates = new ArrayList<VEventWPeriod>();
         final Collection<VEvent> negativeEvents = new ArrayList<VEvent>();
         final Collection<VEvent> positiveEvents = new ArrayList<VEvent>();
@@ -186,13 +250,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         final List<Event> results = new ArrayList<>(candidates.size());
 
         if (filter != null) {
-            Pattern filterPattern;
-            if (filter.type == Type.TEXT) {
-                filterPattern = Pattern.compile(".*" + Pattern.quote(filter.value) + ".*",
-                        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-            } else {
-                filterPattern = Pattern.compile(filter.value);
-            }
+            Pattern filterPattern = filter.getPattern();
 
             Class<? extends TextProperty> propertyClass;
             switch (filter.field) {
@@ -245,6 +303,11 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return All events which begin in the time frame.
      */
     private List<VEventWPeriod> getVEventWPeriodsBetween(Instant frameBegin, Instant frameEnd, int maximumPerSeries) {
+        synchronized (index) {
+            if (index.covers(frameBegin, frameEnd)) {
+                return index.getBetween(frameBegin, frameEnd, maximumPerSeries);
+            }
+        }
         final List<VEvent> positiveEvents = new ArrayList<>();
         final List<VEvent> negativeEvents = new ArrayList<>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -316,6 +379,11 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return A VEventWPeriod describing the event or null if there is none.
      */
     private @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
+        synchronized (index) {
+            if (index.covers(instant.minus(index.getMaximumEventLength()), instant)) {
+                return index.getCurrent(instant);
+            }
+        }
         final List<VEvent> negativeEvents = new ArrayList<VEvent>();
         final List<VEvent> positiveEvents = new ArrayList<VEvent>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -430,6 +498,264 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return false;
     }
 
+    /**
+     * An index of the occurrences of all events within a time frame, sorted by their start. Queries within the time
+     * frame are answered by binary search instead of expanding the recurrences of all events. The time frame is moved
+     * forward with the queries, which only requires expanding the recurrences for the added time. Queries outside the
+     * possible time frame are answered without the index.
+     * <p>
+     * Callers have to synchronize on the index.
+     */
+    private class OccurrenceIndex {
+        private final Duration horizon;
+        private final List<Occurrence> occurrences = new ArrayList<>();
+        private @Nullable List<VEvent> events;
+        private final List<VEvent> negativeEvents = new ArrayList<>();
+        private final Set<VEvent> positiveEvents = new HashSet<>();
+        private final List<@Nullable Duration> eventLengths = new ArrayList<>();
+        private Duration maximumEventLength = Duration.ZERO;
+        private Instant begin = Instant.EPOCH;
+        private Instant end = Instant.EPOCH;
+
+        OccurrenceIndex(Duration horizon) {
+            this.horizon = horizon;
+        }
+
+        /**
+         * Makes sure the occurrences starting within a time frame are indexed.
+         *
+         * @param from Begin of the time frame (inclusive).
+         * @param to End of the time frame (exclusive).
+         * @return True if the index covers the time frame, false if the time frame must be queried without the index.
+         */
+        boolean covers(Instant from, Instant to) {
+            if (horizon.isZero() || Duration.between(from, to).compareTo(getMaximumQueryLength()) > 0) {
+                return false;
+            }
+            if (!from.isBefore(begin) && !to.isAfter(end)) {
+                return true;
+            }
+            // queries for current or ended events look back by the maximum event length
+            final Instant newBegin = from.minus(INDEX_LOOKBACK).minus(maximumEventLength);
+            final Instant newEnd = newBegin.plus(horizon);
+            if (!newBegin.isBefore(begin) && !newBegin.isAfter(end)) {
+                // time advanced, drop past occurrences and add the new ones
+                int firstKept = findFirstStartingAt(newBegin);
+                occurrences.subList(0, firstKept).clear();
+                addOccurrences(end, newEnd);
+            } else {
+                occurrences.clear();
+                addOccurrences(newBegin, newEnd);
+            }
+            begin = newBegin;
+            end = newEnd;
+            return true;
+        }
+
+        /**
+         * @return The longest time frame a query may span to be answered by the index.
+         */
+        Duration getMaximumQueryLength() {
+            initEvents();
+            return horizon.minus(INDEX_LOOKBACK).minus(maximumEventLength);
+        }
+
+        Duration getMaximumEventLength() {
+            initEvents();
+            return maximumEventLength;
+        }
+
+        private void initEvents() {
+            if (events != null) {
+                return;
+            }
+            final List<VEvent> allEvents = usedCalendar.getEvents();
+            final List<VEvent> positive = new ArrayList<>();
+            classifyEvents(positive, negativeEvents);
+            positiveEvents.addAll(positive);
+            for (final VEvent event : allEvents) {
+                final Duration length = getEventLength(event);
+                eventLengths.add(length);
+                if (length != null && length.compareTo(maximumEventLength) > 0) {
+                    maximumEventLength = length;
+                }
+            }
+            events = allEvents;
+        }
+
+        private void addOccurrences(Instant from, Instant to) {
+            final List<VEvent> allEvents = events;
+            if (allEvents == null) {
+                return;
+            }
+            final List<Occurrence> added = new ArrayList<>();
+            for (int eventIndex = 0; eventIndex < allEvents.size(); eventIndex++) {
+                final VEvent event = allEvents.get(eventIndex);
+                final boolean positive = positiveEvents.contains(event);
+                final Uid eventUid = event.getUid();
+                final DateIterator startDates = getRecurredEventDateIterator(event);
+                startDates.advanceTo(Date.from(from));
+                while (startDates.hasNext()) {
+                    final Instant startInstant = startDates.next().toInstant();
+                    if (!startInstant.isBefore(to)) {
+                        break;
+                    }
+                    if (startInstant.isBefore(from)) {
+                        continue;
+                    }
+                    final boolean countered = positive && eventUid != null
+                            && isCounteredBy(startInstant, eventUid, negativeEvents);
+                    added.add(new Occurrence(eventIndex, event, startInstant, eventLengths.get(eventIndex), positive,
+                            countered));
+                }
+            }
+            added.sort(Occurrence.ORDER);
+            occurrences.addAll(added);
+        }
+
+        /**
+         * @return Position of the first occurrence starting at or after the given instant.
+         */
+        private int findFirstStartingAt(Instant instant) {
+            int low = 0;
+            int high = occurrences.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (occurrences.get(middle).start.isBefore(instant)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Finds the event present at the given instant. Like the search without index, the first matching event in the
+         * order of the calendar is returned.
+         */
+        @Nullable VEventWPeriod getCurrent(Instant instant) {
+            Occurrence current = null;
+            final int first = findFirstStartingAt(instant.minus(maximumEventLength));
+            final int last = findFirstStartingAt(instant);
+            for (int position = first; position < last; position++) {
+                final Occurrence occurrence = occurrences.get(position);
+                if (occurrence.isActive() && occurrence.length != null && occurrence.getEnd().isAfter(instant)
+                        && (current == null || occurrence.eventIndex < current.eventIndex)) {
+                    current = occurrence;
+                }
+            }
+            return current == null ? null : new VEventWPeriod(current.vEvent, current.start, current.getEnd());
+        }
+
+        /**
+         * Finds the first event starting after the given instant.
+         */
+        @Nullable Occurrence getNext(Instant instant) {
+            for (int position = findFirstStartingAt(instant); position < occurrences.size(); position++) {
+                final Occurrence occurrence = occurrences.get(position);
+                if (occurrence.start.isAfter(instant) && occurrence.isActive() && occurrence.length != null) {
+                    return occurrence;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Finds the first occurrence of each event beginning or ending within the time frame, regardless of the
+         * event status.
+         *
+         * @param ending If true, the end of occurrences is checked, otherwise their begin.
+         * @return The first occurrences, ordered like the events in the calendar.
+         */
+        List<Occurrence> getFirstPerEvent(Instant frameBegin, Instant frameEnd, boolean ending) {
+            final List<Occurrence> result = new ArrayList<>();
+            final Set<Integer> found = new HashSet<>();
+            final int first = findFirstStartingAt(ending ? frameBegin.minus(maximumEventLength) : frameBegin);
+            for (int position = first; position < occurrences.size(); position++) {
+                final Occurrence occurrence = occurrences.get(position);
+                if (occurrence.start.isAfter(frameEnd)) {
+                    break;
+                }
+                if (ending && occurrence.length == null) {
+                    continue;
+                }
+                final Instant instant = ending ? occurrence.getEnd() : occurrence.start;
+                if (!instant.isBefore(frameBegin) && !instant.isAfter(frameEnd) && found.add(occurrence.eventIndex)) {
+                    result.add(occurrence);
+                }
+            }
+            result.sort(Comparator.comparingInt(occurrence -> occurrence.eventIndex));
+            return result;
+        }
+
+        /**
+         * Finds the events beginning within the time frame, see {@link #getVEventWPeriodsBetween}.
+         */
+        List<VEventWPeriod> getBetween(Instant frameBegin, Instant frameEnd, int maximumPerSeries) {
+            final List<Occurrence> found = new ArrayList<>();
+            final int[] foundInSeries = new int[eventLengths.size()];
+            for (int position = findFirstStartingAt(frameBegin); position < occurrences.size(); position++) {
+                final Occurrence occurrence = occurrences.get(position);
+                if (!occurrence.start.isBefore(frameEnd)) {
+                    break;
+                }
+                if (occurrence.isActive() && (maximumPerSeries == 0
+                        || foundInSeries[occurrence.eventIndex] < maximumPerSeries)) {
+                    foundInSeries[occurrence.eventIndex]++;
+                    found.add(occurrence);
+                }
+            }
+            // same order as without index: by event in order of the calendar, then by start
+            found.sort(Comparator.<Occurrence> comparingInt(occurrence -> occurrence.eventIndex)
+                    .thenComparing(occurrence -> occurrence.start));
+            final List<VEventWPeriod> eventList = new ArrayList<>(found.size());
+            for (final Occurrence occurrence : found) {
+                final Duration duration = occurrence.length;
+                eventList.add(new VEventWPeriod(occurrence.vEvent, occurrence.start,
+                        occurrence.start.plus(duration == null ? Duration.ZERO : duration)));
+            }
+            return eventList;
+        }
+    }
+
+    /**
+     * A single occurrence of an event in the {@link OccurrenceIndex}.
+     */
+    private static class Occurrence {
+        static final Comparator<Occurrence> ORDER = Comparator.<Occurrence, Instant> comparing(o -> o.start)
+                .thenComparingInt(o -> o.eventIndex);
+
+        final int eventIndex;
+        final VEvent vEvent;
+        final Instant start;
+        final @Nullable Duration length;
+        final boolean positive;
+        final boolean countered;
+
+        Occurrence(int eventIndex, VEvent vEvent, Instant start, @Nullable Duration length, boolean positive,
+                boolean countered) {
+            this.eventIndex = eventIndex;
+            this.vEvent = vEvent;
+            this.start = start;
+            this.length = length;
+            this.positive = positive;
+            this.countered = countered;
+        }
+
+        /**
+         * @return True if the occurrence takes place, i.e. is neither cancelled nor moved.
+         */
+        boolean isActive() {
+            return positive && !countered;
+        }
+
+        Instant getEnd() {
+            final Duration duration = length;
+            return duration == null ? start : start.plus(duration);
+        }
+    }
+
     /**
      * A Class describing an event together with a start and end instant.
      *
@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.icalendar.internal.logic;
 
+import java.util.regex.Pattern;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * Transport class for a simple text filter.
@@ -38,9 +41,37 @@ public class EventTextFilter {
     public String value;
     public Type type;
 
+    private @Nullable Pattern pattern;
+
     public EventTextFilter(Field field, String value, Type type) {
         this.field = field;
         this.value = value;
         this.type = type;
     }
+
+    /**
+     * Gets the pattern matching the values to be filtered. The pattern is compiled once on first use.
+     *
+     * @return The compiled pattern.
+     */
+    public Pattern getPattern() {
+        Pattern compiledPattern = pattern;
+        if (compiledPattern == null) {
+            if (type == Type.TEXT) {
+                compiledPattern = Pattern.compile(".*" + Pattern.quote(value) + ".*",
+                        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+            } else {
+                compiledPattern = Pattern.compile(value);
+            }
+            pattern = compiledPattern;
+        }
+        return compiledPattern;
+    }
+
+    /**
+     * Checks whether this filter was created from the given settings.
+     */
+    public boolean matchesSettings(Field field, String value, Type type) {
+        return this.field == field && this.value.equals(value) && this.type == type;
+    }
 }
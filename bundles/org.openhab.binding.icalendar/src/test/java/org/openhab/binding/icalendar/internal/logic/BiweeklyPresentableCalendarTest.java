@@ -16,6 +16,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -41,6 +42,7 @@ import org.openhab.core.types.Command;
  * @author Michael Wodniok - Initial contribution.
  * @author Andrew Fiddian-Green - Tests for Command Tag code
  * @author Michael Wodniok - Extended Tests for filtered Events
+ * @author agent - Tests for occurrence index
  *
  */
 public class BiweeklyPresentableCalendarTest {
@@ -607,4 +609,31 @@ public class BiweeklyPresentableCalendarTest {
                 LocalDate.parse("2021-01-05").atStartOfDay(ZoneId.systemDefault()).toInstant(), null, 3);
         assertArrayEquals(expectedFilteredEvents8, realFilteredEvents8.toArray(new Event[] {}));
     }
+
+    /**
+     * Tests that queries answered from the occurrence index match the ones of the full expansion.
+     */
+    @Test
+    public void testOccurrenceIndexMatchesExpansion() throws IOException, CalendarException {
+        String[] files = new String[] { "test.ics", "test2.ics", "test3.ics", "test-issue9647.ics" };
+        Instant[] begins = new Instant[] { Instant.parse("2019-09-07T00:00:00Z"), Instant.parse("2019-11-20T00:00:00Z"),
+                Instant.parse("2020-01-27T00:00:00Z"), Instant.parse("2020-12-20T00:00:00Z") };
+        for (int i = 0; i < files.length; i++) {
+            AbstractPresentableCalendar indexed = new BiweeklyPresentableCalendar(
+                    new FileInputStream("src/test/resources/" + files[i]));
+            AbstractPresentableCalendar expanded = new BiweeklyPresentableCalendar(
+                    new FileInputStream("src/test/resources/" + files[i]), Duration.ZERO);
+            for (Instant now = begins[i]; now.isBefore(begins[i].plus(Duration.ofDays(21))); now = now
+                    .plus(Duration.ofMinutes(15))) {
+                Instant frameBegin = now.minus(Duration.ofMinutes(15));
+                assertEquals(expanded.getCurrentEvent(now), indexed.getCurrentEvent(now));
+                assertEquals(expanded.getNextEvent(now), indexed.getNextEvent(now));
+                assertEquals(expanded.isEventPresent(now), indexed.isEventPresent(now));
+                assertEquals(expanded.getJustBegunEvents(frameBegin, now), indexed.getJustBegunEvents(frameBegin, now));
+                assertEquals(expanded.getJustEndedEvents(frameBegin, now), indexed.getJustEndedEvents(frameBegin, now));
+                assertEquals(expanded.getFilteredEventsBetween(now, now.plus(Duration.ofDays(2)), null, 3),
+                        indexed.getFilteredEventsBetween(now, now.plus(Duration.ofDays(2)), null, 3));
+            }
+        }
+    }
 }
@@ -39,11 +39,9 @@ import org.openhab.binding.insteon.internal.device.DeviceTypeLoader;
 import org.openhab.binding.insteon.internal.device.InsteonAddress;
 import org.openhab.binding.insteon.internal.device.InsteonDevice;
 import org.openhab.binding.insteon.internal.device.InsteonDevice.DeviceStatus;
-import org.openhab.binding.insteon.internal.device.RequestQueueManager;
 import org.openhab.binding.insteon.internal.driver.Driver;
 import org.openhab.binding.insteon.internal.driver.DriverListener;
 import org.openhab.binding.insteon.internal.driver.ModemDBEntry;
-import org.openhab.binding.insteon.internal.driver.Poller;
 import org.openhab.binding.insteon.internal.driver.Port;
 import org.openhab.binding.insteon.internal.handler.InsteonDeviceHandler;
 import org.openhab.binding.insteon.internal.handler.InsteonNetworkHandler;
@@ -280,7 +278,7 @@ public class InsteonBinding {
             int ndev = checkIfInModemDatabase(dev);
             if (dev.hasModemDBEntry()) {
                 dev.setStatus(DeviceStatus.POLLING);
-                Poller.instance().startPolling(dev, ndev);
+                driver.getPoller().startPolling(dev, ndev);
             }
         }
         devices.put(addr, dev);
@@ -297,7 +295,7 @@ public class InsteonBinding {
         }
 
         if (dev.getStatus() == DeviceStatus.POLLING) {
-            Poller.instance().stopPolling(dev);
+            driver.getPoller().stopPolling(dev);
         }
     }
 
@@ -359,8 +357,8 @@ public class InsteonBinding {
         logger.debug("shutting down Insteon bridge");
         driver.stop();
         devices.clear();
-        RequestQueueManager.destroyInstance();
-        Poller.instance().stop();
+        driver.getRequestQueueManager().stop();
+        driver.getPoller().stop();
         isActive = false;
     }
 
@@ -437,7 +435,7 @@ public class InsteonBinding {
 
     public void logDeviceStatistics() {
         String msg = String.format("devices: %3d configured, %3d polling, msgs received: %5d", devices.size(),
-                Poller.instance().getSizeOfQueue(), messagesReceived);
+                driver.getPoller().getSizeOfQueue(), messagesReceived);
         logger.debug("{}", msg);
         messagesReceived = 0;
         for (InsteonDevice dev : devices.values()) {
@@ -497,7 +495,7 @@ public class InsteonBinding {
                             dev.setHasModemDBEntry(true);
                         }
                         if (dev.getStatus() != DeviceStatus.POLLING) {
-                            Poller.instance().startPolling(dev, dbes.size());
+                            driver.getPoller().startPolling(dev, dbes.size());
                         }
                     }
                 }
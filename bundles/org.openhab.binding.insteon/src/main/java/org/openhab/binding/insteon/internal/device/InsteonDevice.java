@@ -275,11 +275,11 @@ public class InsteonDevice {
                 mrequestQueue.add(e);
             }
         }
-        RequestQueueManager instance = RequestQueueManager.instance();
-        if (instance != null) {
-            instance.addQueue(this, now + delay);
+        Driver driver = this.driver;
+        if (driver != null) {
+            driver.getRequestQueueManager().addQueue(this, now + delay);
         } else {
-            logger.warn("request queue manager is null");
+            logger.warn("driver is null, can't queue request for {}", address);
         }
 
         if (!l.isEmpty()) {
@@ -435,7 +435,7 @@ public class InsteonDevice {
     }
 
     /**
-     * Called by the RequestQueueManager when the queue has expired
+     * Called by the RequestQueueManager of the driver when the queue has expired
      *
      * @param timeNow
      * @return time when to schedule the next message (timeNow + quietTime)
@@ -514,11 +514,11 @@ public class InsteonDevice {
             m.setQuietTime(QUIET_TIME_DIRECT_MESSAGE);
         }
         logger.trace("enqueing direct message with delay {}", delay);
-        RequestQueueManager instance = RequestQueueManager.instance();
-        if (instance != null) {
-            instance.addQueue(this, now + delay);
+        Driver driver = this.driver;
+        if (driver != null) {
+            driver.getRequestQueueManager().addQueue(this, now + delay);
         } else {
-            logger.warn("request queue manger instance is null");
+            logger.warn("driver is null, can't queue request for {}", address);
         }
     }
 
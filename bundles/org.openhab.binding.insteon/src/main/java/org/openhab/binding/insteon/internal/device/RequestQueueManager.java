@@ -16,15 +16,17 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.insteon.internal.InsteonBindingConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Class that manages all the per-device request queues using a single thread.
+ * Class that manages all the per-device request queues of a single modem.
  *
  * - Each device has its own request queue, and the RequestQueueManager keeps a
  * queue of queues.
@@ -33,34 +35,28 @@ import org.slf4j.LoggerFactory;
  * - A hash map (m_requestQueueHash) is kept in sync with m_requestQueues for
  * faster lookup in case a request queue is modified and needs to be
  * rescheduled.
+ * - Each modem (driver) has its own RequestQueueManager, so traffic to different
+ * modems is not serialized. The queues are processed on the scheduler of the
+ * network handler, at the time the head of the queue of queues expires.
  *
  * @author Bernd Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
  */
 @NonNullByDefault
 public class RequestQueueManager {
-    private static @Nullable RequestQueueManager instance = null;
     private final Logger logger = LoggerFactory.getLogger(RequestQueueManager.class);
-    private @Nullable Thread queueThread = null;
+    private final ScheduledExecutorService scheduler;
     private Queue<RequestQueue> requestQueues = new PriorityQueue<>();
     private Map<InsteonDevice, RequestQueue> requestQueueHash = new HashMap<>();
-    private boolean keepRunning = true;
+    private @Nullable ScheduledFuture<?> job = null;
+    private long jobTime = 0L;
 
-    private RequestQueueManager() {
-        queueThread = new Thread(new RequestQueueReader());
-        setParamsAndStart(queueThread);
-    }
-
-    private void setParamsAndStart(@Nullable Thread thread) {
-        if (thread != null) {
-            thread.setName("OH-binding-" + InsteonBindingConstants.BINDING_ID + "-requestQueueReader");
-            thread.setDaemon(true);
-            thread.start();
-        }
+    public RequestQueueManager(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
     }
 
     /**
-     * Add device to global request queue.
+     * Add device to request queue.
      *
      * @param dev the device to add
      * @param time the time when the queue should be processed
@@ -88,83 +84,87 @@ public class RequestQueueManager {
             // the expiration time
             requestQueues.add(q);
             requestQueueHash.put(dev, q);
-            requestQueues.notify();
+            scheduleJob();
         }
     }
 
     /**
-     * Stops request queue thread
+     * Stops processing the request queues and removes all queued requests
      */
-    private void stopThread() {
-        logger.debug("stopping thread");
-        Thread queueThread = this.queueThread;
-        if (queueThread != null) {
-            synchronized (requestQueues) {
-                keepRunning = false;
-                requestQueues.notifyAll();
+    public void stop() {
+        logger.debug("stopping request queue manager");
+        synchronized (requestQueues) {
+            ScheduledFuture<?> job = this.job;
+            if (job != null) {
+                job.cancel(false);
+                this.job = null;
             }
-            try {
-                logger.debug("waiting for thread to join");
-                queueThread.join();
-                logger.debug("request queue thread exited!");
-            } catch (InterruptedException e) {
-                logger.warn("got interrupted waiting for thread exit ", e);
+            requestQueues.clear();
+            requestQueueHash.clear();
+        }
+    }
+
+    /**
+     * Schedules the job processing the request queues at the time the head of the queue expires.
+     * Must be called while holding the requestQueues lock.
+     */
+    private void scheduleJob() {
+        RequestQueue q = requestQueues.peek();
+        if (q == null) {
+            logger.trace("waiting for request queues to fill");
+            return;
+        }
+        long expTime = q.getExpirationTime();
+        ScheduledFuture<?> job = this.job;
+        if (job != null && !job.isDone()) {
+            if (jobTime <= expTime) {
+                // already scheduled in time
+                return;
             }
-            this.queueThread = null;
+            job.cancel(false);
         }
+        long delay = Math.max(0L, expTime - System.currentTimeMillis());
+        logger.trace("request queue head: {} must wait for {} msec", q.getDevice().getAddress(), delay);
+        jobTime = expTime;
+        this.job = scheduler.schedule(this::processRequestQueues, delay, TimeUnit.MILLISECONDS);
     }
 
-    class RequestQueueReader implements Runnable {
-        @Override
-        public void run() {
-            logger.debug("starting request queue thread");
-            synchronized (requestQueues) {
-                while (keepRunning) {
-                    try {
-                        RequestQueue q;
-                        while (keepRunning && (q = requestQueues.peek()) != null) {
-                            long now = System.currentTimeMillis();
-                            long expTime = q.getExpirationTime();
-                            InsteonDevice dev = q.getDevice();
-                            if (expTime > now) {
-                                //
-                                // The head of the queue is not up for processing yet, wait().
-                                //
-                                logger.trace("request queue head: {} must wait for {} msec", dev.getAddress(),
-                                        expTime - now);
-                                requestQueues.wait(expTime - now);
-                                //
-                                // note that the wait() can also return because of changes to
-                                // the queue, not just because the time expired!
-                                //
-                                continue;
-                            }
-                            //
-                            // The head of the queue has expired and can be processed!
-                            //
-                            q = requestQueues.poll(); // remove front element
-                            requestQueueHash.remove(dev); // and remove from hash map
-                            long nextExp = dev.processRequestQueue(now);
-                            if (nextExp > 0) {
-                                q = new RequestQueue(dev, nextExp);
-                                requestQueues.add(q);
-                                requestQueueHash.put(dev, q);
-                                logger.trace("device queue for {} rescheduled in {} msec", dev.getAddress(),
-                                        nextExp - now);
-                            } else {
-                                // remove from hash since queue is no longer scheduled
-                                logger.debug("device queue for {} is empty!", dev.getAddress());
-                            }
-                        }
-                        logger.trace("waiting for request queues to fill");
-                        requestQueues.wait();
-                    } catch (InterruptedException e) {
-                        logger.warn("request queue thread got interrupted, breaking..", e);
+    /**
+     * Processes all request queues that have expired and schedules the job for the next one
+     */
+    private void processRequestQueues() {
+        synchronized (requestQueues) {
+            job = null;
+            try {
+                RequestQueue q;
+                while ((q = requestQueues.peek()) != null) {
+                    long now = System.currentTimeMillis();
+                    if (q.getExpirationTime() > now) {
+                        // The head of the queue is not up for processing yet
                         break;
                     }
+                    //
+                    // The head of the queue has expired and can be processed!
+                    //
+                    InsteonDevice dev = q.getDevice();
+                    requestQueues.poll(); // remove front element
+                    requestQueueHash.remove(dev); // and remove from hash map
+                    long nextExp = dev.processRequestQueue(now);
+                    if (nextExp > 0) {
+                        q = new RequestQueue(dev, nextExp);
+                        requestQueues.add(q);
+                        requestQueueHash.put(dev, q);
+                        logger.trace("device queue for {} rescheduled in {} msec", dev.getAddress(),
+                                nextExp - now);
+                    } else {
+                        // remove from hash since queue is no longer scheduled
+                        logger.debug("device queue for {} is empty!", dev.getAddress());
+                    }
                 }
+            } catch (RuntimeException e) {
+                logger.warn("processing of the request queues failed", e);
             }
-            logger.debug("exiting request queue thread!");
+            scheduleJob();
         }
     }
 
@@ -194,19 +194,4 @@ public class RequestQueueManager {
             return (int) (expirationTime - a.expirationTime);
         }
     }
-
-    public static synchronized @Nullable RequestQueueManager instance() {
-        if (instance == null) {
-            instance = new RequestQueueManager();
-        }
-        return instance;
-    }
-
-    public static synchronized void destroyInstance() {
-        RequestQueueManager instance = RequestQueueManager.instance;
-        if (instance != null) {
-            instance.stopThread();
-            RequestQueueManager.instance = null;
-        }
-    }
 }
@@ -21,12 +21,14 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.insteon.internal.device.InsteonAddress;
+import org.openhab.binding.insteon.internal.device.RequestQueueManager;
 import org.openhab.binding.insteon.internal.message.Msg;
 import org.openhab.binding.insteon.internal.message.MsgListener;
 import org.openhab.core.io.transport.serial.SerialPortManager;
 
 /**
- * The driver class manages the modem port.
+ * The driver class manages the modem port, and the request queues and poller of the devices
+ * connected through this modem.
  *
  * @author Bernd Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
@@ -38,6 +40,8 @@ public class Driver {
     private DriverListener listener;
     private Map<InsteonAddress, ModemDBEntry> modemDBEntries = new HashMap<>();
     private ReentrantLock modemDBEntriesLock = new ReentrantLock();
+    private RequestQueueManager requestQueueManager;
+    private Poller poller;
 
     public Driver(String portName, DriverListener listener, @Nullable SerialPortManager serialPortManager,
             ScheduledExecutorService scheduler) {
@@ -45,6 +49,16 @@ public class Driver {
         this.portName = portName;
 
         port = new Port(portName, this, serialPortManager, scheduler);
+        requestQueueManager = new RequestQueueManager(scheduler);
+        poller = new Poller(scheduler);
+    }
+
+    public RequestQueueManager getRequestQueueManager() {
+        return requestQueueManager;
+    }
+
+    public Poller getPoller() {
+        return poller;
     }
 
     public boolean isReady() {
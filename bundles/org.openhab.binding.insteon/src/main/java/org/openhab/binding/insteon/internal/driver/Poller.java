@@ -16,16 +16,18 @@ import java.sql.Date;
 import java.util.Iterator;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.insteon.internal.InsteonBindingConstants;
 import org.openhab.binding.insteon.internal.device.InsteonDevice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class manages the polling of all devices.
+ * This class manages the polling of all devices of a single modem.
  * Between successive polls of a any device there is a quiet time of
  * at least MIN_MSEC_BETWEEN_POLLS. This avoids bunching up of poll messages
  * and keeps the network bandwidth open for other messages.
@@ -37,6 +39,8 @@ import org.slf4j.LoggerFactory;
  * puts an entry into that devices request queue. So the Poller class actually never
  * sends out messages directly. That is done by the device itself via its request
  * queue. The poller just reminds the device to poll.
+ * - Each modem (driver) has its own poller. The poll queue is processed on the scheduler
+ * of the network handler, at the time the first entry of the poll queue expires.
  *
  * @author Bernd Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
@@ -46,16 +50,19 @@ public class Poller {
     private static final long MIN_MSEC_BETWEEN_POLLS = 2000L;
 
     private final Logger logger = LoggerFactory.getLogger(Poller.class);
-    private static Poller poller = new Poller(); // for singleton
+    private final ScheduledExecutorService scheduler;
 
-    private @Nullable Thread pollThread = null;
+    private @Nullable ScheduledFuture<?> job = null;
+    private long jobTime = 0L;
     private TreeSet<PQEntry> pollQueue = new TreeSet<>();
-    private boolean keepRunning = true;
 
     /**
      * Constructor
+     *
+     * @param scheduler the scheduler to process the poll queue on
      */
-    private Poller() {
+    public Poller(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
     }
 
     /**
@@ -81,7 +88,7 @@ public class Poller {
             int n = pollQueue.size();
             long pollDelay = n * d.getPollInterval() / (aNumDev > 0 ? aNumDev : 1);
             addToPollQueue(d, System.currentTimeMillis() + pollDelay);
-            pollQueue.notify();
+            scheduleJob();
         }
     }
 
@@ -102,43 +109,42 @@ public class Poller {
     }
 
     /**
-     * Starts the poller thread
+     * Stops polling all devices
      */
-    public void start() {
-        if (pollThread == null) {
-            pollThread = new Thread(new PollQueueReader());
-            setParamsAndStart(pollThread);
-        }
-    }
-
-    private void setParamsAndStart(@Nullable Thread thread) {
-        if (thread != null) {
-            thread.setName("OH-binding-" + InsteonBindingConstants.BINDING_ID + "-pollQueueReader");
-            thread.setDaemon(true);
-            thread.start();
+    public void stop() {
+        logger.debug("stopping poller!");
+        synchronized (pollQueue) {
+            pollQueue.clear();
+            ScheduledFuture<?> job = this.job;
+            if (job != null) {
+                job.cancel(false);
+                this.job = null;
+            }
         }
     }
 
     /**
-     * Stops the poller thread
+     * Schedules the job processing the poll queue at the time the first entry expires.
+     * Must be called while holding the pollQueue lock.
      */
-    public void stop() {
-        logger.debug("stopping poller!");
-        synchronized (pollQueue) {
-            pollQueue.clear();
-            keepRunning = false;
-            pollQueue.notify();
+    private void scheduleJob() {
+        if (pollQueue.isEmpty()) {
+            return;
         }
-        try {
-            Thread pollThread = this.pollThread;
-            if (pollThread != null) {
-                pollThread.join();
-                this.pollThread = null;
+        PQEntry pqe = pollQueue.first();
+        long expTime = pqe.getExpirationTime();
+        ScheduledFuture<?> job = this.job;
+        if (job != null && !job.isDone()) {
+            if (jobTime <= expTime) {
+                // already scheduled in time
+                return;
             }
-            keepRunning = true;
-        } catch (InterruptedException e) {
-            logger.debug("got interrupted on exit: {}", e.getMessage());
+            job.cancel(false);
         }
+        long delay = Math.max(0L, expTime - System.currentTimeMillis());
+        logger.trace("waiting for {} msec until {} comes due", delay, pqe);
+        jobTime = expTime;
+        this.job = scheduler.schedule(this::readPollQueue, delay, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -201,65 +207,36 @@ public class Poller {
         return expTime;
     }
 
-    private class PollQueueReader implements Runnable {
-        @Override
-        public void run() {
-            logger.debug("starting poll thread.");
-            synchronized (pollQueue) {
-                while (keepRunning) {
-                    try {
-                        readPollQueue();
-                    } catch (InterruptedException e) {
-                        logger.warn("poll queue reader thread interrupted!");
-                        break;
-                    }
+    /**
+     * Processes all entries of the poll queue that have expired and schedules the job for the next one
+     */
+    private void readPollQueue() {
+        synchronized (pollQueue) {
+            job = null;
+            try {
+                long now = System.currentTimeMillis();
+                while (!pollQueue.isEmpty() && pollQueue.first().getExpirationTime() <= now) {
+                    logger.trace("entry {} expired at time {}", pollQueue.first(), now);
+                    processQueue(now, pollQueue.pollFirst());
                 }
+            } catch (RuntimeException e) {
+                logger.warn("processing of the poll queue failed", e);
             }
-            logger.debug("poll thread exiting");
-        }
-
-        /**
-         * Waits for first element of poll queue to become current,
-         * then process it.
-         *
-         * @throws InterruptedException
-         */
-        private void readPollQueue() throws InterruptedException {
-            while (pollQueue.isEmpty() && keepRunning) {
-                pollQueue.wait();
-            }
-            if (!keepRunning) {
-                return;
-            }
-            // something is in the queue
-            long now = System.currentTimeMillis();
-            PQEntry pqe = pollQueue.first();
-            long tfirst = pqe.getExpirationTime();
-            long dt = tfirst - now;
-            if (dt > 0) { // must wait for this item to expire
-                logger.trace("waiting for {} msec until {} comes due", dt, pqe);
-                pollQueue.wait(dt);
-            } else { // queue entry has expired, process it!
-                logger.trace("entry {} expired at time {}", pqe, now);
-                processQueue(now);
-            }
-        }
-
-        /**
-         * Takes first element off the poll queue, polls the corresponding device,
-         * and puts the device back into the poll queue to be polled again later.
-         *
-         * @param now the current time
-         */
-        private void processQueue(long now) {
-            processQueue(now, pollQueue.pollFirst());
+            scheduleJob();
         }
+    }
 
-        private void processQueue(long now, @Nullable PQEntry pqe) {
-            if (pqe != null) {
-                pqe.getDevice().doPoll(0);
-                addToPollQueue(pqe.getDevice(), now + pqe.getDevice().getPollInterval());
-            }
+    /**
+     * Takes first element off the poll queue, polls the corresponding device,
+     * and puts the device back into the poll queue to be polled again later.
+     *
+     * @param now the current time
+     * @param pqe the poll queue entry that expired
+     */
+    private void processQueue(long now, @Nullable PQEntry pqe) {
+        if (pqe != null) {
+            pqe.getDevice().doPoll(0);
+            addToPollQueue(pqe.getDevice(), now + pqe.getDevice().getPollInterval());
         }
     }
 
@@ -297,14 +274,4 @@ public class Poller {
             return dev.getAddress().toString() + "/" + String.format("%tc", new Date(expirationTime));
         }
     }
-
-    /**
-     * Singleton pattern instance() method
-     *
-     * @return the poller instance
-     */
-    public static synchronized Poller instance() {
-        poller.start();
-        return (poller);
-    }
 }
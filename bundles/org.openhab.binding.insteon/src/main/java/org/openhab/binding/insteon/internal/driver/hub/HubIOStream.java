@@ -22,17 +22,25 @@ import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.insteon.internal.InsteonBindingConstants;
 import org.openhab.binding.insteon.internal.driver.IOStream;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Implements IOStream for a Hub 2014 device
  *
+ * The status buffer of the hub is polled on a dedicated thread, as the http requests block. While commands are in
+ * flight or data is received the hub is polled more frequently, when idle the poll time backs off to the configured
+ * poll time.
+ *
  * @author Daniel Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
  *
@@ -44,18 +52,33 @@ public class HubIOStream extends IOStream implements Runnable {
     private static final String BS_START = "<BS>";
     private static final String BS_END = "</BS>";
 
-    /** time between polls (in milliseconds */
+    /** minimum time between polls while active (in milliseconds) */
+    private static final int MIN_POLL_TIME = 100;
+
+    /** time after the last write or received data during which the hub is polled at the fast rate (in milliseconds) */
+    private static final int ACTIVE_PERIOD = 5000;
+
+    /** time between polls when idle (in milliseconds */
     private int pollTime = 1000;
 
+    /** time between polls while active (in milliseconds) */
+    private int fastPollTime;
+
+    /** current time between polls (in milliseconds) */
+    private int currentPollTime;
+
+    private volatile long lastActivity = 0L;
+
     private String baseUrl;
     private @Nullable String auth = null;
 
-    private @Nullable Thread pollThread = null;
+    private @Nullable ScheduledExecutorService pollExecutor = null;
+    private @Nullable ScheduledFuture<?> pollJob = null;
 
     // index of the last byte we have read in the buffer
     private int bufferIdx = -1;
 
-    private boolean polling;
+    private volatile boolean polling;
 
     /**
      * Constructor for HubIOStream
@@ -68,6 +91,8 @@ public class HubIOStream extends IOStream implements Runnable {
      */
     public HubIOStream(String host, int port, int pollTime, @Nullable String user, @Nullable String pass) {
         this.pollTime = pollTime;
+        this.fastPollTime = Math.min(pollTime, Math.max(MIN_POLL_TIME, pollTime / 4));
+        this.currentPollTime = pollTime;
 
         StringBuilder s = new StringBuilder();
         s.append("http://");
@@ -94,27 +119,51 @@ public class HubIOStream extends IOStream implements Runnable {
         in = new HubInputStream();
         out = new HubOutputStream();
 
-        polling = true;
-        pollThread = new Thread(this);
-        setParamsAndStart(pollThread);
+        synchronized (this) {
+            polling = true;
+            currentPollTime = pollTime;
+            pollExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("insteon-hub", true));
+            schedulePoll(0);
+        }
 
         return true;
     }
 
-    private void setParamsAndStart(@Nullable Thread thread) {
-        if (thread != null) {
-            thread.setName("OH-binding-" + InsteonBindingConstants.BINDING_ID + "-hubPoller");
-            thread.setDaemon(true);
-            thread.start();
+    private synchronized void schedulePoll(long delay) {
+        ScheduledExecutorService pollExecutor = this.pollExecutor;
+        if (polling && pollExecutor != null) {
+            pollJob = pollExecutor.schedule(this, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Makes sure the hub is polled at the fast rate. If the next poll is scheduled later, it is rescheduled.
+     */
+    private synchronized void pollSoon() {
+        lastActivity = System.currentTimeMillis();
+        currentPollTime = fastPollTime;
+        ScheduledFuture<?> pollJob = this.pollJob;
+        if (pollJob != null && pollJob.getDelay(TimeUnit.MILLISECONDS) > fastPollTime && pollJob.cancel(false)) {
+            schedulePoll(fastPollTime);
         }
     }
 
     @Override
     public void close() {
-        polling = false;
+        synchronized (this) {
+            polling = false;
 
-        if (pollThread != null) {
-            pollThread = null;
+            ScheduledFuture<?> pollJob = this.pollJob;
+            if (pollJob != null) {
+                pollJob.cancel(false);
+                this.pollJob = null;
+            }
+
+            ScheduledExecutorService pollExecutor = this.pollExecutor;
+            if (pollExecutor != null) {
+                pollExecutor.shutdownNow();
+                this.pollExecutor = null;
+            }
         }
 
         InputStream in = this.in;
@@ -189,6 +238,8 @@ public class HubIOStream extends IOStream implements Runnable {
         logger.trace("writing a message");
         getURL("/3?" + hexMSG + "=I=3");
         bufferIdx = 0;
+        // a response is expected, poll at the fast rate
+        pollSoon();
     }
 
     /**
@@ -242,6 +293,7 @@ public class HubIOStream extends IOStream implements Runnable {
             logger.trace("no wrap:      appending new data: {}", msg.toString());
         }
         if (msg.length() != 0) {
+            lastActivity = System.currentTimeMillis();
             ByteBuffer buf = ByteBuffer.wrap(hexStringToByteArray(msg.toString()));
             InputStream in = this.in;
             if (in != null) {
@@ -316,22 +368,34 @@ public class HubIOStream extends IOStream implements Runnable {
     }
 
     /**
-     * Entry point for thread
+     * Entry point for the scheduled poll job
      */
     @Override
     public void run() {
-        while (polling) {
-            try {
-                poll();
-            } catch (IOException e) {
-                logger.warn("got exception while polling: {}", e.toString());
-            }
-            try {
-                Thread.sleep(pollTime);
-            } catch (InterruptedException e) {
-                break;
-            }
+        if (!polling) {
+            return;
+        }
+        try {
+            poll();
+        } catch (IOException e) {
+            logger.warn("got exception while polling: {}", e.toString());
+        }
+        schedulePoll(nextPollTime());
+    }
+
+    /**
+     * Determines the time until the next poll. While active the fast poll time is used, when idle
+     * the poll time is doubled after each poll until the configured poll time is reached.
+     *
+     * @return time until the next poll (in milliseconds)
+     */
+    private synchronized int nextPollTime() {
+        if (System.currentTimeMillis() - lastActivity < ACTIVE_PERIOD) {
+            currentPollTime = fastPollTime;
+        } else {
+            currentPollTime = Math.min(pollTime, currentPollTime * 2);
         }
+        return currentPollTime;
     }
 
     /**
@@ -36,6 +36,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public abstract class KaleidescapeConnector {
+    public static final byte[] READ_ERROR = "read_error".getBytes(StandardCharsets.US_ASCII);
+    public static final String KEY_ERROR = "error";
+
     private static final String SUCCESS_MSG = "01/1/000:/89";
     private static final String BEGIN_CMD = "01/1/";
     private static final String END_CMD = ":\r";
@@ -101,6 +104,10 @@ public abstract class KaleidescapeConnector {
      */
     protected void cleanup() {
         Thread readerThread = this.readerThread;
+        if (readerThread != null) {
+            // interrupt first, so the reader thread doesn't report the closed streams as a read error
+            readerThread.interrupt();
+        }
         OutputStream dataOut = this.dataOut;
         if (dataOut != null) {
             try {
@@ -120,8 +127,11 @@ public abstract class KaleidescapeConnector {
             this.dataIn = null;
         }
         if (readerThread != null) {
-            readerThread.interrupt();
             this.readerThread = null;
+            if (readerThread == Thread.currentThread()) {
+                // the reader thread closes the connection itself after a read error
+                return;
+            }
             try {
                 readerThread.join(3000);
             } catch (InterruptedException e) {
@@ -232,6 +242,11 @@ public abstract class KaleidescapeConnector {
      * @param incomingMessage the received message
      */
     public void handleIncomingMessage(byte[] incomingMessage) {
+        if (READ_ERROR.equals(incomingMessage)) {
+            dispatchKeyValue(KEY_ERROR, "", false);
+            return;
+        }
+
         String message = new String(incomingMessage, StandardCharsets.US_ASCII).trim();
 
         // ignore empty success messages
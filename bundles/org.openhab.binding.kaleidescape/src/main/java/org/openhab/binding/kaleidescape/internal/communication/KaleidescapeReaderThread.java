@@ -79,6 +79,9 @@ public class KaleidescapeReaderThread extends Thread {
             }
         } catch (KaleidescapeException e) {
             logger.debug("Reading failed: {}", e.getMessage(), e);
+            if (!isInterrupted()) {
+                connector.handleIncomingMessage(KaleidescapeConnector.READ_ERROR);
+            }
         }
 
         logger.debug("Data listener stopped");
@@ -289,6 +289,13 @@ public class KaleidescapeHandler extends BaseThingHandler implements Kaleidescap
 
     @Override
     public void onNewMessageEvent(KaleidescapeMessageEvent evt) {
+        if (KaleidescapeConnector.KEY_ERROR.equals(evt.getKey())) {
+            logger.debug("Reading feedback message failed");
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "Reading thread ended");
+            closeConnection();
+            return;
+        }
+
         lastEventReceived = System.currentTimeMillis();
 
         // check if we are in standby
@@ -21,6 +21,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,8 +42,9 @@ import org.openhab.binding.loxone.internal.types.LxConfig.LxServerInfo;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
 import org.openhab.binding.loxone.internal.types.LxState;
-import org.openhab.binding.loxone.internal.types.LxStateUpdate;
+import org.openhab.binding.loxone.internal.types.LxStateTable;
 import org.openhab.binding.loxone.internal.types.LxUuid;
+import org.openhab.binding.loxone.internal.types.LxUuidMap;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -86,7 +88,12 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // State with a unique UUID can be configured in many controls and each control can even have a different name of
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
-    private Map<LxUuid, Map<LxUuid, LxState>> states = new HashMap<>();
+    // The map is keyed by UUID bits, so event tables can be applied without creating UUID objects for each entry.
+    private final LxUuidMap<Map<LxUuid, LxState>> states = new LxUuidMap<>();
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private boolean processingStateTable;
+    // Channel states set by controls while an event table is applied, updated at the end of the table
+    private final Map<ChannelUID, State> pendingChannelStates = new LinkedHashMap<>();
 
     private LxWebSocket socket;
     private WebSocketClient wsClient;
@@ -99,7 +106,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // Data structures
     private final Map<LxUuid, LxControl> controls = new HashMap<>();
     private final Map<ChannelUID, LxControl> channels = new HashMap<>();
-    private final BlockingQueue<LxStateUpdate> stateUpdateQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<LxStateTable> stateUpdateQueue = new LinkedBlockingQueue<>();
 
     private LxDynamicStateDescriptionProvider dynamicStateDescriptionProvider;
     private final Logger logger = LoggerFactory.getLogger(LxServerHandler.class);
@@ -262,16 +269,21 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         logger.debug("[{}] Removing control: {}", debugId, control.getName());
         control.getSubControls().values().forEach(subControl -> removeControl(subControl));
         LxUuid controlUuid = control.getUuid();
-        control.getStates().values().forEach(state -> {
-            LxUuid stateUuid = state.getUuid();
-            Map<LxUuid, LxState> perUuid = states.get(stateUuid);
-            if (perUuid != null) {
-                perUuid.remove(controlUuid);
-                if (perUuid.isEmpty()) {
-                    states.remove(stateUuid);
+        stateLock.lock();
+        try {
+            control.getStates().values().forEach(state -> {
+                LxUuid stateUuid = state.getUuid();
+                Map<LxUuid, LxState> perUuid = states.get(stateUuid);
+                if (perUuid != null) {
+                    perUuid.remove(controlUuid);
+                    if (perUuid.isEmpty()) {
+                        states.remove(stateUuid);
+                    }
                 }
-            }
-        });
+            });
+        } finally {
+            stateLock.unlock();
+        }
 
         ThingBuilder builder = editThing();
         control.getChannels().forEach(channel -> {
@@ -292,7 +304,12 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      */
     @Override
     public void setChannelState(ChannelUID channelId, State state) {
-        updateState(channelId, state);
+        if (stateLock.isHeldByCurrentThread() && processingStateTable) {
+            // an event table is being applied, only the last state of the channel will be updated
+            pendingChannelStates.put(channelId, state);
+        } else {
+            updateState(channelId, state);
+        }
     }
 
     /*
@@ -365,7 +382,12 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     void clearConfiguration() {
         controls.clear();
         channels.clear();
-        states.clear();
+        stateLock.lock();
+        try {
+            states.clear();
+        } finally {
+            stateLock.unlock();
+        }
         dynamicStateDescriptionProvider.removeAllDescriptions();
     }
 
@@ -458,28 +480,46 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     }
 
     /**
-     * Put a new state update event to the queue for processing and signal thread to process it
+     * Put a new table of state updates to the queue for processing and signal thread to process it
      *
-     * @param uuid state uuid (null indicates websocket session should be closed)
-     * @param value new state value
+     * @param table state updates received in a single event table
      */
-    void queueStateUpdate(LxUuid uuid, Object value) {
-        stateUpdateQueue.add(new LxStateUpdate(uuid, value));
+    void queueStateUpdates(LxStateTable table) {
+        stateUpdateQueue.add(table);
     }
 
     /**
-     * Update to the new value of a state received from Miniserver. This method will go through all instances of this
-     * state UUID and update their value, which will trigger corresponding control state update method in each control
-     * that has this state.
+     * Update to the new values of states received from Miniserver in an event table. This method will go through all
+     * instances of each state UUID and update their value, which will trigger corresponding control state update method
+     * in each control that has this state. All entries are applied under a single lock and channels changed by the
+     * controls are updated once, with their final state, after the whole table is applied.
      *
-     * @param update Miniserver's update event
+     * @param table Miniserver's event table
      */
-    private void updateStateValue(LxStateUpdate update) {
-        Map<LxUuid, LxState> perStateUuid = states.get(update.getUuid());
-        if (perStateUuid != null) {
-            perStateUuid.forEach((controlUuid, state) -> {
-                state.setStateValue(update.getValue());
-            });
+    private void updateStateValues(LxStateTable table) {
+        stateLock.lock();
+        try {
+            processingStateTable = true;
+            int size = table.size();
+            for (int i = 0; i < size; i++) {
+                Map<LxUuid, LxState> perStateUuid = states.get(table.getMostSignificantBits(i),
+                        table.getLeastSignificantBits(i));
+                if (perStateUuid != null) {
+                    for (LxState state : perStateUuid.values()) {
+                        if (table.isText()) {
+                            state.setStateValue(table.getText(i));
+                        } else {
+                            state.setStateValue(table.getValue(i));
+                        }
+                    }
+                }
+            }
+            processingStateTable = false;
+            pendingChannelStates.forEach(this::updateState);
+        } finally {
+            processingStateTable = false;
+            pendingChannelStates.clear();
+            stateLock.unlock();
         }
     }
 
@@ -496,14 +536,19 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     private void addControlStructures(LxControl control) {
         LxUuid uuid = control.getUuid();
         logger.debug("[{}] Adding control to handler: {}, {}", debugId, uuid, control.getName());
-        control.getStates().values().forEach(state -> {
-            Map<LxUuid, LxState> perUuid = states.get(state.getUuid());
-            if (perUuid == null) {
-                perUuid = new HashMap<>();
-                states.put(state.getUuid(), perUuid);
-            }
-            perUuid.put(uuid, state);
-        });
+        stateLock.lock();
+        try {
+            control.getStates().values().forEach(state -> {
+                Map<LxUuid, LxState> perUuid = states.get(state.getUuid());
+                if (perUuid == null) {
+                    perUuid = new HashMap<>();
+                    states.put(state.getUuid(), perUuid);
+                }
+                perUuid.put(uuid, state);
+            });
+        } finally {
+            stateLock.unlock();
+        }
         controls.put(control.getUuid(), control);
         control.getChannels().forEach(channel -> channels.put(channel.getUID(), control));
         control.getSubControls().values().forEach(subControl -> addControlStructures(subControl));
@@ -664,14 +709,14 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         private void processStateUpdates() throws InterruptedException {
             while (sessionActive.get()) {
                 logger.debug("[{}] Sleeping for {} seconds.", debugId, bindingConfig.keepAlivePeriod - elapsed);
-                LxStateUpdate update = stateUpdateQueue.poll(bindingConfig.keepAlivePeriod - elapsed, TimeUnit.SECONDS);
+                LxStateTable update = stateUpdateQueue.poll(bindingConfig.keepAlivePeriod - elapsed, TimeUnit.SECONDS);
                 elapsed = Duration.between(lastKeepAlive, Instant.now()).getSeconds();
                 if (update == null || elapsed >= bindingConfig.keepAlivePeriod) {
                     sendKeepAlive();
                     elapsed = 0;
                 }
                 if (update != null) {
-                    updateStateValue(update);
+                    updateStateValues(update);
                 }
             }
         }
@@ -39,6 +39,7 @@ import org.openhab.binding.loxone.internal.security.LxWsSecurity;
 import org.openhab.binding.loxone.internal.types.LxConfig;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
+import org.openhab.binding.loxone.internal.types.LxStateTable;
 import org.openhab.binding.loxone.internal.types.LxUuid;
 import org.openhab.binding.loxone.internal.types.LxWsBinaryHeader;
 import org.openhab.binding.loxone.internal.types.LxWsSecurityType;
@@ -237,24 +238,30 @@ public class LxWebSocket {
                 switch (header.getType()) {
                     case EVENT_TABLE_OF_VALUE_STATES:
                         stopResponseTimeout();
+                        ByteBuffer values = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+                        LxStateTable valueTable = LxStateTable.forValues((length + 23) / 24);
                         while (length > 0) {
-                            Double value = ByteBuffer.wrap(data, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN)
-                                    .getDouble();
-                            thingHandler.queueStateUpdate(new LxUuid(data, offset), value);
+                            valueTable.addValue(LxUuid.getMostSignificantBits(data, offset),
+                                    LxUuid.getLeastSignificantBits(data, offset), values.getDouble(offset + 16));
                             offset += 24;
                             length -= 24;
                         }
+                        thingHandler.queueStateUpdates(valueTable);
                         break;
                     case EVENT_TABLE_OF_TEXT_STATES:
+                        ByteBuffer texts = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+                        LxStateTable textTable = LxStateTable.forTexts((length + 35) / 36);
                         while (length > 0) {
                             // unused today at (offset + 16): iconUuid
-                            int textLen = ByteBuffer.wrap(data, offset + 32, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+                            int textLen = texts.getInt(offset + 32);
                             String value = new String(data, offset + 36, textLen);
                             int size = 36 + (textLen % 4 > 0 ? textLen + 4 - (textLen % 4) : textLen);
-                            thingHandler.queueStateUpdate(new LxUuid(data, offset), value);
+                            textTable.addText(LxUuid.getMostSignificantBits(data, offset),
+                                    LxUuid.getLeastSignificantBits(data, offset), value);
                             offset += size;
                             length -= size;
                         }
+                        thingHandler.queueStateUpdates(textTable);
                         break;
                     case KEEPALIVE_RESPONSE:
                     case TEXT_MESSAGE:
@@ -72,6 +72,20 @@ public class LxState {
         }
     }
 
+    /**
+     * Sets current value of the control's state received in an event table from the Miniserver. The value is boxed and
+     * the control is notified only if the value differs from the current value.
+     *
+     * @param value current state's value to set
+     */
+    public void setStateValue(double value) {
+        Object current = stateValue;
+        if (current instanceof Double && Double.compare((Double) current, value) == 0) {
+            return;
+        }
+        setStateValue(Double.valueOf(value));
+    }
+
     /**
      * Gets current value of the control's state
      *
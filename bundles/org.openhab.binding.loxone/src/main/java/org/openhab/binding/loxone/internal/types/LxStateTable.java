@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A table of state updates received from the Miniserver in a single event table message. It is used to defer and
+ * queue processing of Loxone state updates, so they are not processed in the websocket thread.
+ * <p>
+ * State UUIDs are kept as their 128 bits and values of value states as primitives, so no objects are created for each
+ * of the potentially thousands of entries in a table.
+ *
+ * @author agent - initial contribution
+ *
+ */
+@NonNullByDefault
+public class LxStateTable {
+    private final long[] mostSignificantBits;
+    private final long[] leastSignificantBits;
+    private final boolean text;
+    private final double[] values;
+    private final @Nullable String[] texts;
+    private int size;
+
+    private LxStateTable(int capacity, boolean text) {
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        this.text = text;
+        values = new double[text ? 0 : capacity];
+        texts = new String[text ? capacity : 0];
+    }
+
+    /**
+     * Creates a table for updates of value states.
+     *
+     * @param capacity maximum number of entries
+     * @return new table
+     */
+    public static LxStateTable forValues(int capacity) {
+        return new LxStateTable(capacity, false);
+    }
+
+    /**
+     * Creates a table for updates of text states.
+     *
+     * @param capacity maximum number of entries
+     * @return new table
+     */
+    public static LxStateTable forTexts(int capacity) {
+        return new LxStateTable(capacity, true);
+    }
+
+    /**
+     * Adds an update of a value state.
+     *
+     * @param msb most significant 64 bits of the state UUID
+     * @param lsb least significant 64 bits of the state UUID
+     * @param value new value of the state
+     */
+    public void addValue(long msb, long lsb, double value) {
+        values[size] = value;
+        add(msb, lsb);
+    }
+
+    /**
+     * Adds an update of a text state.
+     *
+     * @param msb most significant 64 bits of the state UUID
+     * @param lsb least significant 64 bits of the state UUID
+     * @param text new value of the state
+     */
+    public void addText(long msb, long lsb, String text) {
+        texts[size] = text;
+        add(msb, lsb);
+    }
+
+    private void add(long msb, long lsb) {
+        mostSignificantBits[size] = msb;
+        leastSignificantBits[size] = lsb;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isText() {
+        return text;
+    }
+
+    public long getMostSignificantBits(int index) {
+        return mostSignificantBits[index];
+    }
+
+    public long getLeastSignificantBits(int index) {
+        return leastSignificantBits[index];
+    }
+
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    public String getText(int index) {
+        String text = texts[index];
+        return text != null ? text : "";
+    }
+}
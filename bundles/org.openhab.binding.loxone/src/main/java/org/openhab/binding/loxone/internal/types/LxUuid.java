@@ -33,6 +33,9 @@ import com.google.gson.JsonParseException;
 public class LxUuid {
     private final String uuid;
     private final String uuidOriginal;
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    private final boolean numeric;
 
     public static final JsonDeserializer<LxUuid> DESERIALIZER = new JsonDeserializer<LxUuid>() {
         @Override
@@ -54,9 +57,21 @@ public class LxUuid {
     public LxUuid(String uuid) {
         uuidOriginal = uuid;
         this.uuid = init(uuid);
+        numeric = isNumeric(this.uuid);
+        if (numeric) {
+            mostSignificantBits = Long.parseUnsignedLong(
+                    this.uuid.substring(0, 8) + this.uuid.substring(9, 13) + this.uuid.substring(14, 18), 16);
+            leastSignificantBits = Long.parseUnsignedLong(this.uuid.substring(19), 16);
+        } else {
+            mostSignificantBits = 0;
+            leastSignificantBits = 0;
+        }
     }
 
     public LxUuid(byte data[], int offset) {
+        mostSignificantBits = getMostSignificantBits(data, offset);
+        leastSignificantBits = getLeastSignificantBits(data, offset);
+        numeric = true;
         String id = String.format("%08x-%04x-%04x-%02x%02x%02x%02x%02x%02x%02x%02x",
                 ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt(),
                 ByteBuffer.wrap(data, offset + 4, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(),
@@ -67,10 +82,87 @@ public class LxUuid {
         this.uuid = init(id);
     }
 
+    /**
+     * Computes the most significant 64 bits of an UUID received in a binary message from the Miniserver. The bits are
+     * equal to {@link #getMostSignificantBits()} of an {@link LxUuid} object created from the same data.
+     *
+     * @param data binary message
+     * @param offset offset of the UUID in the message
+     * @return most significant 64 bits of the UUID
+     */
+    public static long getMostSignificantBits(byte data[], int offset) {
+        // little endian 32-bit, 16-bit and 16-bit fields
+        return (data[offset + 3] & 0xFFL) << 56 | (data[offset + 2] & 0xFFL) << 48 | (data[offset + 1] & 0xFFL) << 40
+                | (data[offset] & 0xFFL) << 32 | (data[offset + 5] & 0xFFL) << 24 | (data[offset + 4] & 0xFFL) << 16
+                | (data[offset + 7] & 0xFFL) << 8 | (data[offset + 6] & 0xFFL);
+    }
+
+    /**
+     * Computes the least significant 64 bits of an UUID received in a binary message from the Miniserver. The bits are
+     * equal to {@link #getLeastSignificantBits()} of an {@link LxUuid} object created from the same data.
+     *
+     * @param data binary message
+     * @param offset offset of the UUID in the message
+     * @return least significant 64 bits of the UUID
+     */
+    public static long getLeastSignificantBits(byte data[], int offset) {
+        // 8 bytes in the order of transmission
+        long bits = 0;
+        for (int i = offset + 8; i < offset + 16; i++) {
+            bits = (bits << 8) | (data[i] & 0xFFL);
+        }
+        return bits;
+    }
+
     private String init(String uuid) {
         return uuidOriginal.replaceAll("[^a-zA-Z0-9-]", "-").toUpperCase();
     }
 
+    private static boolean isNumeric(String uuid) {
+        if (uuid.length() != 35) {
+            return false;
+        }
+        for (int i = 0; i < uuid.length(); i++) {
+            char c = uuid.charAt(i);
+            if (i == 8 || i == 13 || i == 18) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the UUID has the form used by the Miniserver in binary messages, in which case it is fully represented
+     * by {@link #getMostSignificantBits()} and {@link #getLeastSignificantBits()}.
+     *
+     * @return true if UUID is represented by its 128 bits
+     */
+    public boolean isNumeric() {
+        return numeric;
+    }
+
+    /**
+     * Returns the most significant 64 bits of the UUID. Valid only if {@link #isNumeric()} returns true.
+     *
+     * @return most significant 64 bits of the UUID
+     */
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    /**
+     * Returns the least significant 64 bits of the UUID. Valid only if {@link #isNumeric()} returns true.
+     *
+     * @return least significant 64 bits of the UUID
+     */
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A map of {@link LxUuid} to objects, that can be queried directly with the 128 bits of an UUID received in a binary
+ * message from the Miniserver, without creating an {@link LxUuid} object.
+ * <p>
+ * Numeric UUIDs are stored in an open-addressing hash table with linear probing. UUIDs that can't be represented by
+ * their bits are kept in a regular map. This class is not thread-safe.
+ *
+ * @author agent - initial contribution
+ *
+ * @param <V> type of mapped values
+ */
+@NonNullByDefault
+public class LxUuidMap<V> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] mostSignificantBits = new long[INITIAL_CAPACITY];
+    private long[] leastSignificantBits = new long[INITIAL_CAPACITY];
+    private @Nullable Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+    private final Map<LxUuid, V> others = new HashMap<>();
+
+    /**
+     * Gets the value mapped to an UUID.
+     *
+     * @param uuid UUID to look up
+     * @return mapped value or null if not found
+     */
+    public @Nullable V get(LxUuid uuid) {
+        if (!uuid.isNumeric()) {
+            return others.get(uuid);
+        }
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Gets the value mapped to an UUID given by its bits.
+     *
+     * @param msb most significant 64 bits of the UUID
+     * @param lsb least significant 64 bits of the UUID
+     * @return mapped value or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long msb, long lsb) {
+        int index = find(msb, lsb);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Maps a value to an UUID, replacing a previously mapped value.
+     *
+     * @param uuid UUID to map the value to
+     * @param value value to map (not null)
+     */
+    public void put(LxUuid uuid, V value) {
+        if (!uuid.isNumeric()) {
+            others.put(uuid, value);
+            return;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int index = find(msb, lsb);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        if ((size + 1) * 2 > values.length) {
+            resize(values.length * 2);
+        }
+        insert(msb, lsb, value);
+        size++;
+    }
+
+    /**
+     * Removes the value mapped to an UUID.
+     *
+     * @param uuid UUID to remove
+     */
+    public void remove(LxUuid uuid) {
+        if (!uuid.isNumeric()) {
+            others.remove(uuid);
+            return;
+        }
+        int index = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index < 0) {
+            return;
+        }
+        // backward shift deletion keeps probe sequences intact without tombstones
+        int mask = values.length - 1;
+        int hole = index;
+        int next = index;
+        while (true) {
+            next = (next + 1) & mask;
+            if (values[next] == null) {
+                break;
+            }
+            int home = slot(mostSignificantBits[next], leastSignificantBits[next], mask);
+            boolean keep = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!keep) {
+                mostSignificantBits[hole] = mostSignificantBits[next];
+                leastSignificantBits[hole] = leastSignificantBits[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        values[hole] = null;
+        size--;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+        others.clear();
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return number of mappings
+     */
+    public int size() {
+        return size + others.size();
+    }
+
+    private int find(long msb, long lsb) {
+        int mask = values.length - 1;
+        int index = slot(msb, lsb, mask);
+        while (values[index] != null) {
+            if (mostSignificantBits[index] == msb && leastSignificantBits[index] == lsb) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long msb, long lsb, Object value) {
+        int mask = values.length - 1;
+        int index = slot(msb, lsb, mask);
+        while (values[index] != null) {
+            index = (index + 1) & mask;
+        }
+        mostSignificantBits[index] = msb;
+        leastSignificantBits[index] = lsb;
+        values[index] = value;
+    }
+
+    private void resize(int capacity) {
+        long[] oldMsb = mostSignificantBits;
+        long[] oldLsb = leastSignificantBits;
+        @Nullable
+        Object[] oldValues = values;
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        values = new Object[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                insert(oldMsb[i], oldLsb[i], value);
+            }
+        }
+    }
+
+    private static int slot(long msb, long lsb, int mask) {
+        long hash = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
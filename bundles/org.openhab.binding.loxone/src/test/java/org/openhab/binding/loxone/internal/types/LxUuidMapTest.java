@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link LxUuidMap}
+ *
+ * @author agent - initial contribution
+ *
+ */
+public class LxUuidMapTest {
+    // little endian binary form of 0f2f6b5d-0349-83b1-ffff403fb0c34b9e
+    private static final byte[] BINARY_UUID = { 0x5d, 0x6b, 0x2f, 0x0f, 0x49, 0x03, (byte) 0xb1, (byte) 0x83,
+            (byte) 0xff, (byte) 0xff, 0x40, 0x3f, (byte) 0xb0, (byte) 0xc3, 0x4b, (byte) 0x9e };
+
+    @Test
+    public void testBinaryAndStringUuidsMatch() {
+        LxUuid text = new LxUuid("0f2f6b5d-0349-83b1-ffff403fb0c34b9e");
+        LxUuid binary = new LxUuid(BINARY_UUID, 0);
+
+        assertEquals(text, binary);
+        assertTrue(text.isNumeric());
+        assertTrue(binary.isNumeric());
+        assertEquals(text.getMostSignificantBits(), binary.getMostSignificantBits());
+        assertEquals(text.getLeastSignificantBits(), binary.getLeastSignificantBits());
+        assertEquals(text.getMostSignificantBits(), LxUuid.getMostSignificantBits(BINARY_UUID, 0));
+        assertEquals(text.getLeastSignificantBits(), LxUuid.getLeastSignificantBits(BINARY_UUID, 0));
+    }
+
+    @Test
+    public void testNonNumericUuid() {
+        LxUuidMap<String> map = new LxUuidMap<>();
+        LxUuid uuid = new LxUuid("0f2f6b5d-0349-83b1-ffff403fb0c34b9e-AI1");
+
+        assertFalse(uuid.isNumeric());
+        map.put(uuid, "value");
+        assertEquals("value", map.get(new LxUuid("0f2f6b5d-0349-83b1-ffff403fb0c34b9e-AI1")));
+        map.remove(uuid);
+        assertNull(map.get(uuid));
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        LxUuidMap<Integer> map = new LxUuidMap<>();
+        List<LxUuid> uuids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            LxUuid uuid = new LxUuid(String.format("%08x-0349-83b1-ffff403fb0c3%04x", i * 7919, i));
+            uuids.add(uuid);
+            map.put(uuid, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < uuids.size(); i++) {
+            LxUuid uuid = uuids.get(i);
+            assertEquals(i, map.get(uuid));
+            assertEquals(i, map.get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+        }
+        for (int i = 0; i < uuids.size(); i += 2) {
+            map.remove(uuids.get(i));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < uuids.size(); i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get(uuids.get(i)));
+            } else {
+                assertEquals(i, map.get(uuids.get(i)));
+            }
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(uuids.get(1)));
+    }
+}
@@ -14,12 +14,15 @@ package org.openhab.binding.modbus.internal;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.osgi.framework.BundleContext;
+import org.openhab.core.transform.TransformationService;
 
 /**
  * The {@link CascadedValueTransformationImpl} implements {@link SingleValueTransformation for a cascaded set of
@@ -30,8 +33,39 @@ import org.osgi.framework.BundleContext;
  */
 @NonNullByDefault
 public class CascadedValueTransformationImpl implements ValueTransformation {
+    /** Maximum number of parsed transformations that are kept */
+    static final int MAX_PARSED = 1000; // Visible for testing
+
+    /**
+     * Most recently used parsed transformations by their configuration, the transformations are immutable and can be
+     * shared
+     */
+    private static final Map<String, CascadedValueTransformationImpl> PARSED = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, CascadedValueTransformationImpl> eldest) {
+            return size() > MAX_PARSED;
+        }
+    };
+
     private final List<SingleValueTransformation> transformations;
 
+    /**
+     * Get the transformation for the given configuration, parsing it only once
+     *
+     * @param transformationString transformation configuration
+     * @return the transformation
+     */
+    public static CascadedValueTransformationImpl of(@Nullable String transformationString) {
+        if (transformationString == null) {
+            return new CascadedValueTransformationImpl(null);
+        }
+        synchronized (PARSED) {
+            return PARSED.computeIfAbsent(transformationString, CascadedValueTransformationImpl::new);
+        }
+    }
+
     public CascadedValueTransformationImpl(@Nullable String transformationString) {
         String transformationNonNull = transformationString == null ? "" : transformationString;
         List<SingleValueTransformation> localTransformations = Arrays.stream(transformationNonNull.split("∩"))
@@ -44,11 +78,11 @@ public class CascadedValueTransformationImpl implements ValueTransformation {
     }
 
     @Override
-    public String transform(BundleContext context, String value) {
+    public String transform(Function<String, @Nullable TransformationService> transformationServices, String value) {
         String input = value;
         // process all transformations
         for (final ValueTransformation transformation : transformations) {
-            input = transformation.transform(context, input);
+            input = transformation.transform(transformationServices, input);
         }
         return input;
     }
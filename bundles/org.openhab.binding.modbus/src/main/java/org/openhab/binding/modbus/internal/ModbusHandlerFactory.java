@@ -30,6 +30,7 @@ import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
@@ -48,6 +49,7 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
     private final Logger logger = LoggerFactory.getLogger(ModbusHandlerFactory.class);
 
     private @NonNullByDefault({}) ModbusManager manager;
+    private @Nullable TransformationServiceTracker transformationServiceTracker;
 
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = new HashSet<>();
     static {
@@ -57,6 +59,24 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
         SUPPORTED_THING_TYPES_UIDS.add(THING_TYPE_MODBUS_DATA);
     }
 
+    @Override
+    protected void activate(ComponentContext componentContext) {
+        super.activate(componentContext);
+        TransformationServiceTracker tracker = new TransformationServiceTracker(componentContext.getBundleContext());
+        tracker.open();
+        transformationServiceTracker = tracker;
+    }
+
+    @Override
+    protected void deactivate(ComponentContext componentContext) {
+        TransformationServiceTracker tracker = transformationServiceTracker;
+        if (tracker != null) {
+            tracker.close();
+            transformationServiceTracker = null;
+        }
+        super.deactivate(componentContext);
+    }
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -76,7 +96,12 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
             return new ModbusPollerThingHandler((Bridge) thing);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_DATA)) {
             logger.debug("createHandler data");
-            return new ModbusDataThingHandler(thing);
+            TransformationServiceTracker tracker = transformationServiceTracker;
+            if (tracker == null) {
+                logger.warn("Transformation services are not tracked, factory is not active");
+                return null;
+            }
+            return new ModbusDataThingHandler(thing, tracker::getTransformationService);
         }
         logger.error("createHandler for unknown thing type uid {}. Thing label was: {}", thing.getThingTypeUID(),
                 thing.getLabel());
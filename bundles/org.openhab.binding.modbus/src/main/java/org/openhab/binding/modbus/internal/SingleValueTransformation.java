@@ -15,6 +15,7 @@ package org.openhab.binding.modbus.internal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,11 +25,9 @@ import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.OpenClosedType;
 import org.openhab.core.transform.TransformationException;
-import org.openhab.core.transform.TransformationHelper;
 import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.TypeParser;
-import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -122,7 +121,7 @@ public class SingleValueTransformation implements ValueTransformation {
     }
 
     @Override
-    public String transform(BundleContext context, String value) {
+    public String transform(Function<String, @Nullable TransformationService> transformationServices, String value) {
         String transformedResponse;
         String transformationServiceName = this.transformationServiceName;
         String transformationServiceParam = this.transformationServiceParam;
@@ -134,8 +133,7 @@ public class SingleValueTransformation implements ValueTransformation {
                             "transformation service parameter is missing! Invalid transform?");
                 }
                 @Nullable
-                TransformationService transformationService = TransformationHelper.getTransformationService(context,
-                        transformationServiceName);
+                TransformationService transformationService = transformationServices.apply(transformationServiceName);
                 if (transformationService != null) {
                     transformedResponse = transformationService.transform(transformationServiceParam, value);
                 } else {
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.transform.TransformationHelper;
+import org.openhab.core.transform.TransformationService;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
+
+/**
+ * Tracks the registered transformation services by their type, so that transformations resolve the service without
+ * querying the service registry for every value.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TransformationServiceTracker extends ServiceTracker<TransformationService, TransformationService> {
+
+    private final Map<String, TransformationService> services = new ConcurrentHashMap<>();
+
+    public TransformationServiceTracker(BundleContext context) {
+        super(context, TransformationService.class, null);
+    }
+
+    /**
+     * Get the transformation service of the given type
+     *
+     * @param type type of the transformation, e.g. MAP
+     * @return the transformation service, or null if no service of the type is registered
+     */
+    public @Nullable TransformationService getTransformationService(String type) {
+        TransformationService service = services.get(type);
+        if (service == null) {
+            // not tracked (yet), resolve it like before
+            service = TransformationHelper.getTransformationService(context, type);
+        }
+        return service;
+    }
+
+    @Override
+    public TransformationService addingService(@Nullable ServiceReference<TransformationService> reference) {
+        TransformationService service = super.addingService(reference);
+        String type = getType(reference);
+        if (service != null && type != null) {
+            services.put(type, service);
+        }
+        return service;
+    }
+
+    @Override
+    public void modifiedService(@Nullable ServiceReference<TransformationService> reference,
+            @Nullable TransformationService service) {
+        services.values().remove(service);
+        String type = getType(reference);
+        if (service != null && type != null) {
+            services.put(type, service);
+        }
+    }
+
+    @Override
+    public void removedService(@Nullable ServiceReference<TransformationService> reference,
+            @Nullable TransformationService service) {
+        String type = getType(reference);
+        if (type != null && services.remove(type, service)) {
+            // another service may be registered for the same type
+            getTracked().forEach((otherReference, otherService) -> {
+                if (type.equals(getType(otherReference))) {
+                    services.putIfAbsent(type, otherService);
+                }
+            });
+        }
+        super.removedService(reference, service);
+    }
+
+    private static @Nullable String getType(@Nullable ServiceReference<TransformationService> reference) {
+        Object type = reference == null ? null : reference.getProperty(TransformationService.SERVICE_PROPERTY_NAME);
+        return type instanceof String ? (String) type : null;
+    }
+}
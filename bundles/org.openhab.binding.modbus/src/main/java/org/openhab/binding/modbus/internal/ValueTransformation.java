@@ -13,12 +13,13 @@
 package org.openhab.binding.modbus.internal;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
-import org.osgi.framework.BundleContext;
 
 /**
  * Interface for Transformation
@@ -29,23 +30,24 @@ import org.osgi.framework.BundleContext;
 @NonNullByDefault
 public interface ValueTransformation {
 
-    String transform(BundleContext context, String value);
+    String transform(Function<String, @Nullable TransformationService> transformationServices, String value);
 
     boolean isIdentityTransform();
 
     /**
      * Transform state to another state using this transformation
      *
-     * @param context
+     * @param transformationServices function resolving transformation services by their type
      * @param types types to used to parse the transformation result
      * @param command
      * @return Transformed command, or null if no transformation was possible
      */
-    default @Nullable State transformState(BundleContext context, List<Class<? extends State>> types, State state) {
+    default @Nullable State transformState(Function<String, @Nullable TransformationService> transformationServices,
+            List<Class<? extends State>> types, State state) {
         // Note that even identity transformations go through the State -> String -> State steps. This does add some
         // overhead but takes care of DecimalType -> PercentType conversions, for example.
         final String stateAsString = state.toString();
-        final String transformed = transform(context, stateAsString);
+        final String transformed = transform(transformationServices, stateAsString);
         return TypeParser.parseState(types, transformed);
     }
 }
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -74,12 +75,12 @@ import org.openhab.core.thing.ThingStatusInfo;
 import org.openhab.core.thing.binding.BaseThingHandler;
 import org.openhab.core.thing.binding.BridgeHandler;
 import org.openhab.core.thing.binding.ThingHandlerCallback;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,7 +100,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
 
     private final Logger logger = LoggerFactory.getLogger(ModbusDataThingHandler.class);
 
-    private final BundleContext bundleContext;
+    private final Function<String, @Nullable TransformationService> transformationServices;
 
     private static final Duration MIN_STATUS_INFO_UPDATE_INTERVAL = Duration.ofSeconds(1);
     private static final Map<String, List<Class<? extends State>>> CHANNEL_ID_TO_ACCEPTED_TYPES = new HashMap<>();
@@ -148,14 +149,19 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    // read value and the channel states successfully transformed from it, reused while the value does not change
+    private volatile @Nullable State lastNumericState;
+    private volatile boolean lastBoolValue;
+    private volatile Map<String, State> lastTransformedStates = new HashMap<>(NUMER_OF_CHANNELS_HINT);
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
             null);
 
-    public ModbusDataThingHandler(Thing thing) {
+    public ModbusDataThingHandler(Thing thing,
+            Function<String, @Nullable TransformationService> transformationServices) {
         super(thing);
-        this.bundleContext = FrameworkUtil.getBundle(ModbusDataThingHandler.class).getBundleContext();
+        this.transformationServices = transformationServices;
     }
 
     @Override
@@ -243,7 +249,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         if (writeTransformation == null || writeTransformation.isIdentityTransform()) {
             transformedCommand = Optional.of(command);
         } else {
-            transformOutput = writeTransformation.transform(bundleContext, command.toString());
+            transformOutput = writeTransformation.transform(transformationServices, command.toString());
             if (transformOutput.contains("[")) {
                 processJsonTransform(command, transformOutput);
                 return null;
@@ -414,6 +420,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastNumericState = null;
+        lastBoolValue = false;
+        lastTransformedStates = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     }
 
     @Override
@@ -504,7 +513,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 throw new ModbusConfigurationException(errmsg);
             }
         }
-        readTransformation = new CascadedValueTransformationImpl(config.getReadTransform());
+        readTransformation = CascadedValueTransformationImpl.of(config.getReadTransform());
         validateReadIndex();
     }
 
@@ -513,7 +522,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         boolean writeStartMissing = config.getWriteStart() == null || config.getWriteStart().isBlank();
         boolean writeValueTypeMissing = config.getWriteValueType() == null || config.getWriteValueType().isBlank();
         boolean writeTransformationMissing = config.getWriteTransform() == null || config.getWriteTransform().isBlank();
-        writeTransformation = new CascadedValueTransformationImpl(config.getWriteTransform());
+        writeTransformation = CascadedValueTransformationImpl.of(config.getWriteTransform());
         boolean writingCoil = WRITE_TYPE_COIL.equals(config.getWriteType());
         writeParametersHavingTransformationOnly = (writeTypeMissing && writeStartMissing && writeValueTypeMissing
                 && !writeTransformationMissing);
@@ -826,12 +835,22 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("No transformation available, aborting processUpdatedValue");
             return Collections.emptyMap();
         }
+        // Polled value did not change, the channel states transformed from it are reused
+        Map<String, State> previousTransformedStates = numericState.equals(lastNumericState)
+                && boolValue == lastBoolValue ? lastTransformedStates : Collections.emptyMap();
+        Map<String, State> transformedStates = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         Map<ChannelUID, State> states = new HashMap<>();
         CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
             ChannelUID channelUID = getChannelUID(channelId);
             if (!isLinked(channelUID)) {
                 return;
             }
+            State previousTransformedState = previousTransformedStates.get(channelId);
+            if (previousTransformedState != null) {
+                transformedStates.put(channelId, previousTransformedState);
+                states.put(channelUID, previousTransformedState);
+                return;
+            }
             List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
             if (acceptedDataTypes.isEmpty()) {
                 return;
@@ -846,6 +865,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 boolLikeState = null;
             }
 
+            FailureRecordingTransformationServices recordingServices = new FailureRecordingTransformationServices(
+                    transformationServices);
             State transformedState;
             if (localReadTransformation.isIdentityTransform()) {
                 if (boolLikeState != null) {
@@ -855,11 +876,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                     // Numeric states always go through transformation. This allows value of 17.5 to be
                     // converted to
                     // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                            numericState);
+                    transformedState = localReadTransformation.transformState(transformationServices,
+                            acceptedDataTypes, numericState);
                 }
             } else {
-                transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
+                transformedState = localReadTransformation.transformState(recordingServices, acceptedDataTypes,
                         numericState);
             }
 
@@ -869,6 +890,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                         channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
                         readValueType, boolValue,
                         localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                if (!recordingServices.failed) {
+                    // the untransformed value passed on by a failed transformation is not reused, so that the
+                    // transformation is tried again with the next poll
+                    transformedStates.put(channelId, transformedState);
+                }
                 states.put(channelUID, transformedState);
             } else {
                 String types = String.join(", ",
@@ -880,6 +906,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             }
         });
 
+        lastNumericState = numericState;
+        lastBoolValue = boolValue;
+        lastTransformedStates = transformedStates;
+
         ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
         if (isLinked(lastReadSuccessUID)) {
             states.put(lastReadSuccessUID, new DateTimeType());
@@ -961,4 +991,36 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             }
         }
     }
+
+    /**
+     * Transformation services recording whether a service was unavailable or failed to transform a value. In both
+     * cases the transformation passes on the untransformed value.
+     */
+    private static class FailureRecordingTransformationServices
+            implements Function<String, @Nullable TransformationService> {
+        private final Function<String, @Nullable TransformationService> transformationServices;
+        private boolean failed;
+
+        private FailureRecordingTransformationServices(
+                Function<String, @Nullable TransformationService> transformationServices) {
+            this.transformationServices = transformationServices;
+        }
+
+        @Override
+        public @Nullable TransformationService apply(String type) {
+            TransformationService service = transformationServices.apply(type);
+            if (service == null) {
+                failed = true;
+                return null;
+            }
+            return (function, source) -> {
+                try {
+                    return service.transform(function, source);
+                } catch (TransformationException | RuntimeException e) {
+                    failed = true;
+                    throw e;
+                }
+            };
+        }
+    }
 }
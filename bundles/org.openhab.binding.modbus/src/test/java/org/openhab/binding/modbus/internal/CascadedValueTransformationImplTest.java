@@ -14,9 +14,10 @@ package org.openhab.binding.modbus.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
-import org.osgi.framework.BundleContext;
+import org.openhab.core.transform.TransformationService;
 
 /**
  * @author Sami Salonen - Initial contribution
@@ -44,28 +45,28 @@ public class CascadedValueTransformationImplTest {
     public void testTransformationEmpty() {
         CascadedValueTransformationImpl transformation = new CascadedValueTransformationImpl("");
         assertFalse(transformation.isIdentityTransform());
-        assertEquals("", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("", transformation.transform(type -> null, "xx"));
     }
 
     @Test
     public void testTransformationNull() {
         CascadedValueTransformationImpl transformation = new CascadedValueTransformationImpl(null);
         assertFalse(transformation.isIdentityTransform());
-        assertEquals("", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("", transformation.transform(type -> null, "xx"));
     }
 
     @Test
     public void testTransformationDefault() {
         CascadedValueTransformationImpl transformation = new CascadedValueTransformationImpl("deFault");
         assertTrue(transformation.isIdentityTransform());
-        assertEquals("xx", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("xx", transformation.transform(type -> null, "xx"));
     }
 
     @Test
     public void testTransformationDefaultChained() {
         CascadedValueTransformationImpl transformation = new CascadedValueTransformationImpl("deFault∩DEFAULT∩default");
         assertTrue(transformation.isIdentityTransform());
-        assertEquals("xx", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("xx", transformation.transform(type -> null, "xx"));
     }
 
     @Test
@@ -73,6 +74,36 @@ public class CascadedValueTransformationImplTest {
         CascadedValueTransformationImpl transformation = new CascadedValueTransformationImpl(
                 "deFault∩DEFAULT∩default∩static");
         assertFalse(transformation.isIdentityTransform());
-        assertEquals("static", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("static", transformation.transform(type -> null, "xx"));
+    }
+
+    @Test
+    public void testTransformationWithServices() {
+        TransformationService plus = (function, source) -> String.valueOf(Integer.parseInt(source) + 1);
+        TransformationService times = (function, source) -> String.valueOf(Integer.parseInt(source) * 2);
+        Map<String, TransformationService> services = Map.of("PLUS", plus, "TIMES", times);
+        CascadedValueTransformationImpl transformation = new CascadedValueTransformationImpl(
+                "PLUS:1∩TIMES:2∩MISSING:x");
+        assertEquals("8", transformation.transform(services::get, "3"));
+    }
+
+    @Test
+    public void testParsedTransformationIsShared() {
+        assertSame(CascadedValueTransformationImpl.of("MAP:shared.map"),
+                CascadedValueTransformationImpl.of("MAP:shared.map"));
+        assertNotSame(CascadedValueTransformationImpl.of("MAP:shared.map"),
+                CascadedValueTransformationImpl.of("MAP:other.map"));
+    }
+
+    @Test
+    public void testParsedTransformationsAreBounded() {
+        CascadedValueTransformationImpl used = CascadedValueTransformationImpl.of("MAP:used.map");
+        CascadedValueTransformationImpl unused = CascadedValueTransformationImpl.of("MAP:unused.map");
+        for (int i = 0; i < CascadedValueTransformationImpl.MAX_PARSED; i++) {
+            CascadedValueTransformationImpl.of("MAP:" + i + ".map");
+            assertSame(used, CascadedValueTransformationImpl.of("MAP:used.map"));
+        }
+        // the least recently used transformation was dropped and is parsed again
+        assertNotSame(unused, CascadedValueTransformationImpl.of("MAP:unused.map"));
     }
 }
@@ -15,8 +15,6 @@ package org.openhab.binding.modbus.internal;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
-import org.osgi.framework.BundleContext;
 
 /**
  * @author Sami Salonen - Initial contribution
@@ -55,27 +53,27 @@ public class SingleValueTransformationTest {
     public void testTransformationEmpty() {
         SingleValueTransformation transformation = new SingleValueTransformation("");
         assertFalse(transformation.isIdentityTransform());
-        assertEquals("", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("", transformation.transform(type -> null, "xx"));
     }
 
     @Test
     public void testTransformationNull() {
         SingleValueTransformation transformation = new SingleValueTransformation(null);
         assertFalse(transformation.isIdentityTransform());
-        assertEquals("", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("", transformation.transform(type -> null, "xx"));
     }
 
     @Test
     public void testTransformationDefault() {
         SingleValueTransformation transformation = new SingleValueTransformation("deFault");
         assertTrue(transformation.isIdentityTransform());
-        assertEquals("xx", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("xx", transformation.transform(type -> null, "xx"));
     }
 
     @Test
     public void testTransformationDefaultChainedWithStatic() {
         SingleValueTransformation transformation = new SingleValueTransformation("static");
         assertFalse(transformation.isIdentityTransform());
-        assertEquals("static", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
+        assertEquals("static", transformation.transform(type -> null, "xx"));
     }
 }
@@ -17,7 +17,6 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.Socket;
-import java.net.SocketTimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -60,7 +59,6 @@ public class MonopriceAudioIpConnector extends MonopriceAudioConnector {
         logger.debug("Opening IP connection on IP {} port {}", this.address, this.port);
         try {
             Socket clientSocket = new Socket(this.address, this.port);
-            clientSocket.setSoTimeout(100);
 
             dataOut = new DataOutputStream(clientSocket.getOutputStream());
             dataIn = new DataInputStream(clientSocket.getInputStream());
@@ -100,16 +98,15 @@ public class MonopriceAudioIpConnector extends MonopriceAudioConnector {
     /**
      * Reads some number of bytes from the input stream and stores them into the buffer array b. The number of bytes
      * actually read is returned as an integer.
-     * In case of socket timeout, the returned value is 0.
+     * The call blocks until data is available. Closing the connection unblocks it.
      *
      * @param dataBuffer the buffer into which the data is read.
      *
-     * @return the total number of bytes read into the buffer, or -1 if there is no more data because the end of the
-     *         stream has been reached.
+     * @return the total number of bytes read into the buffer
      *
      * @throws MonopriceAudioException - If the input stream is null, if the first byte cannot be read for any reason
-     *             other than the end of the file, if the input stream has been closed, or if some other I/O error
-     *             occurs.
+     *             other than the end of the file, if the end of the stream has been reached, if the input stream
+     *             has been closed, or if some other I/O error occurs.
      */
     @Override
     protected int readInput(byte[] dataBuffer) throws MonopriceAudioException {
@@ -118,9 +115,11 @@ public class MonopriceAudioIpConnector extends MonopriceAudioConnector {
             throw new MonopriceAudioException("readInput failed: input stream is null");
         }
         try {
-            return dataIn.read(dataBuffer);
-        } catch (SocketTimeoutException e) {
-            return 0;
+            int len = dataIn.read(dataBuffer);
+            if (len < 0) {
+                throw new MonopriceAudioException("readInput failed: end of stream reached");
+            }
+            return len;
         } catch (IOException e) {
             throw new MonopriceAudioException("readInput failed: " + e.getMessage(), e);
         }
@@ -20,6 +20,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
@@ -40,6 +41,12 @@ import com.google.gson.stream.JsonWriter;
  */
 @NonNullByDefault
 public class ChannelConfigurationTypeAdapterFactory implements TypeAdapterFactory {
+    /**
+     * A Gson instance with this factory registered. Gson and this factory are thread-safe, so the instance is shared
+     * by all thing handlers and the discovery.
+     */
+    public static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
 
     @Override
     @Nullable
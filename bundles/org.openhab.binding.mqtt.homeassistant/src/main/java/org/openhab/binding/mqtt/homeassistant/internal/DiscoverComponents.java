@@ -13,7 +13,9 @@
 package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
@@ -38,6 +40,9 @@ import com.google.gson.Gson;
 /**
  * Responsible for subscribing to the HomeAssistant MQTT components wildcard topic, either
  * in a time limited discovery mode or as a background discovery.
+ * <p>
+ * All instances share one wildcard subscription per broker connection and base topic, see
+ * {@link SharedConfigSubscription}. Only the configurations of the requested topics are processed.
  *
  * @author David Graeff - Initial contribution
  */
@@ -57,7 +62,8 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private WeakReference<@Nullable MqttBrokerConnection> connectionRef = new WeakReference<>(null);
     protected @NonNullByDefault({}) ComponentDiscovered discoveredListener;
     private int discoverTime;
-    private Set<String> topics = new HashSet<>();
+    private Set<String> baseTopics = new HashSet<>();
+    private List<String[]> topicFilters = new ArrayList<>();
 
     /**
      * Implement this to get notified of new components
@@ -86,7 +92,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
 
     @Override
     public void processMessage(String topic, byte[] payload) {
-        if (!topic.endsWith("/config")) {
+        if (!topic.endsWith("/config") || !isRequestedTopic(topic)) {
             return;
         }
 
@@ -131,14 +137,16 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public CompletableFuture<@Nullable Void> startDiscovery(MqttBrokerConnection connection, int discoverTime,
             Set<HaID> topicDescriptions, ComponentDiscovered componentsDiscoveredListener) {
-        this.topics = topicDescriptions.stream().map(id -> id.getTopic("config")).collect(Collectors.toSet());
+        this.baseTopics = topicDescriptions.stream().map(id -> id.baseTopic).collect(Collectors.toSet());
+        this.topicFilters = topicDescriptions.stream().map(id -> id.getTopic("config").split("/"))
+                .collect(Collectors.toList());
         this.discoverTime = discoverTime;
         this.discoveredListener = componentsDiscoveredListener;
         this.connectionRef = new WeakReference<>(connection);
 
-        // Subscribe to the wildcard topic and start receive MQTT retained topics
-        this.topics.parallelStream().map(t -> connection.subscribe(t, this)).collect(FutureCollector.allOf())
-                .thenRun(this::subscribeSuccess).exceptionally(this::subscribeFail);
+        // Subscribe to the shared wildcard topic. Already known retained configurations are passed on immediately.
+        this.baseTopics.stream().map(t -> SharedConfigSubscription.subscribe(connection, t, this))
+                .collect(FutureCollector.allOf()).thenRun(this::subscribeSuccess).exceptionally(this::subscribeFail);
 
         return discoverFinishedFuture;
     }
@@ -149,7 +157,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         if (connection != null && discoverTime > 0) {
             this.stopDiscoveryFuture = scheduler.schedule(() -> {
                 this.stopDiscoveryFuture = null;
-                this.topics.parallelStream().forEach(t -> connection.unsubscribe(t, this));
+                this.baseTopics.forEach(t -> SharedConfigSubscription.unsubscribe(connection, t, this));
                 this.discoveredListener = null;
                 discoverFinishedFuture.complete(null);
             }, discoverTime, TimeUnit.MILLISECONDS);
@@ -168,13 +176,36 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         this.discoveredListener = null;
         final MqttBrokerConnection connection = connectionRef.get();
         if (connection != null) {
-            this.topics.parallelStream().forEach(t -> connection.unsubscribe(t, this));
+            this.baseTopics.forEach(t -> SharedConfigSubscription.unsubscribe(connection, t, this));
             connectionRef.clear();
         }
         discoverFinishedFuture.completeExceptionally(e);
         return null;
     }
 
+    /**
+     * Returns true, if the topic matches one of the topics of the discovery. The topics may contain single level
+     * wildcards for the component.
+     */
+    private boolean isRequestedTopic(String topic) {
+        String[] levels = topic.split("/");
+        for (String[] filter : topicFilters) {
+            if (filter.length == levels.length && matches(filter, levels)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String[] filter, String[] levels) {
+        for (int i = 0; i < filter.length; i++) {
+            if (!"+".equals(filter[i]) && !filter[i].equals(levels[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Stops an ongoing discovery or do nothing if no discovery is running.
      *
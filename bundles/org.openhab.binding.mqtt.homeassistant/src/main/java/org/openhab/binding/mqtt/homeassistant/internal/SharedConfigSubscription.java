@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * A single wildcard subscription to all HomeAssistant component configurations below a base topic of a broker
+ * connection, shared by the {@link DiscoverComponents} of all things.
+ * <p>
+ * The last configuration of every topic is kept. Subscribers added later receive the known configurations immediately,
+ * instead of subscribing to their topics on the broker again to get the retained messages.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedConfigSubscription implements MqttMessageSubscriber {
+    /**
+     * Subscriptions by connection and base topic. The connections are weakly referenced, so the subscriptions of a
+     * connection that was not unsubscribed are removed together with the connection.
+     */
+    private static final Map<MqttBrokerConnection, Map<String, SharedConfigSubscription>> INSTANCES =
+            new WeakHashMap<>();
+
+    private final String topic;
+    private final Set<MqttMessageSubscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final Map<String, byte[]> configs = new HashMap<>();
+    private final CompletableFuture<Boolean> subscribed;
+
+    private SharedConfigSubscription(MqttBrokerConnection connection, String baseTopic) {
+        this.topic = baseTopic + "/#";
+        this.subscribed = connection.subscribe(topic, this);
+    }
+
+    /**
+     * Adds a subscriber for the component configurations below a base topic. The subscriber receives all known
+     * configurations immediately and all changes afterwards.
+     *
+     * @param connection A MQTT broker connection
+     * @param baseTopic The base topic, usually "homeassistant"
+     * @param subscriber The subscriber
+     * @return A future that completes as soon as the broker confirmed the wildcard subscription
+     */
+    public static CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, String baseTopic,
+            MqttMessageSubscriber subscriber) {
+        SharedConfigSubscription subscription;
+        boolean created;
+        Map<String, byte[]> knownConfigs;
+        synchronized (INSTANCES) {
+            Map<String, SharedConfigSubscription> subscriptions = INSTANCES.computeIfAbsent(connection,
+                    c -> new HashMap<>());
+            SharedConfigSubscription existing = subscriptions.get(baseTopic);
+            created = existing == null;
+            subscription = existing != null ? existing : new SharedConfigSubscription(connection, baseTopic);
+            subscriptions.put(baseTopic, subscription);
+            // added while holding the lock, so a concurrent unsubscribe of the last subscriber keeps the subscription
+            knownConfigs = subscription.addSubscriber(subscriber);
+        }
+        if (created) {
+            // A failed subscription must not be handed out to later subscribers, they try again
+            final SharedConfigSubscription failed = subscription;
+            subscription.subscribed.whenComplete((result, e) -> {
+                if (e != null || !Boolean.TRUE.equals(result)) {
+                    failed.remove(connection, baseTopic);
+                }
+            });
+        }
+        subscription.replay(subscriber, knownConfigs);
+        return subscription.subscribed;
+    }
+
+    /**
+     * Removes a subscriber. The wildcard subscription is removed from the broker with the last subscriber.
+     *
+     * @param connection A MQTT broker connection
+     * @param baseTopic The base topic, usually "homeassistant"
+     * @param subscriber The subscriber
+     */
+    public static void unsubscribe(MqttBrokerConnection connection, String baseTopic,
+            MqttMessageSubscriber subscriber) {
+        SharedConfigSubscription subscription;
+        synchronized (INSTANCES) {
+            Map<String, SharedConfigSubscription> subscriptions = INSTANCES.get(connection);
+            subscription = subscriptions != null ? subscriptions.get(baseTopic) : null;
+            if (subscription == null || !subscription.subscribers.remove(subscriber)
+                    || !subscription.subscribers.isEmpty()) {
+                return;
+            }
+            subscription.removeInstance(connection, baseTopic);
+        }
+        connection.unsubscribe(subscription.topic, subscription);
+    }
+
+    /**
+     * Removes this subscription from the known subscriptions, if it was not replaced already, and from the broker.
+     */
+    private void remove(MqttBrokerConnection connection, String baseTopic) {
+        synchronized (INSTANCES) {
+            removeInstance(connection, baseTopic);
+        }
+        connection.unsubscribe(topic, this);
+    }
+
+    /**
+     * Removes this subscription from the known subscriptions, if it was not replaced already. The caller holds the
+     * lock of {@link #INSTANCES}. A subscription that is removed is never handed out again, so it can be removed from
+     * the broker without holding the lock.
+     */
+    private void removeInstance(MqttBrokerConnection connection, String baseTopic) {
+        Map<String, SharedConfigSubscription> subscriptions = INSTANCES.get(connection);
+        if (subscriptions != null && subscriptions.remove(baseTopic, this) && subscriptions.isEmpty()) {
+            INSTANCES.remove(connection);
+        }
+    }
+
+    private synchronized Map<String, byte[]> addSubscriber(MqttMessageSubscriber subscriber) {
+        subscribers.add(subscriber);
+        return new HashMap<>(configs);
+    }
+
+    /**
+     * Passes the known configurations to a new subscriber. This is done without holding the lock, a configuration
+     * that changed in the meantime was passed on already and is skipped.
+     */
+    private void replay(MqttMessageSubscriber subscriber, Map<String, byte[]> knownConfigs) {
+        knownConfigs.forEach((topic, payload) -> {
+            if (isCurrent(topic, payload)) {
+                subscriber.processMessage(topic, payload);
+            }
+        });
+    }
+
+    private synchronized boolean isCurrent(String topic, byte[] payload) {
+        return configs.get(topic) == payload;
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        if (!topic.endsWith("/config")) {
+            return;
+        }
+        synchronized (this) {
+            if (payload.length > 0) {
+                configs.put(topic, payload);
+            } else {
+                configs.remove(topic);
+            }
+        }
+        subscribers.forEach(s -> s.processMessage(topic, payload));
+    }
+}
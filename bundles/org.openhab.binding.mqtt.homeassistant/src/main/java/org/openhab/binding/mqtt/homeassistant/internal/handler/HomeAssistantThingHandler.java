@@ -12,7 +12,7 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal.handler;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -52,12 +52,10 @@ import org.openhab.core.thing.type.ChannelDefinition;
 import org.openhab.core.thing.type.ChannelGroupDefinition;
 import org.openhab.core.thing.type.ChannelGroupType;
 import org.openhab.core.thing.type.ThingType;
-import org.openhab.core.thing.util.ThingHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 /**
  * Handles HomeAssistant MQTT object things. Such an HA Object can have multiple HA Components with different instances
@@ -72,6 +70,11 @@ import com.google.gson.GsonBuilder;
  * <br>
  *
  * If a Components configuration changes, the known ChannelGroupType and ChannelTypes are replaced with the new ones.
+ * <br>
+ * <br>
+ *
+ * The channels of the Thing are updated with all discovered Components, including their configuration. On the next
+ * start the Components are restored from the channels immediately and reconciled with the retained configurations.
  *
  * @author David Graeff - Initial contribution
  */
@@ -110,7 +113,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             TransformationServiceProvider transformationServiceProvider, int subscribeTimeout,
             int attributeReceiveTimeout) {
         super(thing, subscribeTimeout);
-        this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
+        this.gson = ChannelConfigurationTypeAdapterFactory.GSON;
         this.channelTypeProvider = channelTypeProvider;
         this.transformationServiceProvider = transformationServiceProvider;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
@@ -193,9 +196,10 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         updateStatus(ThingStatus.UNKNOWN);
 
         // Start all known components and channels within the components and put the Thing offline
-        // if any subscribing failed ( == broker connection lost)
+        // if any subscribing failed ( == broker connection lost). Restored components don't wait for their retained
+        // values, the states are updated as soon as they are received.
         CompletableFuture<@Nullable Void> future = haComponents.values().parallelStream()
-                .map(e -> e.start(connection, scheduler, attributeReceiveTimeout))
+                .map(e -> e.start(connection, scheduler, 0))
                 .reduce(CompletableFuture.completedFuture(null), (a, v) -> a.thenCompose(b -> v)) // reduce to one
                 .exceptionally(e -> {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
@@ -262,6 +266,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             return;
         }
 
+        boolean componentsChanged = false;
+        List<Channel> channels = new ArrayList<>();
         synchronized (haComponents) { // sync whenever discoverComponents is started
             for (AbstractComponent<?> discovered : discoveredComponentsList) {
                 AbstractComponent<?> known = haComponents.get(discovered.uid().getId());
@@ -287,13 +293,20 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     return null;
                 });
 
-                Collection<Channel> channels = discovered.channelTypes().values().stream().map(CChannel::getChannel)
-                        .collect(Collectors.toList());
-                ThingHelper.addChannelsToThing(thing, channels);
+                componentsChanged = true;
+            }
+            if (componentsChanged) {
+                for (AbstractComponent<?> component : haComponents.values()) {
+                    component.channelTypes().values().forEach(c -> channels.add(c.getChannel()));
+                }
             }
         }
 
-        updateThingType();
+        if (componentsChanged) {
+            // The channels contain the component configurations, so the components are restored on the next start
+            updateThing(editThing().withChannels(channels).build());
+            updateThingType();
+        }
     }
 
     @Override
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Tests for the {@link SharedConfigSubscription}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class SharedConfigSubscriptionTests {
+    private static final String BASE_TOPIC = "homeassistant";
+    private static final String WILDCARD_TOPIC = "homeassistant/#";
+    private static final String CONFIG_TOPIC = "homeassistant/switch/node/config";
+    private static final byte[] CONFIG = "{\"name\":\"switch\"}".getBytes(StandardCharsets.UTF_8);
+
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connection;
+
+    private final AtomicReference<@Nullable MqttMessageSubscriber> shared = new AtomicReference<>();
+    private final AtomicInteger brokerSubscriptions = new AtomicInteger();
+    private final AtomicInteger brokerUnsubscriptions = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        lenient().doAnswer(invocation -> {
+            shared.set(invocation.getArgument(1));
+            brokerSubscriptions.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        }).when(connection).subscribe(eq(WILDCARD_TOPIC), any());
+        lenient().doAnswer(invocation -> {
+            brokerUnsubscriptions.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        }).when(connection).unsubscribe(eq(WILDCARD_TOPIC), any());
+    }
+
+    private MqttMessageSubscriber getShared() {
+        MqttMessageSubscriber subscriber = shared.get();
+        assertThat(subscriber, is(notNullValue()));
+        return subscriber;
+    }
+
+    private static MqttMessageSubscriber recordingSubscriber(List<String> topics) {
+        return (topic, payload) -> topics.add(topic);
+    }
+
+    @Test
+    public void subscribersShareOneBrokerSubscription() {
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, recordingSubscriber(new ArrayList<>()));
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, recordingSubscriber(new ArrayList<>()));
+
+        verify(connection, times(1)).subscribe(eq(WILDCARD_TOPIC), any());
+    }
+
+    @Test
+    public void knownConfigsAreReplayedToNewSubscribers() {
+        List<String> first = new ArrayList<>();
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, recordingSubscriber(first));
+        getShared().processMessage(CONFIG_TOPIC, CONFIG);
+        getShared().processMessage("homeassistant/switch/node/state", CONFIG);
+        getShared().processMessage("homeassistant/light/removed/config", CONFIG);
+        getShared().processMessage("homeassistant/light/removed/config", new byte[0]);
+
+        List<String> second = new ArrayList<>();
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, recordingSubscriber(second));
+
+        assertThat(first, is(List.of(CONFIG_TOPIC, "homeassistant/light/removed/config",
+                "homeassistant/light/removed/config")));
+        assertThat(second, is(List.of(CONFIG_TOPIC)));
+    }
+
+    @Test
+    public void brokerSubscriptionIsRemovedWithLastSubscriber() {
+        MqttMessageSubscriber first = recordingSubscriber(new ArrayList<>());
+        MqttMessageSubscriber second = recordingSubscriber(new ArrayList<>());
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, first);
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, second);
+
+        SharedConfigSubscription.unsubscribe(connection, BASE_TOPIC, first);
+        verify(connection, never()).unsubscribe(eq(WILDCARD_TOPIC), any());
+
+        SharedConfigSubscription.unsubscribe(connection, BASE_TOPIC, second);
+        verify(connection).unsubscribe(WILDCARD_TOPIC, getShared());
+
+        // a new subscriber subscribes on the broker again
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, first);
+        verify(connection, times(2)).subscribe(eq(WILDCARD_TOPIC), any());
+    }
+
+    @Test
+    public void failedSubscriptionIsNotReused() {
+        doReturn(CompletableFuture.completedFuture(false)).when(connection).subscribe(eq(WILDCARD_TOPIC), any());
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, recordingSubscriber(new ArrayList<>()));
+
+        SharedConfigSubscription.subscribe(connection, BASE_TOPIC, recordingSubscriber(new ArrayList<>()));
+        verify(connection, times(2)).subscribe(eq(WILDCARD_TOPIC), any());
+    }
+
+    @Test
+    public void concurrentSubscribeKeepsBrokerSubscription() throws Exception {
+        MqttMessageSubscriber first = recordingSubscriber(new ArrayList<>());
+        MqttMessageSubscriber second = recordingSubscriber(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2000; i++) {
+                SharedConfigSubscription.subscribe(connection, BASE_TOPIC, first);
+                Future<?> unsubscribe = executor
+                        .submit(() -> SharedConfigSubscription.unsubscribe(connection, BASE_TOPIC, first));
+                Future<?> subscribe = executor
+                        .submit(() -> SharedConfigSubscription.subscribe(connection, BASE_TOPIC, second));
+                unsubscribe.get();
+                subscribe.get();
+
+                // the second subscriber still has a subscription on the broker
+                assertThat(brokerSubscriptions.get() - brokerUnsubscriptions.get(), is(1));
+
+                SharedConfigSubscription.unsubscribe(connection, BASE_TOPIC, second);
+                assertThat(brokerSubscriptions.get() - brokerUnsubscriptions.get(), is(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -35,6 +35,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public abstract class OppoConnector {
+    public static final byte[] READ_ERROR = "read_error".getBytes(StandardCharsets.US_ASCII);
+    public static final String KEY_ERROR = "error";
+
     private static final Pattern QRY_PATTERN = Pattern.compile("^@(Q[A-Z0-9]{2}|VUP|VDN) OK (.*)$");
     private static final Pattern STUS_PATTERN = Pattern.compile("^@(U[A-Z0-9]{2}) (.*)$");
 
@@ -115,6 +118,10 @@ public abstract class OppoConnector {
      */
     protected void cleanup() {
         Thread readerThread = this.readerThread;
+        if (readerThread != null) {
+            // interrupt first, so the reader thread doesn't report the closed streams as a read error
+            readerThread.interrupt();
+        }
         OutputStream dataOut = this.dataOut;
         if (dataOut != null) {
             try {
@@ -134,8 +141,11 @@ public abstract class OppoConnector {
             this.dataIn = null;
         }
         if (readerThread != null) {
-            readerThread.interrupt();
             this.readerThread = null;
+            if (readerThread == Thread.currentThread()) {
+                // the reader thread closes the connection itself after a read error
+                return;
+            }
             try {
                 readerThread.join(3000);
             } catch (InterruptedException e) {
@@ -240,6 +250,11 @@ public abstract class OppoConnector {
      * @param incomingMessage the received message
      */
     public void handleIncomingMessage(byte[] incomingMessage) {
+        if (READ_ERROR.equals(incomingMessage)) {
+            dispatchKeyValue(KEY_ERROR, "");
+            return;
+        }
+
         String message = new String(incomingMessage, StandardCharsets.US_ASCII).trim();
 
         logger.debug("handleIncomingMessage: {}", message);
@@ -77,6 +77,9 @@ public class OppoReaderThread extends Thread {
             }
         } catch (OppoException e) {
             logger.debug("Reading failed: {}", e.getMessage(), e);
+            if (!isInterrupted()) {
+                connector.handleIncomingMessage(OppoConnector.READ_ERROR);
+            }
         }
 
         logger.debug("Data listener stopped");
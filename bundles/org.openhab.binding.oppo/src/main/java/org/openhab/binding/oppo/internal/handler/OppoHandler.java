@@ -371,6 +371,13 @@ public class OppoHandler extends BaseThingHandler implements OppoMessageEventLis
     @Override
     public void onNewMessageEvent(OppoMessageEvent evt) {
         logger.debug("onNewMessageEvent: key {} = {}", evt.getKey(), evt.getValue());
+        if (OppoConnector.KEY_ERROR.equals(evt.getKey())) {
+            logger.debug("Reading feedback message failed");
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "Reading thread ended");
+            closeConnection();
+            return;
+        }
+
         lastEventReceived = System.currentTimeMillis();
 
         String key = evt.getKey();
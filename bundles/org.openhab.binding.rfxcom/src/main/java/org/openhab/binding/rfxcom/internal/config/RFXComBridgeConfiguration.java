@@ -45,6 +45,9 @@ public class RFXComBridgeConfiguration {
 
     public String setMode;
 
+    // Time in milliseconds in which a repeated packet of the same device is ignored, 0 to disable
+    public int repeatSuppressionWindow;
+
     // Enabled protocols
     public boolean enableUndecoded;
     public boolean enableImagintronixOpus;
@@ -16,7 +16,9 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
@@ -24,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.RFXComBindingConstants;
 import org.openhab.binding.rfxcom.internal.config.RFXComBridgeConfiguration;
 import org.openhab.binding.rfxcom.internal.connector.RFXComConnectorInterface;
 import org.openhab.binding.rfxcom.internal.connector.RFXComEventListener;
@@ -34,6 +37,7 @@ import org.openhab.binding.rfxcom.internal.discovery.RFXComDeviceDiscoveryServic
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceControlMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage;
@@ -48,6 +52,7 @@ import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
+import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.thing.binding.ThingHandlerService;
 import org.openhab.core.types.Command;
@@ -70,6 +75,13 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
     private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Listeners for a specific device, indexed by thing type and device id. See {@link #getDeviceKey}.
+     */
+    private Map<String, List<DeviceMessageListener>> deviceMessageListeners = new ConcurrentHashMap<>();
+
+    private RFXComRepeatFilter repeatFilter = new RFXComRepeatFilter(0);
+
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
 
@@ -135,6 +147,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
             unregisterDeviceStatusListener(deviceStatusListener);
         }
+        deviceMessageListeners.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -156,6 +169,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         updateStatus(ThingStatus.OFFLINE);
 
         configuration = getConfigAs(RFXComBridgeConfiguration.class);
+        repeatFilter = new RFXComRepeatFilter(configuration.repeatSuppressionWindow);
 
         if (configuration.serialPort != null && configuration.serialPort.startsWith("rfc2217")) {
             logger.debug("Please use the Transceiver over TCP/IP bridge type for a serial over IP connection.");
@@ -242,6 +256,12 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
         @Override
         public void packetReceived(byte[] packet) {
+            if (isDevicePacket(packet) && repeatFilter.isRepeat(packet)) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Ignoring repeated packet: {}", HexUtils.bytesToHex(packet));
+                }
+                return;
+            }
             try {
                 RFXComMessage message = RFXComMessageFactory.createMessage(packet);
                 logger.debug("Message received: {}", message);
@@ -307,13 +327,16 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
                     transmitQueue.sendNext();
                 } else if (message instanceof RFXComDeviceMessage) {
-                    for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceMessageReceived(getThing().getUID(),
-                                    (RFXComDeviceMessage) message);
-                        } catch (Exception e) {
-                            // catch all exceptions give all handlers a fair chance of handling the messages
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                    RFXComDeviceMessage deviceMessage = (RFXComDeviceMessage) message;
+
+                    notifyDeviceMessageListeners(deviceStatusListeners, deviceMessage);
+                    ThingTypeUID thingTypeUID = RFXComBindingConstants.PACKET_TYPE_THING_TYPE_UID_MAP
+                            .get(deviceMessage.getPacketType());
+                    if (thingTypeUID != null) {
+                        List<DeviceMessageListener> listeners = deviceMessageListeners
+                                .get(getDeviceKey(thingTypeUID, deviceMessage.getDeviceId()));
+                        if (listeners != null) {
+                            notifyDeviceMessageListeners(listeners, deviceMessage);
                         }
                     }
                 } else {
@@ -329,6 +352,28 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
             }
         }
 
+        /**
+         * Only packets of devices are subject to repeat suppression. Responses of the transceiver itself are always
+         * handled.
+         */
+        private boolean isDevicePacket(byte[] packet) {
+            return packet.length > 1 && packet[1] != PacketType.INTERFACE_CONTROL.toByte()
+                    && packet[1] != PacketType.INTERFACE_MESSAGE.toByte()
+                    && packet[1] != PacketType.TRANSMITTER_MESSAGE.toByte();
+        }
+
+        private void notifyDeviceMessageListeners(List<DeviceMessageListener> listeners,
+                RFXComDeviceMessage message) {
+            for (DeviceMessageListener deviceStatusListener : listeners) {
+                try {
+                    deviceStatusListener.onDeviceMessageReceived(getThing().getUID(), message);
+                } catch (Exception e) {
+                    // catch all exceptions give all handlers a fair chance of handling the messages
+                    logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                }
+            }
+        }
+
         @Override
         public void errorOccurred(String error) {
             logger.error("Error occurred: {}", error);
@@ -350,6 +395,42 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         return deviceStatusListeners.remove(deviceStatusListener);
     }
 
+    /**
+     * Registers a listener that is only notified of messages of the given device. Contrary to listeners registered
+     * with {@link #registerDeviceStatusListener(DeviceMessageListener)}, which receive all device messages.
+     *
+     * @param thingTypeUID the thing type of the device
+     * @param deviceId the id of the device
+     * @param deviceMessageListener the listener to notify
+     * @return true if the listener was registered, false if it was already registered for this device
+     */
+    public synchronized boolean registerDeviceMessageListener(ThingTypeUID thingTypeUID, String deviceId,
+            DeviceMessageListener deviceMessageListener) {
+        unregisterDeviceMessageListener(deviceMessageListener);
+        List<DeviceMessageListener> listeners = deviceMessageListeners
+                .computeIfAbsent(getDeviceKey(thingTypeUID, deviceId), k -> new CopyOnWriteArrayList<>());
+        return listeners.add(deviceMessageListener);
+    }
+
+    /**
+     * Unregisters a listener registered with {@link #registerDeviceMessageListener}.
+     *
+     * @param deviceMessageListener the listener to remove
+     * @return true if the listener was registered
+     */
+    public synchronized boolean unregisterDeviceMessageListener(DeviceMessageListener deviceMessageListener) {
+        boolean removed = false;
+        for (List<DeviceMessageListener> listeners : deviceMessageListeners.values()) {
+            removed |= listeners.remove(deviceMessageListener);
+        }
+        deviceMessageListeners.values().removeIf(List::isEmpty);
+        return removed;
+    }
+
+    private static String getDeviceKey(ThingTypeUID thingTypeUID, String deviceId) {
+        return thingTypeUID.getId() + ":" + deviceId;
+    }
+
     public RFXComBridgeConfiguration getConfiguration() {
         return configuration;
     }
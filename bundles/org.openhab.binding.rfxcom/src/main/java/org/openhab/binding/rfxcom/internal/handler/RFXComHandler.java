@@ -115,7 +115,7 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
                     "RFXCOM device missing deviceId or subType");
         } else if (thingHandler != null && bridgeStatus != null) {
             bridgeHandler = (RFXComBridgeHandler) thingHandler;
-            bridgeHandler.registerDeviceStatusListener(this);
+            bridgeHandler.registerDeviceMessageListener(getThing().getThingTypeUID(), config.deviceId, this);
 
             if (bridgeStatus == ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -131,7 +131,7 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
     public void dispose() {
         logger.debug("Thing {} disposed.", getThing().getUID());
         if (bridgeHandler != null) {
-            bridgeHandler.unregisterDeviceStatusListener(this);
+            bridgeHandler.unregisterDeviceMessageListener(this);
         }
         bridgeHandler = null;
         super.dispose();
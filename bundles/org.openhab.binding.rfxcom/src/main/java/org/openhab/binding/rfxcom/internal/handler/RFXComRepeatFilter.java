@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.handler;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link RFXComRepeatFilter} detects repeated frames of a single physical event. Many 433MHz remotes and sensors
+ * transmit the same frame several times in a row. The RFXCOM transceiver reports each of them as a separate packet,
+ * only differing in the sequence number.
+ *
+ * A packet is considered a repeat when an equal packet, ignoring the sequence number, was received within the
+ * configured window. The filter remembers the recently received packets, so repeats of several devices transmitting
+ * at the same time are detected as well.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class RFXComRepeatFilter {
+    /**
+     * Index of the sequence number in a packet. The sequence number is not part of the comparison.
+     */
+    private static final int SEQUENCE_NUMBER_INDEX = 3;
+
+    private final long windowNanos;
+
+    /** time of the last reception by packet, the packets have their sequence number cleared */
+    private final Map<ByteBuffer, Long> lastReceived = new HashMap<>();
+
+    /**
+     * Creates a new filter.
+     *
+     * @param windowMillis window in milliseconds in which a repeated packet is suppressed, 0 to disable the filter
+     */
+    RFXComRepeatFilter(int windowMillis) {
+        this.windowNanos = Math.max(0, windowMillis) * 1_000_000L;
+    }
+
+    /**
+     * Checks whether the given packet is a repeat of a recently received packet.
+     *
+     * @param packet the received packet
+     * @return true if the packet is a repeat and should be ignored
+     */
+    synchronized boolean isRepeat(byte[] packet) {
+        return isRepeat(packet, System.nanoTime());
+    }
+
+    synchronized boolean isRepeat(byte[] packet, long nanoTime) {
+        if (windowNanos == 0) {
+            return false;
+        }
+        lastReceived.values().removeIf(received -> nanoTime - received >= windowNanos);
+
+        byte[] key = packet.clone();
+        if (key.length > SEQUENCE_NUMBER_INDEX) {
+            key[SEQUENCE_NUMBER_INDEX] = 0;
+        }
+        // Each repeat extends the window, as remotes send their frames back-to-back as long as a button is pressed
+        return lastReceived.put(ByteBuffer.wrap(key), nanoTime) != null;
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.binding.rfxcom.internal.messages;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -88,6 +89,13 @@ public class RFXComMessageFactory {
                 }
             });
 
+    /**
+     * Constructors of the message classes taking the raw packet. The constructors are looked up once, instead of on
+     * every received packet.
+     */
+    private static final Map<PacketType, Constructor<? extends RFXComMessage>> MESSAGE_CONSTRUCTORS = Collections
+            .unmodifiableMap(createMessageConstructors());
+
     /**
      * Command to reset RFXCOM controller.
      *
@@ -132,23 +140,35 @@ public class RFXComMessageFactory {
         PacketType packetType = ByteEnumUtil.fromByte(PacketType.class, packet[1]);
 
         try {
-            Class<? extends RFXComMessage> cl = MESSAGE_CLASSES.get(packetType);
-            if (cl == null) {
+            Constructor<? extends RFXComMessage> c = MESSAGE_CONSTRUCTORS.get(packetType);
+            if (c == null) {
                 throw new RFXComMessageNotImplementedException("Message " + packetType + " not implemented");
             }
-            Constructor<?> c = cl.getConstructor(byte[].class);
-            return (RFXComMessage) c.newInstance(packet);
+            return c.newInstance(packet);
         } catch (InvocationTargetException e) {
             if (e.getCause() instanceof RFXComException) {
                 throw (RFXComException) e.getCause();
             } else {
                 throw new RFXComException(e);
             }
-        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException e) {
+        } catch (IllegalAccessException | InstantiationException e) {
             throw new RFXComException(e);
         }
     }
 
+    private static Map<PacketType, Constructor<? extends RFXComMessage>> createMessageConstructors() {
+        Map<PacketType, Constructor<? extends RFXComMessage>> constructors = new EnumMap<>(PacketType.class);
+
+        for (Map.Entry<PacketType, Class<? extends RFXComMessage>> entry : MESSAGE_CLASSES.entrySet()) {
+            try {
+                constructors.put(entry.getKey(), entry.getValue().getConstructor(byte[].class));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Message class " + entry.getValue() + " can't be constructed", e);
+            }
+        }
+        return constructors;
+    }
+
     public static PacketType convertPacketType(String packetType) throws IllegalArgumentException {
         for (PacketType p : PacketType.values()) {
             if (p.toString().replace("_", "").equals(packetType.replace("_", ""))) {
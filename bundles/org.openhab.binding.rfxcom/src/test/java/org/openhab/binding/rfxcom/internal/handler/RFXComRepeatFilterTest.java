@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.util.HexUtils;
+
+/**
+ * Test for {@link RFXComRepeatFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RFXComRepeatFilterTest {
+    private static final byte[] PACKET = HexUtils.hexToBytes("0B11000600109B520B000F80");
+    private static final byte[] PACKET_OTHER_SEQUENCE = HexUtils.hexToBytes("0B11000700109B520B000F80");
+    private static final byte[] PACKET_OTHER_COMMAND = HexUtils.hexToBytes("0B11000800109B520B010F80");
+    private static final byte[] PACKET_OTHER_DEVICE = HexUtils.hexToBytes("0B11000900109B530B000F80");
+
+    @Test
+    public void testRepeatWithinWindowIsSuppressed() {
+        RFXComRepeatFilter filter = new RFXComRepeatFilter(500);
+        long now = 0;
+
+        assertFalse(filter.isRepeat(PACKET, now));
+        assertTrue(filter.isRepeat(PACKET_OTHER_SEQUENCE, now + TimeUnit.MILLISECONDS.toNanos(100)));
+        assertTrue(filter.isRepeat(PACKET, now + TimeUnit.MILLISECONDS.toNanos(200)));
+    }
+
+    @Test
+    public void testRepeatAfterWindowIsNotSuppressed() {
+        RFXComRepeatFilter filter = new RFXComRepeatFilter(500);
+        long now = 0;
+
+        assertFalse(filter.isRepeat(PACKET, now));
+        assertFalse(filter.isRepeat(PACKET_OTHER_SEQUENCE, now + TimeUnit.MILLISECONDS.toNanos(600)));
+    }
+
+    @Test
+    public void testDifferentPacketIsNotSuppressed() {
+        RFXComRepeatFilter filter = new RFXComRepeatFilter(500);
+        long now = 0;
+
+        assertFalse(filter.isRepeat(PACKET, now));
+        assertFalse(filter.isRepeat(PACKET_OTHER_COMMAND, now + TimeUnit.MILLISECONDS.toNanos(100)));
+        // the first packet is still remembered
+        assertTrue(filter.isRepeat(PACKET, now + TimeUnit.MILLISECONDS.toNanos(200)));
+    }
+
+    @Test
+    public void testInterleavedRepeatsOfTwoDevicesAreSuppressed() {
+        RFXComRepeatFilter filter = new RFXComRepeatFilter(500);
+        long now = 0;
+
+        assertFalse(filter.isRepeat(PACKET, now));
+        assertFalse(filter.isRepeat(PACKET_OTHER_DEVICE, now + TimeUnit.MILLISECONDS.toNanos(50)));
+        assertTrue(filter.isRepeat(PACKET_OTHER_SEQUENCE, now + TimeUnit.MILLISECONDS.toNanos(100)));
+        assertTrue(filter.isRepeat(PACKET_OTHER_DEVICE, now + TimeUnit.MILLISECONDS.toNanos(150)));
+    }
+
+    @Test
+    public void testDisabledFilter() {
+        RFXComRepeatFilter filter = new RFXComRepeatFilter(0);
+
+        assertFalse(filter.isRepeat(PACKET, 0));
+        assertFalse(filter.isRepeat(PACKET, 1));
+    }
+}
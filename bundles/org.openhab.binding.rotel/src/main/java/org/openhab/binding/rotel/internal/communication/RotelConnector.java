@@ -295,14 +295,6 @@ public abstract class RotelConnector {
      */
     protected void cleanup() {
         Thread readerThread = this.readerThread;
-        if (readerThread != null) {
-            readerThread.interrupt();
-            try {
-                readerThread.join();
-            } catch (InterruptedException e) {
-            }
-            this.readerThread = null;
-        }
         OutputStream dataOut = this.dataOut;
         if (dataOut != null) {
             try {
@@ -314,11 +306,21 @@ public abstract class RotelConnector {
         InputStream dataIn = this.dataIn;
         if (dataIn != null) {
             try {
+                // unblocks the reader thread waiting for data
                 dataIn.close();
             } catch (IOException e) {
             }
             this.dataIn = null;
         }
+        if (readerThread != null) {
+            readerThread.interrupt();
+            this.readerThread = null;
+            try {
+                readerThread.join(3000);
+            } catch (InterruptedException e) {
+                logger.warn("Error joining readerThread: {}", e.getMessage());
+            }
+        }
     }
 
     /**
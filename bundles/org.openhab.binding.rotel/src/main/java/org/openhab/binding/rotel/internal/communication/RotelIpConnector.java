@@ -18,7 +18,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.net.Socket;
-import java.net.SocketTimeoutException;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -65,7 +64,6 @@ public class RotelIpConnector extends RotelConnector {
         logger.debug("Opening IP connection on IP {} port {}", this.address, this.port);
         try {
             Socket clientSocket = new Socket(this.address, this.port);
-            clientSocket.setSoTimeout(100);
 
             dataOut = new DataOutputStream(clientSocket.getOutputStream());
             dataIn = new DataInputStream(clientSocket.getInputStream());
@@ -89,15 +87,16 @@ public class RotelIpConnector extends RotelConnector {
     @Override
     public synchronized void close() {
         logger.debug("Closing IP connection");
-        super.cleanup();
         Socket clientSocket = this.clientSocket;
         if (clientSocket != null) {
             try {
+                // unblocks the reader thread waiting for data
                 clientSocket.close();
             } catch (IOException e) {
             }
             this.clientSocket = null;
         }
+        super.cleanup();
         setConnected(false);
         logger.debug("IP connection closed");
     }
@@ -105,16 +104,15 @@ public class RotelIpConnector extends RotelConnector {
     /**
      * Reads some number of bytes from the input stream and stores them into the buffer array b. The number of bytes
      * actually read is returned as an integer.
-     * In case of socket timeout, the returned value is 0.
+     * The call blocks until data is available. Closing the connection unblocks it.
      *
      * @param dataBuffer the buffer into which the data is read.
      *
-     * @return the total number of bytes read into the buffer, or -1 if there is no more data because the end of the
-     *         stream has been reached.
+     * @return the total number of bytes read into the buffer
      *
      * @throws RotelException - If the input stream is null, if the first byte cannot be read for any reason
-     *             other than the end of the file, if the input stream has been closed, or if some other I/O error
-     *             occurs.
+     *             other than the end of the file, if the end of the stream has been reached, if the input stream
+     *             has been closed, or if some other I/O error occurs.
      * @throws InterruptedIOException - if the thread was interrupted during the reading of the input stream
      */
     @Override
@@ -124,9 +122,11 @@ public class RotelIpConnector extends RotelConnector {
             throw new RotelException("readInput failed: input stream is null");
         }
         try {
-            return dataIn.read(dataBuffer);
-        } catch (SocketTimeoutException e) {
-            return 0;
+            int len = dataIn.read(dataBuffer);
+            if (len < 0) {
+                throw new RotelException("readInput failed: end of stream reached");
+            }
+            return len;
         } catch (IOException e) {
             logger.debug("readInput failed: {}", e.getMessage());
             throw new RotelException("readInput failed: " + e.getMessage());
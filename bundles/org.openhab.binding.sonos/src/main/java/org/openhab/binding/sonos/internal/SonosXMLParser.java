@@ -17,11 +17,15 @@ import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -58,6 +62,17 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    // Creating a SAX parser is expensive compared to parsing the small documents sent by the Zone Players, so parsers
+    // are reused. A parser is taken from the pool for the duration of a parse, so nested parses get their own parser.
+    private static final int READER_POOL_SIZE = 8;
+    private static final BlockingQueue<XMLReader> READER_POOL = new ArrayBlockingQueue<>(READER_POOL_SIZE);
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
+    // The same track and resource meta data is received repeatedly in events of all members of a group
+    private static final int METADATA_CACHE_SIZE = 32;
+    private static final Map<String, SonosMetaData> METADATA_CACHE = createCache();
+    private static final Map<String, SonosResourceMetaData> RESOURCE_METADATA_CACHE = createCache();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -92,9 +107,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +125,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,8 +144,11 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
-        reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        SonosResourceMetaData cached = RESOURCE_METADATA_CACHE.get(xml);
+        if (cached != null) {
+            return cached;
+        }
+        XMLReader reader = acquireReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
         reader.setContentHandler(handler);
         try {
@@ -143,8 +157,14 @@ public class SonosXMLParser {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
             LOGGER.error("Could not parse Resource MetaData from string '{}'", xml);
+        } finally {
+            releaseReader(reader);
+        }
+        SonosResourceMetaData metaData = handler.getMetaData();
+        if (metaData != null) {
+            RESOURCE_METADATA_CACHE.put(xml, metaData);
         }
-        return handler.getMetaData();
+        return metaData;
     }
 
     /**
@@ -157,9 +177,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -173,9 +191,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -189,9 +205,7 @@ public class SonosXMLParser {
     public static Map<String, String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -204,9 +218,7 @@ public class SonosXMLParser {
     public static Map<String, String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -217,27 +229,31 @@ public class SonosXMLParser {
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) {
+        SonosMetaData cached = METADATA_CACHE.get(xml);
+        if (cached != null) {
+            return cached;
+        }
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
+            return handler.getMetaData();
         } catch (SAXException s) {
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
+            return handler.getMetaData();
         }
 
-        return handler.getMetaData();
+        SonosMetaData metaData = handler.getMetaData();
+        METADATA_CACHE.put(xml, metaData);
+        return metaData;
     }
 
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -247,6 +263,46 @@ public class SonosXMLParser {
         return handler.getServices();
     }
 
+    private static <V> Map<String, V> createCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(METADATA_CACHE_SIZE, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, V> eldest) {
+                return size() > METADATA_CACHE_SIZE;
+            }
+        });
+    }
+
+    private static XMLReader acquireReader() throws SAXException {
+        XMLReader reader = READER_POOL.poll();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+            reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        }
+        return reader;
+    }
+
+    private static void releaseReader(XMLReader reader) {
+        // do not keep a reference to the handler and its results
+        reader.setContentHandler(NO_HANDLER);
+        READER_POOL.offer(reader);
+    }
+
+    private static void parse(String xml, DefaultHandler handler) throws IOException, SAXException {
+        parse(new InputSource(new StringReader(xml)), handler);
+    }
+
+    private static void parse(InputSource source, DefaultHandler handler) throws IOException, SAXException {
+        XMLReader reader = acquireReader();
+        try {
+            reader.setContentHandler(handler);
+            reader.parse(source);
+        } finally {
+            releaseReader(reader);
+        }
+    }
+
     private static class EntryHandler extends DefaultHandler {
 
         // Maintain a set of elements about which it is unuseful to complain about.
@@ -936,10 +992,8 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(new InputSource(url.openStream()), roomNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -975,10 +1029,8 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(new InputSource(url.openStream()), modelNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -484,10 +484,14 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             // pre-process some variables, eg XML processing
             if (service.equals(SERVICE_AV_TRANSPORT) && variable.equals("LastChange")) {
                 Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
-                parsedValues.forEach((variable1, value1) -> {
+                boolean mediaChanged = false;
+                for (Map.Entry<String, String> entry : parsedValues.entrySet()) {
+                    String variable1 = entry.getKey();
+                    String value1 = entry.getValue();
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
                     if (!variable1.equals("TransportState")) {
+                        mediaChanged |= hasValueChanged(value1, stateMap.get(variable1));
                         onValueReceived(variable1, value1, service);
                     }
                     // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
@@ -497,10 +501,18 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                     } else if (variable1.equals("AVTransportURIMetaData")) {
                         onValueReceived("CurrentURIMetaData", value1, service);
                     }
-                });
-                updateMediaInformation();
-                if (parsedValues.get("TransportState") != null) {
-                    onValueReceived("TransportState", parsedValues.get("TransportState"), service);
+                }
+                // Media information is derived from the other variables, don't rebuild it (and possibly query the
+                // radio station) when a play state change is the only change in the event, unless the information
+                // isn't part of the event
+                String transportState = parsedValues.get("TransportState");
+                if (mediaChanged || (transportState != null
+                        && hasValueChanged(transportState, stateMap.get("TransportState"))
+                        && isMediaInformationRefreshedOnTransportState())) {
+                    updateMediaInformation();
+                }
+                if (transportState != null) {
+                    onValueReceived("TransportState", transportState, service);
                 }
             }
 
@@ -1199,6 +1211,19 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         return getUDN().equals(getCoordinator());
     }
 
+    /**
+     * Check whether the media information has to be refreshed when the transport state changes. The information of
+     * radio streams is queried from the OPML service and the information of group members is updated by the
+     * coordinator, so it is not part of the AVTransport events of this zone player.
+     *
+     * @return true if the media information is refreshed on a transport state change
+     */
+    private boolean isMediaInformationRefreshedOnTransportState() {
+        String currentURI = getCurrentURI();
+        return isPlayingStream(currentURI) || isPlayingRadioStartedByAmazonEcho(currentURI)
+                || getZoneGroupMembers().size() > 1;
+    }
+
     protected void updateMediaInformation() {
         String currentURI = getCurrentURI();
         SonosMetaData currentTrack = getTrackMetadata();
@@ -127,7 +127,7 @@ public class ImperiHomeApiServlet extends HttpServlet {
         actionRegistry = new ActionRegistry(eventPublisher, deviceRegistry);
         itemProcessor = new ItemProcessor(itemRegistry, deviceRegistry, actionRegistry, imperiHomeConfig);
         roomListHandler = new RoomListHandler(deviceRegistry);
-        devicesListHandler = new DevicesListHandler(deviceRegistry);
+        devicesListHandler = new DevicesListHandler(deviceRegistry, gson);
         deviceActionHandler = new DeviceActionHandler(deviceRegistry);
         deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry);
 
@@ -223,7 +223,9 @@ public class ImperiHomeApiServlet extends HttpServlet {
         if (URL_PATTERN_ROOMS.matcher(path).matches()) {
             response = roomListHandler.handle(req);
         } else if (URL_PATTERN_DEVICES.matcher(path).matches()) {
-            response = devicesListHandler.handle(req);
+            // Writes its cached response itself
+            devicesListHandler.handle(req, resp);
+            return;
         } else if (actionMatcher.matches()) {
             deviceActionHandler.handle(req, actionMatcher);
         } else if (historyMatcher.matches()) {
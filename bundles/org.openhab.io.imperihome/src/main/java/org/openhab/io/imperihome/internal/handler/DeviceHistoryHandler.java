@@ -39,13 +39,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Device history request handler.
+ * Device history request handler. The history is downsampled to at most {@value #MAX_HISTORY_POINTS} points by averaging
+ * the values in equally sized time buckets.
  *
  * @author Pepijn de Geus - Initial contribution
  */
 public class DeviceHistoryHandler {
 
     private static final String CHARSET = "UTF-8";
+    private static final int MAX_HISTORY_POINTS = 500;
 
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
@@ -105,14 +107,26 @@ public class DeviceHistoryHandler {
         if (!iterator.hasNext()) {
             logger.info("Persistence returned no results for history query");
         } else {
+            long bucketSize = Math.max(1, (end - start + MAX_HISTORY_POINTS - 1) / MAX_HISTORY_POINTS);
+            Bucket bucket = null;
             while (iterator.hasNext()) {
                 HistoricItem historicItem = iterator.next();
                 State state = historicItem.getState();
                 if (state instanceof DecimalType) {
-                    Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp().toInstant().toEpochMilli(), value));
+                    long date = historicItem.getTimestamp().toInstant().toEpochMilli();
+                    long bucketIndex = Math.floorDiv(date - start, bucketSize);
+                    if (bucket == null || bucket.index != bucketIndex) {
+                        if (bucket != null) {
+                            resultItems.add(bucket.toHistoryItem());
+                        }
+                        bucket = new Bucket(bucketIndex);
+                    }
+                    bucket.add(date, ((DecimalType) state).toBigDecimal());
                 }
             }
+            if (bucket != null) {
+                resultItems.add(bucket.toHistoryItem());
+            }
 
             if (resultItems.isEmpty()) {
                 logger.warn(
@@ -122,4 +136,35 @@ public class DeviceHistoryHandler {
 
         return new HistoryList(resultItems);
     }
+
+    /**
+     * Values of a time bucket, averaged to a single history item.
+     */
+    private static class Bucket {
+        private final long index;
+        private long dateSum;
+        private double valueSum;
+        private Number firstValue;
+        private int count;
+
+        Bucket(long index) {
+            this.index = index;
+        }
+
+        void add(long date, Number value) {
+            if (count == 0) {
+                firstValue = value;
+            }
+            dateSum += date;
+            valueSum += value.doubleValue();
+            count++;
+        }
+
+        HistoryItem toHistoryItem() {
+            if (count == 1) {
+                return new HistoryItem(dateSum, firstValue);
+            }
+            return new HistoryItem(dateSum / count, valueSum / count);
+        }
+    }
 }
@@ -12,18 +12,24 @@
  */
 package org.openhab.io.imperihome.internal.handler;
 
+import java.io.IOException;
 import java.util.Collection;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
 import org.openhab.io.imperihome.internal.model.device.DeviceList;
 import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
+import org.openhab.io.imperihome.internal.util.DigestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
- * Device list request handler.
+ * Device list request handler. The serialized device list is cached and only regenerated when the version of the
+ * {@link DeviceRegistry} changed. Clients sending the ETag of the current list get a 304 Not Modified response.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -32,12 +38,42 @@ public class DevicesListHandler {
     private final Logger logger = LoggerFactory.getLogger(DevicesListHandler.class);
 
     private final DeviceRegistry deviceRegistry;
+    private final Gson gson;
+
+    private long cachedVersion = -1;
+    private String cachedJson;
+    private String cachedETag;
 
-    public DevicesListHandler(DeviceRegistry deviceRegistry) {
+    public DevicesListHandler(DeviceRegistry deviceRegistry, Gson gson) {
         this.deviceRegistry = deviceRegistry;
+        this.gson = gson;
     }
 
-    public DeviceList handle(HttpServletRequest req) {
+    public void handle(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String json;
+        String eTag;
+        synchronized (this) {
+            updateCache();
+            json = cachedJson;
+            eTag = cachedETag;
+        }
+
+        resp.setHeader("ETag", eTag);
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null && ifNoneMatch.contains(eTag)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.getWriter().write(json);
+    }
+
+    private void updateCache() {
+        // Read the version first, changes during serialization cause another update with the next request
+        long version = deviceRegistry.getVersion();
+        if (version == cachedVersion) {
+            return;
+        }
+
         DeviceList response = new DeviceList();
 
         Collection<AbstractDevice> devices = deviceRegistry.getDevices().values();
@@ -48,6 +84,8 @@ public class DevicesListHandler {
         response.setDevices(devices);
 
         logger.debug("Device list response: {}", response);
-        return response;
+        cachedJson = gson.toJson(response);
+        cachedETag = '"' + DigestUtil.sha1(cachedJson) + '"';
+        cachedVersion = version;
     }
 }
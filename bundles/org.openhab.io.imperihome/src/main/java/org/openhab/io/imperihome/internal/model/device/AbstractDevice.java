@@ -140,7 +140,10 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void addParam(DeviceParam param) {
         logger.trace("Setting param for device {}: {}", this, param);
-        params.set(param);
+        DeviceRegistry registry = deviceRegistry;
+        if (params.set(param) && registry != null) {
+            registry.markChanged();
+        }
     }
 
     public Map<String, String> getLinks() {
@@ -48,14 +48,7 @@ public class MultiSwitchDevice extends AbstractDevice {
                 mapping.values().stream().collect(Collectors.joining(",")));
         addParam(choicesParam);
 
-        // Find current value text
-        String currentValue = "";
-        if (mapping.containsKey(itemValue)) {
-            currentValue = mapping.get(itemValue);
-        }
-
-        DeviceParam valueParam = new DeviceParam(ParamType.MULTISWITCH_VALUE, currentValue);
-        addParam(valueParam);
+        addValueParam(mapping);
     }
 
     @Override
@@ -66,5 +59,22 @@ public class MultiSwitchDevice extends AbstractDevice {
         if (state instanceof DecimalType) {
             itemValue = String.valueOf(((DecimalType) state).intValue());
         }
+
+        // The device list is only updated if a param changed
+        Map<String, String> mapping = getMapping();
+        if (mapping != null && !mapping.isEmpty()) {
+            addValueParam(mapping);
+        }
+    }
+
+    private void addValueParam(Map<String, String> mapping) {
+        // Find current value text
+        String currentValue = "";
+        if (mapping.containsKey(itemValue)) {
+            currentValue = mapping.get(itemValue);
+        }
+
+        DeviceParam valueParam = new DeviceParam(ParamType.MULTISWITCH_VALUE, currentValue);
+        addParam(valueParam);
     }
 }
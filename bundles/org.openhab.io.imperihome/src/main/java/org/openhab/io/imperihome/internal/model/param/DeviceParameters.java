@@ -25,7 +25,13 @@ public class DeviceParameters extends HashMap<ParamType, DeviceParam> {
 
     private static final long serialVersionUID = -3877582034887195137L;
 
-    public void set(DeviceParam param) {
-        put(param.getKey(), param);
+    /**
+     * Sets a parameter.
+     *
+     * @param param Parameter to set.
+     * @return true if the parameter was added or its value changed.
+     */
+    public boolean set(DeviceParam param) {
+        return !param.equals(put(param.getKey(), param));
     }
 }
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.openhab.io.imperihome.internal.model.Room;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -26,7 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The device registry stores created devices by ID.
+ * The device registry stores created devices by ID. It keeps a version number which changes whenever a device is added
+ * or removed or a parameter of a device changes.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -35,6 +37,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
     private final Logger logger = LoggerFactory.getLogger(DeviceRegistry.class);
 
     private final Map<String, AbstractDevice> devices;
+    private final AtomicLong version = new AtomicLong();
     private Set<Room> rooms;
 
     public DeviceRegistry() {
@@ -70,8 +73,11 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
             return;
         }
 
+        // Registry is also used to report parameter changes
+        device.setDeviceRegistry(this);
         devices.put(device.getId(), device);
         updateRooms();
+        markChanged();
 
         logger.debug("Device {} added, registry now contains {} total", device.getName(), devices.size());
     }
@@ -80,11 +86,26 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         AbstractDevice removed = devices.remove(deviceId);
         if (removed != null) {
             updateRooms();
+            markChanged();
             logger.debug("Device {} removed, registry now contains {} total", removed.getName(), devices.size());
         }
         return removed;
     }
 
+    /**
+     * @return Version of the devices and their parameters, changes with every modification.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Signals a modification of a device.
+     */
+    public void markChanged() {
+        version.incrementAndGet();
+    }
+
     @Override
     public Iterator<AbstractDevice> iterator() {
         return devices.values().iterator();
@@ -99,6 +120,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         if (rooms != null) {
             rooms.clear();
         }
+        markChanged();
 
         logger.debug("Device registry cleared");
     }
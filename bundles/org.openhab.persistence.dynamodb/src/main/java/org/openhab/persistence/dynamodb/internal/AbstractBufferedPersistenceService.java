@@ -54,12 +54,24 @@ public abstract class AbstractBufferedPersistenceService<T> implements Persisten
         writeImmediately = bufferSize == 0;
     }
 
+    /**
+     * Whether every item is written before store() returns, instead of being buffered.
+     */
+    protected boolean isWriteImmediately() {
+        return writeImmediately;
+    }
+
     protected abstract T persistenceItemFromState(String name, State state, ZonedDateTime time);
 
     protected abstract boolean isReadyToStore();
 
     protected abstract void flushBufferedData();
 
+    /**
+     * Starts writing the buffered data in the background, without waiting for the write to complete.
+     */
+    protected abstract void flushBufferedDataAsync();
+
     @Override
     public void store(Item item) {
         store(item, null);
@@ -102,9 +114,10 @@ public abstract class AbstractBufferedPersistenceService<T> implements Persisten
                         System.currentTimeMillis() - bufferStart, System.currentTimeMillis() - storeStart, uuid);
             } else {
                 logger.debug(
-                        "Buffer is full. Writing buffered data immediately and trying again. Consider increasing bufferSize");
-                // Buffer is full, commit it immediately
-                flushBufferedData();
+                        "Buffer is full. Writing buffered data in the background and trying again. Consider increasing bufferSize");
+                // Buffer is full, commit it immediately. Draining the buffer is quick, the caller just waits for free
+                // space instead of the writes to DynamoDB
+                flushBufferedDataAsync();
                 boolean buffered2 = addToBuffer(persistenceItem);
                 if (buffered2) {
                     logger.debug("Buffered item in {} ms (2nd try, flushed buffer in-between) [{}]",
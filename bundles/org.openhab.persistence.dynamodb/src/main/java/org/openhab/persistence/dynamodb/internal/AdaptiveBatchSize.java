@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Number of items to write to a table with a single batch write request.
+ *
+ * The size is halved whenever DynamoDB throttles the writes of the table, and grows by one item for every batch that is
+ * written completely, until it reaches the maximum again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptiveBatchSize {
+    private final int min;
+    private final int max;
+    private int size;
+
+    /**
+     * @param min minimum batch size, at least 1
+     * @param max maximum batch size, also the initial size
+     */
+    public AdaptiveBatchSize(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Invalid batch size range " + min + ".." + max);
+        }
+        this.min = min;
+        this.max = max;
+        this.size = max;
+    }
+
+    public synchronized int get() {
+        return size;
+    }
+
+    /**
+     * Grows the batch size after a batch was written completely.
+     */
+    public synchronized void onSuccess() {
+        size = Math.min(max, size + 1);
+    }
+
+    /**
+     * Shrinks the batch size after DynamoDB throttled the writes.
+     */
+    public synchronized void onThrottled() {
+        size = Math.max(min, size / 2);
+    }
+}
@@ -17,6 +17,7 @@ import org.slf4j.LoggerFactory;
 
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
@@ -33,13 +34,27 @@ public class DynamoDBClient {
     private AmazonDynamoDB client;
 
     public DynamoDBClient(AWSCredentials credentials, Regions region) {
-        client = AmazonDynamoDBClientBuilder.standard().withRegion(region)
-                .withCredentials(new AWSStaticCredentialsProvider(credentials)).build();
+        this(credentials, region, null);
+    }
+
+    /**
+     * @param endpoint service endpoint to use instead of the endpoint of the region, e.g. http://localhost:8000 for
+     *            DynamoDB Local. Ignored if null.
+     */
+    public DynamoDBClient(AWSCredentials credentials, Regions region, String endpoint) {
+        AmazonDynamoDBClientBuilder builder = AmazonDynamoDBClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(credentials));
+        if (endpoint == null) {
+            builder.withRegion(region);
+        } else {
+            builder.withEndpointConfiguration(new EndpointConfiguration(endpoint, region.getName()));
+        }
+        client = builder.build();
         dynamo = new DynamoDB(client);
     }
 
     public DynamoDBClient(DynamoDBConfig clientConfig) {
-        this(clientConfig.getCredentials(), clientConfig.getRegion());
+        this(clientConfig.getCredentials(), clientConfig.getRegion(), clientConfig.getEndpoint());
     }
 
     public AmazonDynamoDB getDynamoClient() {
@@ -50,6 +50,7 @@ public class DynamoDBConfig {
     private long writeCapacityUnits = DEFAULT_WRITE_CAPACITY_UNITS;
     private long bufferCommitIntervalMillis = DEFAULT_BUFFER_COMMIT_INTERVAL_MILLIS;
     private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private @Nullable String endpoint;
 
     /**
      *
@@ -141,8 +142,15 @@ public class DynamoDBConfig {
                 bufferSize = Integer.parseInt(bufferSizeParam);
             }
 
+            String endpoint = (String) config.get("endpoint");
+            if (endpoint == null || endpoint.isBlank()) {
+                endpoint = null;
+            } else {
+                LOGGER.debug("Using endpoint {}", endpoint);
+            }
+
             return new DynamoDBConfig(region, credentials, table, createTable, readCapacityUnits, writeCapacityUnits,
-                    bufferCommitIntervalMillis, bufferSize);
+                    bufferCommitIntervalMillis, bufferSize, endpoint);
         } catch (Exception e) {
             LOGGER.error("Error with configuration", e);
             return null;
@@ -151,6 +159,13 @@ public class DynamoDBConfig {
 
     public DynamoDBConfig(Regions region, AWSCredentials credentials, String table, boolean createTable,
             long readCapacityUnits, long writeCapacityUnits, long bufferCommitIntervalMillis, int bufferSize) {
+        this(region, credentials, table, createTable, readCapacityUnits, writeCapacityUnits, bufferCommitIntervalMillis,
+                bufferSize, null);
+    }
+
+    public DynamoDBConfig(Regions region, AWSCredentials credentials, String table, boolean createTable,
+            long readCapacityUnits, long writeCapacityUnits, long bufferCommitIntervalMillis, int bufferSize,
+            @Nullable String endpoint) {
         this.region = region;
         this.credentials = credentials;
         this.tablePrefix = table;
@@ -159,6 +174,7 @@ public class DynamoDBConfig {
         this.writeCapacityUnits = writeCapacityUnits;
         this.bufferCommitIntervalMillis = bufferCommitIntervalMillis;
         this.bufferSize = bufferSize;
+        this.endpoint = endpoint;
     }
 
     public AWSCredentials getCredentials() {
@@ -192,4 +208,11 @@ public class DynamoDBConfig {
     public int getBufferSize() {
         return bufferSize;
     }
+
+    /**
+     * @return service endpoint overriding the endpoint of the region, e.g. of DynamoDB Local. Null if not configured.
+     */
+    public @Nullable String getEndpoint() {
+        return endpoint;
+    }
 }
@@ -23,10 +23,15 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -57,6 +62,7 @@ import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.DefaultBatchWriteRetryStrategy;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
@@ -64,6 +70,7 @@ import com.amazonaws.services.dynamodbv2.document.BatchWriteItemOutcome;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndex;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
 import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
 import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.TableStatus;
@@ -92,77 +99,129 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
 
     protected static final String CONFIG_URI = "persistence:dynamodb";
 
+    /**
+     * Retries writing unprocessed items with exponential back-off. With buffered writes every attempt is scheduled on
+     * the scheduler, so that no thread sleeps while waiting for the next attempt. Without buffer the attempts are made
+     * in the calling thread, so that the items are written when store() returns.
+     */
     private class ExponentialBackoffRetry implements Runnable {
+        private final String tableName;
         private int retry;
         private Map<String, List<WriteRequest>> unprocessedItems;
         private @Nullable Exception lastException;
 
-        public ExponentialBackoffRetry(Map<String, List<WriteRequest>> unprocessedItems) {
+        public ExponentialBackoffRetry(String tableName, Map<String, List<WriteRequest>> unprocessedItems) {
+            this.tableName = tableName;
             this.unprocessedItems = unprocessedItems;
         }
 
-        @Override
-        public void run() {
-            logger.debug("Error storing object to dynamo, unprocessed items: {}. Retrying with exponential back-off",
-                    unprocessedItems);
-            lastException = null;
-            while (!unprocessedItems.isEmpty() && retry < WAIT_MILLIS_IN_RETRIES.length) {
-                if (!sleep()) {
-                    // Interrupted
-                    return;
-                }
-                retry++;
+        public void start() {
+            if (isWriteImmediately()) {
+                runInCallingThread();
+            } else {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            try {
+                scheduler.schedule(this, nextDelay(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                logger.warn("DynamoDB persistence service was shut down. Not retrying to write unprocessed items: {}",
+                        unprocessedItems);
+            }
+        }
+
+        private void runInCallingThread() {
+            do {
                 try {
-                    BatchWriteItemOutcome outcome = DynamoDBPersistenceService.this.db.getDynamoDB()
-                            .batchWriteItemUnprocessed(unprocessedItems);
-                    unprocessedItems = outcome.getUnprocessedItems();
-                    lastException = null;
-                } catch (AmazonServiceException e) {
-                    if (e instanceof ResourceNotFoundException) {
-                        logger.debug(
-                                "DynamoDB query raised unexpected exception: {}. This might happen if table was recently created",
-                                e.getMessage());
-                    } else {
-                        logger.debug("DynamoDB query raised unexpected exception: {}.", e.getMessage());
-                    }
-                    lastException = e;
-                    continue;
+                    Thread.sleep(nextDelay());
+                } catch (InterruptedException e) {
+                    logger.debug("Interrupted while writing data!");
+                    Thread.currentThread().interrupt();
+                    return;
                 }
+            } while (attempt());
+        }
+
+        private long nextDelay() {
+            if (retry == 1 && lastException instanceof ResourceNotFoundException) {
+                return WAIT_ON_FIRST_RESOURCE_NOT_FOUND_MILLIS;
             }
-            if (unprocessedItems.isEmpty()) {
-                logger.debug("After {} retries successfully wrote all unprocessed items", retry);
-            } else {
-                logger.warn(
-                        "Even after retries failed to write some items. Last exception: {} {}, unprocessed items: {}",
-                        lastException == null ? "null" : lastException.getClass().getName(),
-                        lastException == null ? "null" : lastException.getMessage(), unprocessedItems);
+            return WAIT_MILLIS_IN_RETRIES[retry];
+        }
+
+        @Override
+        public void run() {
+            if (attempt()) {
+                schedule();
             }
         }
 
-        private boolean sleep() {
+        /**
+         * Makes a single attempt to write the unprocessed items.
+         *
+         * @return whether another attempt should be made
+         */
+        private boolean attempt() {
+            DynamoDBClient localDb = db;
+            if (localDb == null) {
+                logger.warn("DynamoDB client was shut down. Not retrying to write unprocessed items: {}",
+                        unprocessedItems);
+                return false;
+            }
+            retry++;
             try {
-                long sleepTime;
-                if (retry == 1 && lastException != null && lastException instanceof ResourceNotFoundException) {
-                    sleepTime = WAIT_ON_FIRST_RESOURCE_NOT_FOUND_MILLIS;
+                BatchWriteItemOutcome outcome = localDb.getDynamoDB().batchWriteItemUnprocessed(unprocessedItems);
+                unprocessedItems = outcome.getUnprocessedItems();
+                lastException = null;
+                if (!unprocessedItems.isEmpty()) {
+                    getBatchSize(tableName).onThrottled();
+                }
+            } catch (AmazonServiceException e) {
+                if (e instanceof ResourceNotFoundException) {
+                    logger.debug(
+                            "DynamoDB query raised unexpected exception: {}. This might happen if table was recently created",
+                            e.getMessage());
                 } else {
-                    sleepTime = WAIT_MILLIS_IN_RETRIES[retry];
+                    logger.debug("DynamoDB query raised unexpected exception: {}.", e.getMessage());
                 }
-                Thread.sleep(sleepTime);
+                if (e instanceof ProvisionedThroughputExceededException) {
+                    getBatchSize(tableName).onThrottled();
+                }
+                lastException = e;
+            } catch (RuntimeException e) {
+                // Scheduled tasks swallow unexpected exceptions, log them instead
+                logger.warn("Unexpected exception when retrying to write unprocessed items", e);
+                lastException = e;
+            }
+            if (unprocessedItems.isEmpty()) {
+                logger.debug("After {} retries successfully wrote all unprocessed items", retry);
+            } else if (retry < WAIT_MILLIS_IN_RETRIES.length) {
                 return true;
-            } catch (InterruptedException e) {
-                logger.debug("Interrupted while writing data!");
-                return false;
+            } else {
+                Exception e = lastException;
+                logger.warn(
+                        "Even after retries failed to write some items. Last exception: {} {}, unprocessed items: {}",
+                        e == null ? "null" : e.getClass().getName(), e == null ? "null" : e.getMessage(),
+                        unprocessedItems);
             }
-        }
-
-        public Map<String, List<WriteRequest>> getUnprocessedItems() {
-            return unprocessedItems;
+            return false;
         }
     }
 
     private static final int WAIT_ON_FIRST_RESOURCE_NOT_FOUND_MILLIS = 5000;
     private static final int[] WAIT_MILLIS_IN_RETRIES = new int[] { 100, 100, 200, 300, 500 };
     private static final String DYNAMODB_THREADPOOL_NAME = "dynamodbPersistenceService";
+    private static final String DYNAMODB_WRITER_THREADPOOL_NAME = "dynamodbPersistenceServiceWriter";
+    /**
+     * Maximum number of items in a single BatchWriteItem request
+     */
+    private static final int MAX_BATCH_SIZE = 25;
+    /**
+     * Number of tables written in parallel, there is one table for numbers and one for strings
+     */
+    private static final int WRITER_THREADS = 2;
 
     private final ItemRegistry itemRegistry;
     private @Nullable DynamoDBClient db;
@@ -170,9 +229,14 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
     private boolean isProperlyConfigured;
     private @NonNullByDefault({}) DynamoDBConfig dbConfig;
     private @NonNullByDefault({}) DynamoDBTableNameResolver tableNameResolver;
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2,
             new NamedThreadFactory(DYNAMODB_THREADPOOL_NAME));
+    private final ExecutorService writers = Executors.newFixedThreadPool(WRITER_THREADS,
+            new NamedThreadFactory(DYNAMODB_WRITER_THREADPOOL_NAME));
     private @Nullable ScheduledFuture<?> writeBufferedDataFuture;
+    private final AtomicBoolean asyncFlushPending = new AtomicBoolean();
+    private final Map<String, DynamoDBMapper> mappers = new ConcurrentHashMap<>();
+    private final Map<String, AdaptiveBatchSize> batchSizes = new ConcurrentHashMap<>();
 
     @Activate
     public DynamoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -242,6 +306,8 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
             writeBufferedDataFuture.cancel(false);
             writeBufferedDataFuture = null;
         }
+        writers.shutdown();
+        scheduler.shutdown();
         resetClient();
     }
 
@@ -351,16 +417,26 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
         }
         db.shutdown();
         db = null;
+        mappers.clear();
         dbConfig = null;
         tableNameResolver = null;
         isProperlyConfigured = false;
     }
 
+    /**
+     * Gets the mapper of a table. Mappers are created once per table and client.
+     */
     private DynamoDBMapper getDBMapper(String tableName) {
+        return mappers.computeIfAbsent(tableName, this::createDBMapper);
+    }
+
+    private DynamoDBMapper createDBMapper(String tableName) {
         try {
+            // Unprocessed items are retried by ExponentialBackoffRetry, instead of the mapper sleeping between retries
             DynamoDBMapperConfig mapperConfig = new DynamoDBMapperConfig.Builder()
                     .withTableNameOverride(new DynamoDBMapperConfig.TableNameOverride(tableName))
-                    .withPaginationLoadingStrategy(PaginationLoadingStrategy.LAZY_LOADING).build();
+                    .withPaginationLoadingStrategy(PaginationLoadingStrategy.LAZY_LOADING)
+                    .withBatchWriteRetryStrategy(new DefaultBatchWriteRetryStrategy(0)).build();
             return new DynamoDBMapper(db.getDynamoClient(), mapperConfig);
         } catch (AmazonClientException e) {
             logger.error("Error getting db mapper: {}", e.getMessage());
@@ -397,20 +473,42 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
 
         for (;;) {
             Map<String, Deque<DynamoDBItem<?>>> itemsByTable = readBuffer();
-            // Write batch of data, one table at a time
+            // Write batches of data, all tables in parallel
+            List<CompletableFuture<Void>> writes = new ArrayList<>(itemsByTable.size());
             for (Entry<String, Deque<DynamoDBItem<?>>> entry : itemsByTable.entrySet()) {
                 String tableName = entry.getKey();
                 Deque<DynamoDBItem<?>> batch = entry.getValue();
                 if (!batch.isEmpty()) {
-                    flushBatch(getDBMapper(tableName), batch);
+                    writes.add(CompletableFuture.runAsync(() -> flushBatch(tableName, batch), writers)
+                            .exceptionally(e -> {
+                                logger.warn("Writing batch of data to table {} failed unexpectedly", tableName, e);
+                                return null;
+                            }));
                 }
             }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
             if (buffer != null && buffer.isEmpty()) {
                 break;
             }
         }
     }
 
+    @Override
+    protected void flushBufferedDataAsync() {
+        // At most one pending flush, it writes everything buffered until it runs
+        if (!asyncFlushPending.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.execute(() -> {
+            asyncFlushPending.set(false);
+            try {
+                flushBufferedData();
+            } catch (RuntimeException e) {
+                logger.warn("Flushing of buffered data failed unexpectedly", e);
+            }
+        });
+    }
+
     private Map<String, Deque<DynamoDBItem<?>>> readBuffer() {
         Map<String, Deque<DynamoDBItem<?>>> batchesByTable = new HashMap<>(2);
         // Get batch of data
@@ -431,53 +529,77 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
         return batchesByTable;
     }
 
+    private AdaptiveBatchSize getBatchSize(String tableName) {
+        return batchSizes.computeIfAbsent(tableName, t -> new AdaptiveBatchSize(1, MAX_BATCH_SIZE));
+    }
+
     /**
      * Flush batch of data to DynamoDB
      *
-     * @param mapper mapper associated with the batch
+     * The batch is written with requests of the current batch size of the table. Failed items are retried in the
+     * background, or before returning if the data is written immediately.
+     *
+     * @param tableName table of the batch
      * @param batch batch of data to write to DynamoDB
      */
-    private void flushBatch(DynamoDBMapper mapper, Deque<DynamoDBItem<?>> batch) {
+    private void flushBatch(String tableName, Deque<DynamoDBItem<?>> batch) {
         long currentTimeMillis = System.currentTimeMillis();
-        List<FailedBatch> failed = mapper.batchSave(batch);
-        for (FailedBatch failedBatch : failed) {
-            if (failedBatch.getException() instanceof ResourceNotFoundException) {
-                // Table did not exist. Try again after creating table
-                retryFlushAfterCreatingTable(mapper, batch, failedBatch);
+        int batchItems = batch.size();
+        DynamoDBMapper mapper = getDBMapper(tableName);
+        AdaptiveBatchSize batchSize = getBatchSize(tableName);
+        boolean anyFailed = false;
+        List<DynamoDBItem<?>> request = new ArrayList<>(MAX_BATCH_SIZE);
+        while (!batch.isEmpty()) {
+            request.clear();
+            for (int i = batchSize.get(); i > 0 && !batch.isEmpty(); i--) {
+                request.add(batch.poll());
+            }
+            List<FailedBatch> failed = mapper.batchSave(request);
+            for (FailedBatch failedBatch : failed) {
+                Exception e = failedBatch.getException();
+                if (e instanceof ResourceNotFoundException) {
+                    // Table did not exist. Try again after creating table
+                    retryFlushAfterCreatingTable(tableName, mapper, request, failedBatch);
+                } else {
+                    if (e == null || e instanceof ProvisionedThroughputExceededException) {
+                        batchSize.onThrottled();
+                    }
+                    logger.debug("Batch failed with {}. Retrying next with exponential back-off",
+                            e == null ? "unprocessed items" : e.getMessage());
+                    new ExponentialBackoffRetry(tableName, failedBatch.getUnprocessedItems()).start();
+                }
+            }
+            if (failed.isEmpty()) {
+                batchSize.onSuccess();
             } else {
-                logger.debug("Batch failed with {}. Retrying next with exponential back-off",
-                        failedBatch.getException().getMessage());
-                new ExponentialBackoffRetry(failedBatch.getUnprocessedItems()).run();
+                anyFailed = true;
             }
         }
-        if (failed.isEmpty()) {
-            logger.debug("flushBatch ended with {} items in {} ms: {}", batch.size(),
-                    System.currentTimeMillis() - currentTimeMillis, batch);
+        if (!anyFailed) {
+            logger.debug("flushBatch ended with {} items in {} ms, batch size now {}", batchItems,
+                    System.currentTimeMillis() - currentTimeMillis, batchSize.get());
         } else {
             logger.warn(
-                    "flushBatch ended with {} items in {} ms: {}. There were some failed batches that were retried -- check logs for ERRORs to see if writes were successful",
-                    batch.size(), System.currentTimeMillis() - currentTimeMillis, batch);
+                    "flushBatch ended with {} items in {} ms, batch size now {}. There were some failed batches that were retried -- check logs for ERRORs to see if writes were successful",
+                    batchItems, System.currentTimeMillis() - currentTimeMillis, batchSize.get());
         }
     }
 
     /**
      * Retry flushing data after creating table associated with mapper
      *
+     * @param tableName table of the batch
      * @param mapper mapper associated with the batch
      * @param batch original batch of data. Used for logging and to determine table name
      * @param failedBatch failed batch that should be retried
      */
-    private void retryFlushAfterCreatingTable(DynamoDBMapper mapper, Deque<DynamoDBItem<?>> batch,
+    private void retryFlushAfterCreatingTable(String tableName, DynamoDBMapper mapper, List<DynamoDBItem<?>> batch,
             FailedBatch failedBatch) {
         logger.debug("Table was not found. Trying to create table and try saving again");
-        if (createTable(mapper, batch.peek().getClass())) {
+        if (createTable(mapper, batch.get(0).getClass())) {
             logger.debug("Table creation successful, trying to save again");
             if (!failedBatch.getUnprocessedItems().isEmpty()) {
-                ExponentialBackoffRetry retry = new ExponentialBackoffRetry(failedBatch.getUnprocessedItems());
-                retry.run();
-                if (retry.getUnprocessedItems().isEmpty()) {
-                    logger.debug("Successfully saved items after table creation");
-                }
+                new ExponentialBackoffRetry(tableName, failedBatch.getUnprocessedItems()).start();
             }
         } else {
             logger.warn("Table creation failed. Not storing some parts of batch: {}. Unprocessed items: {}", batch,
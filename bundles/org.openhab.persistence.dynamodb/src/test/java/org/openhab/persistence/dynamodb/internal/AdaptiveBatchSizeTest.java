@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class AdaptiveBatchSizeTest {
+
+    @Test
+    public void testStartsWithMaximum() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(1, 25);
+        assertEquals(25, batchSize.get());
+        batchSize.onSuccess();
+        assertEquals(25, batchSize.get());
+    }
+
+    @Test
+    public void testThrottlingHalvesUntilMinimum() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(1, 25);
+        batchSize.onThrottled();
+        assertEquals(12, batchSize.get());
+        batchSize.onThrottled();
+        batchSize.onThrottled();
+        batchSize.onThrottled();
+        assertEquals(1, batchSize.get());
+        batchSize.onThrottled();
+        assertEquals(1, batchSize.get());
+    }
+
+    @Test
+    public void testSuccessGrowsByOne() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(1, 25);
+        batchSize.onThrottled();
+        batchSize.onSuccess();
+        batchSize.onSuccess();
+        assertEquals(14, batchSize.get());
+    }
+
+    @Test
+    public void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSize(0, 25));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSize(5, 4));
+    }
+}
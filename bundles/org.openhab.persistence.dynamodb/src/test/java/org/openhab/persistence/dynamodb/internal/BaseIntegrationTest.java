@@ -182,6 +182,11 @@ public class BaseIntegrationTest {
         value = System.getProperty("DYNAMODBTEST_SECRET");
         config.put("secretKey", value != null ? value : "");
         config.put("tablePrefix", "dynamodb-integration-tests-");
+        // Optional, e.g. http://localhost:8000 for DynamoDB Local
+        value = System.getProperty("DYNAMODBTEST_ENDPOINT");
+        if (value != null && !value.isBlank()) {
+            config.put("endpoint", value);
+        }
 
         // Disable buffering
         config.put("bufferSize", "0");
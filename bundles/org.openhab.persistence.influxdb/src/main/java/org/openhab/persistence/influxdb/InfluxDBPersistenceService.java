@@ -12,17 +12,28 @@
  */
 package org.openhab.persistence.influxdb;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemRegistry;
@@ -39,6 +50,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpool;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
@@ -81,6 +93,11 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
 
     protected static final String CONFIG_URI = "persistence:influxdb";
 
+    private static final String SPOOL_FILE_NAME = "spool.lp";
+    private static final long SPOOL_REPLAY_INTERVAL_SECONDS = 10;
+    private static final int SPOOL_REPLAY_BATCH_SIZE = 5000;
+    private static final int SPOOL_REPLAY_MAX_BATCHES = 10;
+
     // External dependencies
     private final ItemRegistry itemRegistry;
     private final MetadataRegistry metadataRegistry;
@@ -92,6 +109,13 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
     private @NonNullByDefault({}) ItemToStorePointCreator itemToStorePointCreator;
     private @NonNullByDefault({}) InfluxDBRepository influxDBRepository;
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(InfluxDBPersistenceService.class.getSimpleName());
+    private @Nullable InfluxDBSpool spool;
+    private @Nullable ScheduledFuture<?> spoolReplayJob;
+    // false while points are spooled because InfluxDB isn't available
+    private volatile boolean serverAvailable = true;
+
     @Activate
     public InfluxDBPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference MetadataRegistry metadataRegistry) {
@@ -109,7 +133,9 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
         if (loadConfiguration(config)) {
             itemToStorePointCreator = new ItemToStorePointCreator(configuration, metadataRegistry);
             influxDBRepository = createInfluxDBRepository();
-            influxDBRepository.connect();
+            influxDBRepository.setFailedWritesHandler(this::spool);
+            serverAvailable = influxDBRepository.connect();
+            openSpool();
         } else {
             logger.error("Cannot load configuration, persistence service wont work");
         }
@@ -128,6 +154,7 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("InfluxDB persistence service deactivated");
+        closeSpool();
         if (influxDBRepository != null) {
             influxDBRepository.disconnect();
             influxDBRepository = null;
@@ -152,6 +179,83 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private void openSpool() {
+        int spoolSizeMB = configuration.getSpoolSizeMB();
+        if (spoolSizeMB > 0) {
+            Path spoolFile = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve(SERVICE_NAME)
+                    .resolve(SPOOL_FILE_NAME);
+            try {
+                spool = new InfluxDBSpool(spoolFile, spoolSizeMB * 1024L * 1024L);
+                spoolReplayJob = scheduler.scheduleWithFixedDelay(this::replaySpool, SPOOL_REPLAY_INTERVAL_SECONDS,
+                        SPOOL_REPLAY_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Cannot open spool file {}, points won't be spooled: {}", spoolFile, e.getMessage());
+            }
+        }
+    }
+
+    private void closeSpool() {
+        ScheduledFuture<?> currentSpoolReplayJob = spoolReplayJob;
+        if (currentSpoolReplayJob != null) {
+            currentSpoolReplayJob.cancel(false);
+            spoolReplayJob = null;
+        }
+        InfluxDBSpool currentSpool = spool;
+        if (currentSpool != null) {
+            spool = null;
+            try {
+                currentSpool.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close spool file: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Spools points until InfluxDB is available again, without spool file they are lost
+     */
+    private void spool(List<String> lines) {
+        InfluxDBSpool currentSpool = spool;
+        if (currentSpool != null) {
+            serverAvailable = false;
+            long dropped = lines.stream().filter(line -> !currentSpool.append(line)).count();
+            if (dropped > 0) {
+                logger.warn("Spool is full, dropped {} points", dropped);
+            } else {
+                logger.trace("Spooled {} points", lines.size());
+            }
+        }
+    }
+
+    /**
+     * Replays spooled points in batches, limited per run to not overload InfluxDB after an outage
+     */
+    private void replaySpool() {
+        InfluxDBSpool currentSpool = spool;
+        InfluxDBRepository currentRepository = influxDBRepository;
+        if (currentSpool == null || currentRepository == null || (serverAvailable && currentSpool.isEmpty())) {
+            return;
+        }
+        if (!currentRepository.checkConnectionStatus()) {
+            logger.debug("InfluxDB is still not available, {} bytes of points spooled", currentSpool.getUsedBytes());
+            return;
+        }
+        for (int i = 0; i < SPOOL_REPLAY_MAX_BATCHES && !currentSpool.isEmpty(); i++) {
+            List<String> lines = currentSpool.peek(SPOOL_REPLAY_BATCH_SIZE);
+            if (!currentRepository.writeLineProtocol(lines)) {
+                return;
+            }
+            currentSpool.remove(lines.size());
+        }
+        if (currentSpool.isEmpty()) {
+            serverAvailable = true;
+            logger.info("Replayed spooled points, in total {} spooled, {} replayed and {} dropped",
+                    currentSpool.getSpooledCount(), currentSpool.getReplayedCount(), currentSpool.getDroppedCount());
+        } else {
+            logger.debug("Replaying spooled points, {} bytes left", currentSpool.getUsedBytes());
+        }
+    }
+
     private boolean loadConfiguration(@Nullable Map<String, Object> config) {
         boolean configurationIsValid;
         if (config != null) {
@@ -199,13 +303,17 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        if (influxDBRepository != null && influxDBRepository.isConnected()) {
+        InfluxDBSpool currentSpool = spool;
+        if (influxDBRepository != null && (influxDBRepository.isConnected() || currentSpool != null)) {
             InfluxPoint point = itemToStorePointCreator.convert(item, alias);
-            if (point != null) {
+            if (point == null) {
+                logger.trace("Ignoring item {} as is cannot be converted to a InfluxDB point", item);
+            } else if (currentSpool == null || (serverAvailable && influxDBRepository.isConnected())) {
                 logger.trace("Storing item {} in InfluxDB point {}", item, point);
                 influxDBRepository.write(point);
             } else {
-                logger.trace("Ignoring item {} as is cannot be converted to a InfluxDB point", item);
+                logger.trace("Spooling item {} as InfluxDB point {}", item, point);
+                spool(List.of(influxDBRepository.toLineProtocol(point)));
             }
         } else {
             logger.debug("store ignored, InfluxDB is not yet connected");
@@ -225,18 +333,47 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
             String query = RepositoryFactory.createQueryCreator(configuration).createQuery(filter,
                     configuration.getRetentionPolicy());
             logger.trace("Query {}", query);
-            List<InfluxRow> results = influxDBRepository.query(query);
-            return results.stream().map(this::mapRow2HistoricItem).collect(Collectors.toList());
+            final InfluxDBRepository repository = influxDBRepository;
+            return () -> new HistoricItemIterator(repository.queryStream(query));
         } else {
             logger.debug("query ignored, InfluxDB is not yet connected");
             return Collections.emptyList();
         }
     }
 
-    private HistoricItem mapRow2HistoricItem(InfluxRow row) {
-        State state = InfluxDBStateConvertUtils.objectToState(row.getValue(), row.getItemName(), itemRegistry);
-        return new InfluxDBHistoricItem(row.getItemName(), state,
-                ZonedDateTime.ofInstant(row.getTime(), ZoneId.systemDefault()));
+    /**
+     * Converts the streamed rows of a query to historic items while they are iterated. The item of the rows and its
+     * state type are resolved once per query instead of once per row.
+     */
+    private class HistoricItemIterator implements Iterator<HistoricItem> {
+        private final Iterator<InfluxRow> rows;
+        private final Map<String, Function<Object, State>> stateConverters = new HashMap<>(2);
+
+        HistoricItemIterator(Iterator<InfluxRow> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public HistoricItem next() {
+            InfluxRow row = rows.next();
+            Function<Object, State> stateConverter = stateConverters.computeIfAbsent(row.getItemName(),
+                    this::createStateConverter);
+            return new InfluxDBHistoricItem(row.getItemName(), stateConverter.apply(row.getValue()),
+                    ZonedDateTime.ofInstant(row.getTime(), ZoneId.systemDefault()));
+        }
+
+        private Function<Object, State> createStateConverter(String itemName) {
+            Item item = itemRegistry.get(itemName);
+            if (item == null) {
+                logger.info("Could not find item '{}' in registry", itemName);
+            }
+            return InfluxDBStateConvertUtils.stateConverter(item);
+        }
     }
 
     @Override
@@ -12,8 +12,10 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -44,7 +46,7 @@ public interface InfluxDBRepository {
     void disconnect();
 
     /**
-     * Check if connection is currently ready
+     * Check if connection is currently ready, only changes of the status are logged
      *
      * @return True if its ready, otherwise false
      */
@@ -65,10 +67,41 @@ public interface InfluxDBRepository {
      */
     List<InfluxRow> query(String query);
 
+    /**
+     * Executes query streaming its results, rows are received from the server while they are iterated
+     *
+     * @param query Query
+     * @return Query results, the query is cancelled if they aren't iterated to the end
+     */
+    Iterator<InfluxRow> queryStream(String query);
+
     /**
      * Write point to database
      *
      * @param influxPoint Point to write
      */
     void write(InfluxPoint influxPoint);
+
+    /**
+     * Write points given in line protocol with millisecond precision to database
+     *
+     * @param lines Points in line protocol
+     * @return True if they have been written, otherwise false
+     */
+    boolean writeLineProtocol(List<String> lines);
+
+    /**
+     * Converts point to line protocol with millisecond precision
+     *
+     * @param influxPoint Point to convert
+     * @return Point in line protocol
+     */
+    String toLineProtocol(InfluxPoint influxPoint);
+
+    /**
+     * Sets the handler of points that the client failed to write in the background
+     *
+     * @param handler Handler receiving the points in line protocol
+     */
+    void setFailedWritesHandler(Consumer<List<String>> handler);
 }
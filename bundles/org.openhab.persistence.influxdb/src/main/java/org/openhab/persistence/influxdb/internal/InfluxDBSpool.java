@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only spool of points in line protocol, stored in a memory-mapped file of bounded size.
+ *
+ * Points are spooled while InfluxDB can't be reached and replayed in batches when it's available again. The file
+ * starts with a header holding the positions of the first unread and the next written line, each line is stored
+ * with its length. Read lines are discarded when the file gets full, when there is still no space new lines are
+ * dropped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpool implements AutoCloseable {
+    private static final int MAGIC = 0x494E464C;
+    private static final int READ_POSITION_OFFSET = 4;
+    private static final int WRITE_POSITION_OFFSET = 12;
+    static final int HEADER_SIZE = 20; // Visible for testing
+    /**
+     * Maximum size of the file, a memory-mapped region is limited to 2 GB
+     */
+    private static final long MAX_SIZE = Integer.MAX_VALUE;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpool.class);
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+
+    private long readPosition;
+    private long writePosition;
+    private long spooledCount;
+    private long replayedCount;
+    private long droppedCount;
+
+    /**
+     * Opens the spool file, keeping the lines not yet replayed from a previous run.
+     *
+     * @param path spool file
+     * @param maxSize maximum size of the file in bytes, a bigger existing file keeps its size. The size is limited to
+     *            2 GB.
+     * @throws IOException if the file can't be created or mapped
+     */
+    public InfluxDBSpool(Path path, long maxSize) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        file = new RandomAccessFile(path.toFile(), "rw");
+        try {
+            long size = Math.max(Math.max(maxSize, HEADER_SIZE + 4), file.length());
+            if (size > MAX_SIZE) {
+                logger.warn("Spool size of {} bytes exceeds the maximum, using {} bytes", size, MAX_SIZE);
+                size = MAX_SIZE;
+            }
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+        readPosition = buffer.getLong(READ_POSITION_OFFSET);
+        writePosition = buffer.getLong(WRITE_POSITION_OFFSET);
+        if (buffer.getInt(0) != MAGIC || readPosition < HEADER_SIZE || writePosition < readPosition
+                || writePosition > buffer.capacity()) {
+            if (buffer.getInt(0) != 0) {
+                logger.warn("Spool file {} is invalid, discarding its content", path);
+            }
+            buffer.putInt(0, MAGIC);
+            reset();
+        } else if (!isEmpty()) {
+            logger.info("Spool file {} contains {} bytes of points to replay", path, getUsedBytes());
+        }
+    }
+
+    /**
+     * Appends a point to the spool.
+     *
+     * @param line Point in line protocol
+     * @return True if it was spooled, false if it was dropped because the spool is full
+     */
+    public synchronized boolean append(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int recordSize = 4 + bytes.length;
+        if (writePosition + recordSize > buffer.capacity()) {
+            compact();
+            if (writePosition + recordSize > buffer.capacity()) {
+                droppedCount++;
+                return false;
+            }
+        }
+        int position = (int) writePosition;
+        buffer.putInt(position, bytes.length);
+        buffer.position(position + 4);
+        buffer.put(bytes);
+        writePosition += recordSize;
+        buffer.putLong(WRITE_POSITION_OFFSET, writePosition);
+        spooledCount++;
+        return true;
+    }
+
+    /**
+     * Returns the oldest spooled lines without removing them, see {@link #remove(int)}.
+     *
+     * @param maxLines Maximum number of lines to return
+     * @return Spooled lines in the order they were appended
+     */
+    public synchronized List<String> peek(int maxLines) {
+        List<String> lines = new ArrayList<>(Math.min(maxLines, 1024));
+        long position = readPosition;
+        while (lines.size() < maxLines && position < writePosition) {
+            int length = buffer.getInt((int) position);
+            byte[] bytes = new byte[length];
+            buffer.position((int) position + 4);
+            buffer.get(bytes);
+            lines.add(new String(bytes, StandardCharsets.UTF_8));
+            position += 4 + length;
+        }
+        return lines;
+    }
+
+    /**
+     * Removes the oldest spooled lines after they have been replayed.
+     *
+     * @param count Number of lines to remove
+     */
+    public synchronized void remove(int count) {
+        for (int i = 0; i < count && readPosition < writePosition; i++) {
+            readPosition += 4 + buffer.getInt((int) readPosition);
+            replayedCount++;
+        }
+        if (isEmpty()) {
+            reset();
+        } else {
+            buffer.putLong(READ_POSITION_OFFSET, readPosition);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    public synchronized long getUsedBytes() {
+        return writePosition - readPosition;
+    }
+
+    public synchronized long getSpooledCount() {
+        return spooledCount;
+    }
+
+    public synchronized long getReplayedCount() {
+        return replayedCount;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Writes the spool to disk and closes the file, the mapping is released by the garbage collector.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        file.close();
+    }
+
+    /**
+     * Moves the unread lines to the start of the file to get space for new lines.
+     */
+    private void compact() {
+        if (readPosition == HEADER_SIZE) {
+            return;
+        }
+        int length = (int) (writePosition - readPosition);
+        byte[] unread = new byte[length];
+        buffer.position((int) readPosition);
+        buffer.get(unread);
+        buffer.position(HEADER_SIZE);
+        buffer.put(unread);
+        readPosition = HEADER_SIZE;
+        writePosition = HEADER_SIZE + length;
+        buffer.putLong(WRITE_POSITION_OFFSET, writePosition);
+        buffer.putLong(READ_POSITION_OFFSET, readPosition);
+    }
+
+    private void reset() {
+        readPosition = HEADER_SIZE;
+        writePosition = HEADER_SIZE;
+        buffer.putLong(READ_POSITION_OFFSET, readPosition);
+        buffer.putLong(WRITE_POSITION_OFFSET, writePosition);
+    }
+}
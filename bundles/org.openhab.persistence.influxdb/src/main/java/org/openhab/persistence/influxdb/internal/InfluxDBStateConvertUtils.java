@@ -16,6 +16,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.TimeZone;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -112,32 +113,42 @@ public class InfluxDBStateConvertUtils {
     }
 
     public static State objectToState(Object value, Item itemToSetState) {
-        String valueStr = String.valueOf(value);
+        return stateConverter(itemToSetState).apply(value);
+    }
 
+    /**
+     * Resolves the {@link State} type of an {@link Item} once, to convert many values queried for it.
+     *
+     * @param itemToSetState the item to convert values for, if null values are converted to {@link StringType}
+     * @return function converting values to states suitable for the item
+     */
+    public static Function<Object, State> stateConverter(@Nullable Item itemToSetState) {
         Item item = itemToSetState;
         if (item instanceof GroupItem) {
             item = ((GroupItem) item).getBaseItem();
         }
         if (item instanceof ColorItem) {
-            return new HSBType(valueStr);
+            return value -> new HSBType(String.valueOf(value));
         } else if (item instanceof LocationItem) {
-            return new PointType(valueStr);
+            return value -> new PointType(String.valueOf(value));
         } else if (item instanceof NumberItem) {
-            return new DecimalType(valueStr);
+            return value -> new DecimalType(String.valueOf(value));
         } else if (item instanceof DimmerItem) {
-            return new PercentType(valueStr);
+            return value -> new PercentType(String.valueOf(value));
         } else if (item instanceof SwitchItem) {
-            return toBoolean(valueStr) ? OnOffType.ON : OnOffType.OFF;
+            return value -> toBoolean(String.valueOf(value)) ? OnOffType.ON : OnOffType.OFF;
         } else if (item instanceof ContactItem) {
-            return toBoolean(valueStr) ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            return value -> toBoolean(String.valueOf(value)) ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
         } else if (item instanceof RollershutterItem) {
-            return new PercentType(valueStr);
+            return value -> new PercentType(String.valueOf(value));
         } else if (item instanceof DateTimeItem) {
-            Instant i = Instant.ofEpochMilli(new BigDecimal(valueStr).longValue());
-            ZonedDateTime z = ZonedDateTime.ofInstant(i, TimeZone.getDefault().toZoneId());
-            return new DateTimeType(z);
+            return value -> {
+                Instant i = Instant.ofEpochMilli(new BigDecimal(String.valueOf(value)).longValue());
+                ZonedDateTime z = ZonedDateTime.ofInstant(i, TimeZone.getDefault().toZoneId());
+                return new DateTimeType(z);
+            };
         } else {
-            return new StringType(valueStr);
+            return value -> new StringType(String.valueOf(value));
         }
     }
 
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rows of a query which are streamed by the client while they are iterated.
+ *
+ * The client pushes the rows from its own thread with {@link #offer(InfluxRow)} and signals the end of the query with
+ * {@link #complete()} or {@link #fail(Throwable)}. Only a limited number of rows is kept in between, so the client
+ * waits for the consumer. If the consumer stops iterating, the waiting times out and {@link #offer(InfluxRow)} returns
+ * false to let the client cancel the query. The query is cancelled as well if the {@link #iterator()} handed out to the
+ * consumer is abandoned.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingQueryResult implements Iterator<InfluxRow> {
+    static final int DEFAULT_CAPACITY = 1000; // Visible for testing
+    static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60); // Visible for testing
+
+    private static final Object END = new Object();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Logger logger = LoggerFactory.getLogger(StreamingQueryResult.class);
+    private final BlockingQueue<Object> queue;
+    private final long timeoutMillis;
+
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+    private volatile boolean ended;
+    private volatile @Nullable Runnable cancelQuery;
+    private @Nullable InfluxRow next;
+
+    public StreamingQueryResult() {
+        this(DEFAULT_CAPACITY, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param capacity maximum number of rows that are received but not yet iterated
+     * @param timeoutMillis how long the client waits for the consumer and the consumer waits for the client
+     */
+    public StreamingQueryResult(int capacity, long timeoutMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Returns an iterator of the rows for the consumer. If the iterator is garbage collected before all rows were
+     * iterated, the query is cancelled.
+     *
+     * @return Iterator of the rows
+     */
+    public Iterator<InfluxRow> iterator() {
+        Iterator<InfluxRow> iterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return StreamingQueryResult.this.hasNext();
+            }
+
+            @Override
+            public InfluxRow next() {
+                return StreamingQueryResult.this.next();
+            }
+        };
+        CLEANER.register(iterator, this::abandon);
+        return iterator;
+    }
+
+    /**
+     * Sets how the query is cancelled by the client. It is cancelled immediately if the iteration was stopped already.
+     *
+     * @param cancelQuery Cancels the query
+     */
+    public void setCancellable(Runnable cancelQuery) {
+        this.cancelQuery = cancelQuery;
+        if (cancelled) {
+            cancelQuery.run();
+        }
+    }
+
+    /**
+     * Adds a row received by the client.
+     *
+     * @param row Received row
+     * @return True if the query should go on, false if the consumer stopped iterating and the query should be
+     *         cancelled
+     */
+    public boolean offer(InfluxRow row) {
+        return !cancelled && put(row);
+    }
+
+    /**
+     * Signals that the client received all rows. Only the first end of the query signalled is passed to the consumer.
+     */
+    public void complete() {
+        if (!cancelled && !ended) {
+            ended = true;
+            put(END);
+        }
+    }
+
+    /**
+     * Signals that the query failed, the rows received so far are still iterated.
+     *
+     * @param error Query error
+     */
+    public void fail(Throwable error) {
+        if (!cancelled && !ended) {
+            ended = true;
+            put(error);
+        }
+    }
+
+    /**
+     * Stops the iteration and discards the remaining rows, the client is cancelled with its next row.
+     */
+    public void cancel() {
+        cancelled = true;
+        finished = true;
+        next = null;
+        queue.clear();
+        cancelQuery();
+    }
+
+    private void abandon() {
+        if (!finished) {
+            logger.debug("Rows of the query were abandoned, cancelling it");
+            cancel();
+        }
+    }
+
+    private void cancelQuery() {
+        Runnable cancelQuery = this.cancelQuery;
+        if (cancelQuery != null) {
+            cancelQuery.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private boolean put(Object element) {
+        try {
+            if (queue.offer(element, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            logger.debug("Rows of the query haven't been iterated within {} ms, cancelling it", timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        cancelled = true;
+        queue.clear();
+        cancelQuery();
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished || cancelled) {
+            return false;
+        }
+        Object element;
+        try {
+            element = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            element = null;
+        }
+        if (element instanceof InfluxRow) {
+            next = (InfluxRow) element;
+            return true;
+        }
+        if (element == END) {
+            finished = true;
+            return false;
+        }
+        if (element == null) {
+            logger.warn("No result from InfluxDB within {} ms, cancelling the query", timeoutMillis);
+        } else if (element instanceof Throwable) {
+            logger.warn("Query failed: {}", ((Throwable) element).getMessage());
+        }
+        cancel();
+        return false;
+    }
+
+    @Override
+    public InfluxRow next() {
+        hasNext();
+        InfluxRow row = next;
+        next = null;
+        if (row == null) {
+            throw new NoSuchElementException();
+        }
+        return row;
+    }
+}
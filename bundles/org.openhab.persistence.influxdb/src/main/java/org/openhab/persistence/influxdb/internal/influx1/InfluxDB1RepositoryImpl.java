@@ -19,13 +19,20 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.influxdb.BatchOptions;
 import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBException;
 import org.influxdb.InfluxDBFactory;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Pong;
@@ -35,6 +42,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
+import org.openhab.persistence.influxdb.internal.StreamingQueryResult;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,15 +55,31 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
+    private static final int QUERY_CHUNK_SIZE = 1000;
+    /**
+     * Error of the result the client passes at the end of a chunked query
+     */
+    private static final String QUERY_DONE = "DONE";
+
     private final Logger logger = LoggerFactory.getLogger(InfluxDB1RepositoryImpl.class);
     private InfluxDBConfiguration configuration;
     @Nullable
     private InfluxDB client;
+    // result of the last connection check, so that only its changes are logged
+    private volatile boolean connected = true;
+    private volatile Consumer<List<String>> failedWritesHandler = lines -> {
+    };
 
     public InfluxDB1RepositoryImpl(InfluxDBConfiguration configuration) {
         this.configuration = configuration;
     }
 
+    // Visible for testing
+    InfluxDB1RepositoryImpl(InfluxDBConfiguration configuration, InfluxDB client) {
+        this.configuration = configuration;
+        this.client = client;
+    }
+
     @Override
     public boolean isConnected() {
         return client != null;
@@ -67,7 +91,12 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                 configuration.getPassword());
         createdClient.setDatabase(configuration.getDatabaseName());
         createdClient.setRetentionPolicy(configuration.getRetentionPolicy());
-        createdClient.enableBatch(200, 100, TimeUnit.MILLISECONDS);
+        createdClient.enableBatch(BatchOptions.DEFAULTS.actions(200).flushDuration(100)
+                .exceptionHandler(this::handleFailedWrite));
+        if (configuration.getSpoolSizeMB() > 0) {
+            // spooled points are replayed in large batches
+            createdClient.enableGzip();
+        }
         this.client = createdClient;
         return checkConnectionStatus();
     }
@@ -77,6 +106,11 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         this.client = null;
     }
 
+    /**
+     * Check if connection is currently ready. Only changes of the status are logged, so it can be checked periodically.
+     *
+     * @return True if its ready, otherwise false
+     */
     @Override
     public boolean checkConnectionStatus() {
         boolean dbStatus = false;
@@ -88,17 +122,21 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                 // may be check for version >= 0.9
                 if (version != null && !version.contains("unknown")) {
                     dbStatus = true;
-                    logger.debug("database status is OK, version is {}", version);
-                } else {
+                    if (!connected) {
+                        logger.debug("database status is OK, version is {}", version);
+                    }
+                } else if (connected) {
                     logger.warn("database ping error, version is: \"{}\" response time was \"{}\"", version,
                             pong.getResponseTime());
-                    dbStatus = false;
                 }
             } catch (RuntimeException e) {
-                dbStatus = false;
-                logger.error("database connection failed", e);
-                handleDatabaseException(e);
+                if (connected) {
+                    logger.warn("database connection failed: {}", e.getMessage());
+                } else {
+                    logger.debug("database connection failed: {}", e.getMessage());
+                }
             }
+            connected = dbStatus;
         } else {
             logger.warn("checkConnection: database is not connected");
         }
@@ -120,6 +158,41 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         }
     }
 
+    @Override
+    public boolean writeLineProtocol(List<String> lines) {
+        final InfluxDB currentClient = this.client;
+        if (currentClient != null) {
+            try {
+                currentClient.write(configuration.getDatabaseName(), configuration.getRetentionPolicy(),
+                        InfluxDB.ConsistencyLevel.ONE, TimeUnit.MILLISECONDS, lines);
+                return true;
+            } catch (RuntimeException e) {
+                handleDatabaseException(e);
+                return false;
+            }
+        } else {
+            logger.warn("Write of {} points ignored due to client isn't connected", lines.size());
+            return false;
+        }
+    }
+
+    @Override
+    public String toLineProtocol(InfluxPoint point) {
+        return convertPointToClientFormat(point).lineProtocol(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void setFailedWritesHandler(Consumer<List<String>> handler) {
+        this.failedWritesHandler = handler;
+    }
+
+    private void handleFailedWrite(Iterable<Point> points, Throwable e) {
+        List<String> lines = StreamSupport.stream(points.spliterator(), false)
+                .map(point -> point.lineProtocol(TimeUnit.MILLISECONDS)).collect(Collectors.toList());
+        logger.warn("Writing {} points failed: {}", lines.size(), e.getMessage());
+        failedWritesHandler.accept(lines);
+    }
+
     private Point convertPointToClientFormat(InfluxPoint point) {
         Point.Builder clientPoint = Point.measurement(point.getMeasurementName()).time(point.getTime().toEpochMilli(),
                 TimeUnit.MILLISECONDS);
@@ -155,8 +228,47 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         }
     }
 
+    @Override
+    public Iterator<InfluxRow> queryStream(String query) {
+        final InfluxDB currentClient = client;
+        if (currentClient != null) {
+            Query parsedQuery = new Query(query, configuration.getDatabaseName());
+            StreamingQueryResult result = new StreamingQueryResult();
+            currentClient.query(parsedQuery, QUERY_CHUNK_SIZE, (cancellable, queryResult) -> {
+                result.setCancellable(cancellable::cancel);
+                if (QUERY_DONE.equals(queryResult.getError())) {
+                    result.complete();
+                } else if (queryResult.getError() != null) {
+                    result.fail(new InfluxDBException(queryResult.getError()));
+                    cancellable.cancel();
+                } else if (!convertClientResult(queryResult.getResults(), result::offer)) {
+                    cancellable.cancel();
+                }
+            }, result::complete, result::fail);
+            return result.iterator();
+        } else {
+            logger.warn("Returning empty result because queryAPI isn't present");
+            return Collections.emptyIterator();
+        }
+    }
+
     private List<InfluxRow> convertClientResutToRepository(List<QueryResult.Result> results) {
         List<InfluxRow> rows = new ArrayList<>();
+        convertClientResult(results, rows::add);
+        return rows;
+    }
+
+    /**
+     * Passes the rows of the results to a consumer
+     *
+     * @param results Query results
+     * @param consumer Consumer of the rows, returning false to stop the conversion
+     * @return True if all rows have been passed to the consumer, false if it stopped the conversion
+     */
+    private boolean convertClientResult(@Nullable List<QueryResult.Result> results, Predicate<InfluxRow> consumer) {
+        if (results == null) {
+            return true;
+        }
         for (QueryResult.Result result : results) {
             List<QueryResult.Series> seriess = result.getSeries();
             if (result.getError() != null) {
@@ -190,18 +302,30 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                                 throw new IllegalStateException("missing column");
                             }
                             for (int i = 0; i < valuess.size(); i++) {
-                                Double rawTime = (Double) valuess.get(i).get(timestampColumn);
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
+                                Instant time = parseTime(valuess.get(i).get(timestampColumn));
                                 Object value = valuess.get(i).get(valueColumn);
                                 logger.trace("adding historic item {}: time {} value {}", itemName, time, value);
-                                rows.add(new InfluxRow(time, itemName, value));
+                                if (!consumer.test(new InfluxRow(time, itemName, value))) {
+                                    return false;
+                                }
                             }
                         }
                     }
                 }
             }
         }
-        return rows;
+        return true;
+    }
+
+    /**
+     * Times are epoch milliseconds for queries with precision, chunked queries return them as RFC3339 strings
+     */
+    private Instant parseTime(Object rawTime) {
+        if (rawTime instanceof Number) {
+            return Instant.ofEpochMilli(((Number) rawTime).longValue());
+        } else {
+            return Instant.parse(String.valueOf(rawTime));
+        }
     }
 
     @Override
@@ -15,10 +15,17 @@ package org.openhab.persistence.influxdb.internal.influx2;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -29,6 +36,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
+import org.openhab.persistence.influxdb.internal.StreamingQueryResult;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,9 +46,13 @@ import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.QueryApi;
 import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteApiBlocking;
 import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.events.WriteErrorEvent;
+import com.influxdb.client.write.events.WriteSuccessEvent;
+import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
 
 /**
@@ -50,6 +62,12 @@ import com.influxdb.query.FluxTable;
  */
 @NonNullByDefault
 public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
+    /**
+     * Maximum number of written points that are kept until the write API reports them as written
+     */
+    private static final int MAX_PENDING_LINES = 10_000;
+    private static final long CONNECTION_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
     private final Logger logger = LoggerFactory.getLogger(InfluxDB2RepositoryImpl.class);
     private InfluxDBConfiguration configuration;
     @Nullable
@@ -58,19 +76,31 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     private QueryApi queryAPI;
     @Nullable
     private WriteApi writeAPI;
+    @Nullable
+    private WriteApiBlocking writeBlockingAPI;
+    private volatile boolean connected;
+    private volatile long lastConnectionCheck;
+    // Points handed to the write API which haven't been reported as written yet
+    private final Set<String> pendingLines = new LinkedHashSet<>();
+    private volatile Consumer<List<String>> failedWritesHandler = lines -> {
+    };
 
     public InfluxDB2RepositoryImpl(InfluxDBConfiguration configuration) {
         this.configuration = configuration;
     }
 
     /**
-     * Returns if the client has been successfully connected to server
+     * Returns if the client has been successfully connected to server. The status is updated with the results of the
+     * writes, while the server isn't available it is checked again at most every 10 seconds.
      *
      * @return True if it's connected, otherwise false
      */
     @Override
     public boolean isConnected() {
-        return client != null;
+        if (client != null && !connected && System.nanoTime() - lastConnectionCheck > CONNECTION_CHECK_INTERVAL_NANOS) {
+            checkConnectionStatus();
+        }
+        return connected;
     }
 
     /**
@@ -91,11 +121,23 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         InfluxDBClientOptions clientOptions = optionsBuilder.build();
 
         final InfluxDBClient createdClient = InfluxDBClientFactory.create(clientOptions);
+        if (configuration.getSpoolSizeMB() > 0) {
+            // spooled points are replayed in large batches
+            createdClient.enableGzip();
+        }
         this.client = createdClient;
         logger.debug("Succesfully connected to InfluxDB. Instance ready={}", createdClient.ready());
         queryAPI = createdClient.getQueryApi();
-        writeAPI = createdClient.getWriteApi();
-        return checkConnectionStatus();
+        WriteApi createdWriteAPI = createdClient.getWriteApi();
+        createdWriteAPI.listen(WriteSuccessEvent.class, this::handleSuccessfulWrite);
+        createdWriteAPI.listen(WriteErrorEvent.class, this::handleFailedWrite);
+        writeAPI = createdWriteAPI;
+        writeBlockingAPI = createdClient.getWriteApiBlocking();
+        boolean isUp = checkConnectionStatus();
+        if (!isUp) {
+            logger.warn("database not ready");
+        }
+        return isUp;
     }
 
     /**
@@ -108,10 +150,14 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
             currentClient.close();
         }
         this.client = null;
+        connected = false;
+        synchronized (pendingLines) {
+            pendingLines.clear();
+        }
     }
 
     /**
-     * Check if connection is currently ready
+     * Check if connection is currently ready. Only changes of the status are logged, so it can be checked periodically.
      *
      * @return True if its ready, otherwise false
      */
@@ -119,13 +165,16 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     public boolean checkConnectionStatus() {
         final InfluxDBClient currentClient = client;
         if (currentClient != null) {
-            Ready ready = currentClient.ready();
-            boolean isUp = ready != null && ready.getStatus() == Ready.StatusEnum.READY;
-            if (isUp) {
-                logger.debug("database status is OK");
-            } else {
-                logger.warn("database not ready");
+            lastConnectionCheck = System.nanoTime();
+            boolean isUp;
+            try {
+                Ready ready = currentClient.ready();
+                isUp = ready != null && ready.getStatus() == Ready.StatusEnum.READY;
+            } catch (RuntimeException e) {
+                logger.debug("database ready check failed: {}", e.getMessage());
+                isUp = false;
             }
+            setConnected(isUp);
             return isUp;
         } else {
             logger.warn("checkConnection: database is not connected");
@@ -133,6 +182,16 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         }
     }
 
+    private void setConnected(boolean isUp) {
+        boolean wasUp = connected;
+        connected = isUp;
+        if (isUp && !wasUp) {
+            logger.debug("database status is OK");
+        } else if (!isUp && wasUp) {
+            logger.warn("database not ready");
+        }
+    }
+
     /**
      * Write point to database
      *
@@ -142,12 +201,80 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     public void write(InfluxPoint point) {
         final WriteApi currentWriteAPI = writeAPI;
         if (currentWriteAPI != null) {
-            currentWriteAPI.writePoint(convertPointToClientFormat(point));
+            String line = toLineProtocol(point);
+            synchronized (pendingLines) {
+                pendingLines.add(line);
+                Iterator<String> oldest = pendingLines.iterator();
+                while (pendingLines.size() > MAX_PENDING_LINES) {
+                    oldest.next();
+                    oldest.remove();
+                }
+            }
+            currentWriteAPI.writeRecord(WritePrecision.MS, line);
         } else {
             logger.warn("Write point {} ignored due to writeAPI isn't present", point);
         }
     }
 
+    /**
+     * Write points given in line protocol to database. They are written with the blocking write API, so they have
+     * been written to the database when it returns.
+     *
+     * @param lines Points in line protocol
+     * @return True if they have been written, otherwise false
+     */
+    @Override
+    public boolean writeLineProtocol(List<String> lines) {
+        final WriteApiBlocking currentWriteAPI = writeBlockingAPI;
+        if (currentWriteAPI != null) {
+            try {
+                currentWriteAPI.writeRecords(WritePrecision.MS, lines);
+                return true;
+            } catch (RuntimeException e) {
+                logger.warn("Writing {} points failed: {}", lines.size(), e.getMessage());
+                setConnected(false);
+                return false;
+            }
+        } else {
+            logger.warn("Write of {} points ignored due to writeAPI isn't present", lines.size());
+            return false;
+        }
+    }
+
+    @Override
+    public String toLineProtocol(InfluxPoint point) {
+        return convertPointToClientFormat(point).toLineProtocol();
+    }
+
+    /**
+     * The write API doesn't report which points failed to be written, so all points it hasn't reported as written yet
+     * are handed to the handler. Points which are written again just overwrite the same values.
+     */
+    @Override
+    public void setFailedWritesHandler(Consumer<List<String>> handler) {
+        this.failedWritesHandler = handler;
+    }
+
+    private void handleSuccessfulWrite(WriteSuccessEvent event) {
+        setConnected(true);
+        synchronized (pendingLines) {
+            pendingLines.removeAll(Arrays.asList(event.getLineProtocol().split("\n")));
+        }
+    }
+
+    private void handleFailedWrite(WriteErrorEvent event) {
+        logger.debug("Writing points failed: {}", event.getThrowable().getMessage());
+        setConnected(false);
+        List<String> lines;
+        synchronized (pendingLines) {
+            lines = new ArrayList<>(pendingLines);
+            pendingLines.clear();
+        }
+        if (!lines.isEmpty()) {
+            failedWritesHandler.accept(lines);
+        }
+    }
+
     private Point convertPointToClientFormat(InfluxPoint point) {
         Point clientPoint = Point.measurement(point.getMeasurementName()).time(point.getTime(), WritePrecision.MS);
         setPointValue(point.getValue(), clientPoint);
@@ -187,17 +314,43 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         }
     }
 
+    /**
+     * Executes Flux query streaming its results
+     *
+     * @param query Query
+     * @return Query results, the query is cancelled if they aren't iterated to the end
+     */
+    @Override
+    public Iterator<InfluxRow> queryStream(String query) {
+        final QueryApi currentQueryAPI = queryAPI;
+        if (currentQueryAPI != null) {
+            StreamingQueryResult result = new StreamingQueryResult();
+            currentQueryAPI.query(query, (cancellable, record) -> {
+                result.setCancellable(cancellable::cancel);
+                if (!result.offer(convertRecordToRepository(record))) {
+                    cancellable.cancel();
+                }
+            }, result::fail, result::complete);
+            return result.iterator();
+        } else {
+            logger.warn("Returning empty result because queryAPI isn't present");
+            return Collections.emptyIterator();
+        }
+    }
+
     private List<InfluxRow> convertClientResutToRepository(List<FluxTable> clientResult) {
         return clientResult.stream().flatMap(this::mapRawResultToHistoric).collect(Collectors.toList());
     }
 
     private Stream<InfluxRow> mapRawResultToHistoric(FluxTable rawRow) {
-        return rawRow.getRecords().stream().map(r -> {
-            String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
-            Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
-            Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
-            return new InfluxRow(time, itemName, value);
-        });
+        return rawRow.getRecords().stream().map(this::convertRecordToRepository);
+    }
+
+    private InfluxRow convertRecordToRepository(FluxRecord record) {
+        String itemName = (String) record.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
+        Object value = record.getValueByKey(COLUMN_VALUE_NAME_V2);
+        Instant time = (Instant) record.getValueByKey(COLUMN_TIME_NAME_V2);
+        return new InfluxRow(time, itemName, value);
     }
 
     /**
@@ -12,9 +12,14 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.DefaultLocation;
@@ -27,6 +32,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
 import org.openhab.persistence.influxdb.InfluxDBPersistenceService;
 
 /**
@@ -38,13 +46,14 @@ public class InfluxDBPersistenceServiceTest {
     private InfluxDBPersistenceService instance;
 
     private @Mock InfluxDBRepository influxDBRepository;
+    private @Mock ItemRegistry itemRegistry;
 
     private Map<String, Object> validConfig;
     private Map<String, Object> invalidConfig;
 
     @BeforeEach
     public void before() {
-        instance = new InfluxDBPersistenceService(mock(ItemRegistry.class), mock(MetadataRegistry.class)) {
+        instance = new InfluxDBPersistenceService(itemRegistry, mock(MetadataRegistry.class)) {
             @Override
             protected InfluxDBRepository createInfluxDBRepository() {
                 return influxDBRepository;
@@ -61,6 +70,7 @@ public class InfluxDBPersistenceServiceTest {
         invalidConfig = null;
         instance = null;
         influxDBRepository = null;
+        itemRegistry = null;
     }
 
     @Test
@@ -103,4 +113,24 @@ public class InfluxDBPersistenceServiceTest {
         instance.store(ItemTestHelper.createNumberItem("number", 5));
         verify(influxDBRepository, never()).write(any());
     }
+
+    @Test
+    public void queryShouldResolveItemOncePerQuery() {
+        instance.activate(validConfig);
+        when(influxDBRepository.isConnected()).thenReturn(true);
+        when(itemRegistry.get("number")).thenReturn(ItemTestHelper.createNumberItem("number", 5));
+        Instant now = Instant.now();
+        when(influxDBRepository.queryStream(any())).thenReturn(List.of(new InfluxRow(now, "number", 1),
+                new InfluxRow(now.plusSeconds(1), "number", 2), new InfluxRow(now.plusSeconds(2), "number", 3.5))
+                .iterator());
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName("number");
+        List<HistoricItem> result = new ArrayList<>();
+        instance.query(filter).forEach(result::add);
+
+        assertThat(result.size(), is(3));
+        assertThat(result.get(2).getState(), is(new DecimalType("3.5")));
+        verify(itemRegistry, times(1)).get("number");
+    }
 }
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault(value = { DefaultLocation.PARAMETER, DefaultLocation.RETURN_TYPE })
+public class InfluxDBSpoolTest {
+    private static final String LINE1 = "temperature,item=temperature value=21.5 1612321506789";
+    private static final String LINE2 = "switch,item=switch value=1i 1612321506790";
+    private static final String LINE3 = "text,item=text value=\"äöü\" 1612321506791";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void linesArePeekedInOrderUntilRemoved() throws IOException {
+        try (InfluxDBSpool spool = new InfluxDBSpool(folder.resolve("spool"), 1024)) {
+            spool.append(LINE1);
+            spool.append(LINE2);
+            spool.append(LINE3);
+
+            assertThat(spool.peek(2), is(List.of(LINE1, LINE2)));
+            spool.remove(2);
+            assertThat(spool.peek(2), is(List.of(LINE3)));
+            spool.remove(1);
+            assertThat(spool.isEmpty(), is(true));
+            assertThat(spool.getSpooledCount(), is(3L));
+            assertThat(spool.getReplayedCount(), is(3L));
+        }
+    }
+
+    @Test
+    public void linesAreKeptWhenReopened() throws IOException {
+        Path file = folder.resolve("spool");
+        try (InfluxDBSpool spool = new InfluxDBSpool(file, 1024)) {
+            spool.append(LINE1);
+            spool.append(LINE2);
+            spool.remove(1);
+        }
+        try (InfluxDBSpool spool = new InfluxDBSpool(file, 1024)) {
+            assertThat(spool.peek(10), is(List.of(LINE2)));
+        }
+    }
+
+    @Test
+    public void linesAreDroppedWhenFull() throws IOException {
+        int size = InfluxDBSpool.HEADER_SIZE + 2 * (4 + LINE1.length());
+        try (InfluxDBSpool spool = new InfluxDBSpool(folder.resolve("spool"), size)) {
+            assertThat(spool.append(LINE1), is(true));
+            assertThat(spool.append(LINE1), is(true));
+            assertThat(spool.append(LINE1), is(false));
+            assertThat(spool.getDroppedCount(), is(1L));
+
+            spool.remove(1);
+            assertThat(spool.append(LINE1), is(true));
+            assertThat(spool.peek(10), is(List.of(LINE1, LINE1)));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingQueryResultTest {
+
+    @Test
+    public void rowsOfProducerAreIteratedInOrder() {
+        StreamingQueryResult result = new StreamingQueryResult(10, 1000);
+        CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 100; i++) {
+                result.offer(new InfluxRow(Instant.ofEpochMilli(i), "item", i));
+            }
+            result.complete();
+        });
+
+        List<Object> values = new ArrayList<>();
+        result.forEachRemaining(row -> values.add(row.getValue()));
+
+        assertThat(values.size(), is(100));
+        assertThat(values.get(99), is(99));
+        assertThat(result.isCancelled(), is(false));
+    }
+
+    @Test
+    public void rowsBeforeFailureAreIterated() {
+        StreamingQueryResult result = new StreamingQueryResult(10, 1000);
+        result.offer(new InfluxRow(Instant.now(), "item", 1));
+        result.fail(new IllegalStateException("failed"));
+
+        assertThat(result.next().getValue(), is(1));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    public void producerIsCancelledWhenConsumerStopsIterating() throws Exception {
+        StreamingQueryResult result = new StreamingQueryResult(2, 50);
+        CompletableFuture<Integer> offered = CompletableFuture.supplyAsync(() -> {
+            int count = 0;
+            while (result.offer(new InfluxRow(Instant.now(), "item", count))) {
+                count++;
+            }
+            return count;
+        });
+
+        result.next();
+
+        assertThat(offered.get(5, TimeUnit.SECONDS) < 10, is(true));
+        assertThat(result.isCancelled(), is(true));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    public void queryIsCancelledWhenConsumerStopsWaiting() {
+        StreamingQueryResult result = new StreamingQueryResult(10, 50);
+        AtomicInteger cancelled = new AtomicInteger();
+        result.setCancellable(cancelled::incrementAndGet);
+
+        assertThat(result.hasNext(), is(false));
+        assertThat(cancelled.get(), is(1));
+    }
+
+    @Test
+    public void queryIsCancelledWhenCancellableIsSetAfterCancellation() {
+        StreamingQueryResult result = new StreamingQueryResult(10, 1000);
+        AtomicInteger cancelled = new AtomicInteger();
+        result.cancel();
+        result.setCancellable(cancelled::incrementAndGet);
+
+        assertThat(cancelled.get(), is(1));
+        assertThat(result.offer(new InfluxRow(Instant.now(), "item", 1)), is(false));
+    }
+
+    @Test
+    public void iteratorIteratesRows() {
+        StreamingQueryResult result = new StreamingQueryResult(10, 1000);
+        result.offer(new InfluxRow(Instant.now(), "item", 1));
+        result.complete();
+
+        List<Object> values = new ArrayList<>();
+        result.iterator().forEachRemaining(row -> values.add(row.getValue()));
+
+        assertThat(values, is(List.of(1)));
+        assertThat(result.isCancelled(), is(false));
+    }
+}
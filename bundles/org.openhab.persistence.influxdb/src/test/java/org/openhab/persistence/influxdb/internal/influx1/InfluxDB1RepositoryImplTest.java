@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx1;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN_TIME_NAME_V1;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN_VALUE_NAME_V1;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.persistence.influxdb.internal.ConfigurationTestHelper;
+import org.openhab.persistence.influxdb.internal.InfluxRow;
+
+/**
+ * Tests for the streaming queries of {@link InfluxDB1RepositoryImpl}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class InfluxDB1RepositoryImplTest {
+    private @Mock @NonNullByDefault({}) InfluxDB client;
+    private @Mock @NonNullByDefault({}) InfluxDB.Cancellable cancellable;
+
+    private @NonNullByDefault({}) InfluxDB1RepositoryImpl instance;
+
+    @BeforeEach
+    public void setUp() {
+        instance = new InfluxDB1RepositoryImpl(ConfigurationTestHelper.createValidConfiguration(), client);
+    }
+
+    private static QueryResult chunk(String itemName, Object... values) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (Object value : values) {
+            rows.add(List.of("2021-01-01T00:00:00Z", value));
+        }
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName(itemName);
+        series.setColumns(List.of(COLUMN_TIME_NAME_V1, COLUMN_VALUE_NAME_V1));
+        series.setValues(rows);
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(List.of(series));
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(List.of(result));
+        return queryResult;
+    }
+
+    private static QueryResult error(String error) {
+        QueryResult queryResult = new QueryResult();
+        queryResult.setError(error);
+        return queryResult;
+    }
+
+    /**
+     * Answers a chunked query like the client does: the chunks are passed from a thread of the client, the end of the
+     * query is passed as a result with the error "DONE" before the query is completed.
+     */
+    private void answerChunkedQuery(QueryResult... chunks) {
+        doAnswer(invocation -> {
+            BiConsumer<InfluxDB.Cancellable, QueryResult> onNext = invocation.getArgument(2);
+            Runnable onComplete = invocation.getArgument(3);
+            new Thread(() -> {
+                for (QueryResult chunk : chunks) {
+                    onNext.accept(cancellable, chunk);
+                }
+                onComplete.run();
+            }).start();
+            return null;
+        }).when(client).query(any(Query.class), anyInt(), any(), any(), any());
+    }
+
+    private static List<Object> values(Iterator<InfluxRow> rows) {
+        List<Object> values = new ArrayList<>();
+        rows.forEachRemaining(row -> values.add(row.getValue()));
+        return values;
+    }
+
+    @Test
+    public void streamedQueryCompletesNormally() {
+        answerChunkedQuery(chunk("item", 1.0, 2.0), chunk("item", 3.0), error("DONE"));
+
+        assertThat(values(instance.queryStream("SELECT * FROM item")), is(List.of(1.0, 2.0, 3.0)));
+        verify(cancellable, never()).cancel();
+    }
+
+    @Test
+    public void streamedQueryFailureEndsIteration() {
+        answerChunkedQuery(chunk("item", 1.0), error("timeout"), chunk("item", 2.0));
+
+        assertThat(values(instance.queryStream("SELECT * FROM item")), is(List.of(1.0)));
+        verify(cancellable, atLeastOnce()).cancel();
+    }
+}
@@ -32,6 +32,7 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_FLUSH_INTERVAL = "flushInterval";
 
     public static boolean isInitialized = false;
 
@@ -40,6 +41,7 @@ public class JpaConfiguration {
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final long flushIntervalMillis;
 
     public JpaConfiguration(final Map<String, Object> properties) {
         logger.debug("Update config...");
@@ -77,6 +79,19 @@ public class JpaConfiguration {
         }
         dbSyncMapping = (String) properties.get(CFG_SYNCMAPPING);
 
+        Object flushInterval = properties.get(CFG_FLUSH_INTERVAL);
+        long interval = 0;
+        if (flushInterval == null || flushInterval.toString().isBlank()) {
+            logger.debug("{} was not specified, writing immediately", CFG_FLUSH_INTERVAL);
+        } else {
+            try {
+                interval = Long.parseLong(flushInterval.toString());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} in jpa.cfg: {}, writing immediately", CFG_FLUSH_INTERVAL, flushInterval);
+            }
+        }
+        flushIntervalMillis = interval;
+
         isInitialized = true;
         logger.debug("Update config... done");
     }
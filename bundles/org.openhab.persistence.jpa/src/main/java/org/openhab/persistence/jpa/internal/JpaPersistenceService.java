@@ -12,13 +12,22 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -27,6 +36,7 @@ import javax.persistence.Query;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -51,12 +61,28 @@ import org.slf4j.LoggerFactory;
 /**
  * JPA based implementation of QueryablePersistenceService.
  *
+ * If a flush interval is configured, states are queued and persisted by a writer in a single transaction per flush.
+ * Query results are fetched from the database page by page while they are iterated.
+ *
  * @author Manfred Bergmann - Initial contribution
  */
 @NonNullByDefault
 @Component(service = { PersistenceService.class,
         QueryablePersistenceService.class }, configurationPid = "org.openhab.jpa", configurationPolicy = ConfigurationPolicy.REQUIRE)
 public class JpaPersistenceService implements QueryablePersistenceService {
+    /**
+     * Number of queued items that triggers persisting them before the flush interval expired
+     */
+    private static final int MAX_QUEUED_ITEMS = 1000;
+    /**
+     * Number of items persisted before flushing them to the database within a transaction
+     */
+    private static final int PERSIST_BATCH_SIZE = 100;
+    /**
+     * Number of query results fetched from the database at once
+     */
+    private static final int QUERY_PAGE_SIZE = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JpaPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
@@ -65,6 +91,11 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private @NonNullByDefault({}) JpaConfiguration config;
 
+    private final BlockingQueue<JpaPersistentItem> writeQueue = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("JPA"));
+    private @Nullable ScheduledFuture<?> flushJob;
+
     @Activate
     public JpaPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -86,6 +117,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     public void activate(BundleContext context, Map<String, Object> properties) {
         logger.debug("Activating jpa persistence service");
         config = new JpaConfiguration(properties);
+        if (config.flushIntervalMillis > 0) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, config.flushIntervalMillis,
+                    config.flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
@@ -94,6 +129,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating jpa persistence service");
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        flush();
+        scheduler.shutdown();
         closeEntityManagerFactory();
     }
 
@@ -142,22 +184,54 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        if (config.flushIntervalMillis > 0) {
+            writeQueue.add(pItem);
+            if (writeQueue.size() >= MAX_QUEUED_ITEMS) {
+                scheduler.execute(this::flush);
+            }
+            logger.debug("Storing item...queued");
+            return;
+        }
+
+        persist(List.of(pItem));
+        logger.debug("Storing item...done");
+    }
+
+    /**
+     * Persists all queued items in a single transaction.
+     */
+    private synchronized void flush() {
+        if (writeQueue.isEmpty() || !JpaConfiguration.isInitialized) {
+            return;
+        }
+        List<JpaPersistentItem> items = new ArrayList<>(writeQueue.size());
+        writeQueue.drainTo(items);
+        persist(items);
+    }
+
+    private void persist(List<JpaPersistentItem> items) {
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
-            logger.debug("Persisting item...");
+            logger.debug("Persisting {} items...", items.size());
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
             em.getTransaction().begin();
-            em.persist(pItem);
+            int count = 0;
+            for (JpaPersistentItem pItem : items) {
+                em.persist(pItem);
+                if (++count % PERSIST_BATCH_SIZE == 0) {
+                    // send the statements as JDBC batch, and don't keep all items in the persistence context
+                    em.flush();
+                    em.clear();
+                }
+            }
             em.getTransaction().commit();
-            logger.debug("Persisting item...done");
+            logger.debug("Persisting items...done");
         } catch (Exception e) {
-            logger.error("Error on persisting item! Rolling back!", e);
+            logger.error("Error on persisting {} items! Rolling back!", items.size(), e);
             em.getTransaction().rollback();
         } finally {
             em.close();
         }
-
-        logger.debug("Storing item...done");
     }
 
     @Override
@@ -178,10 +252,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         Item item = getItemFromRegistry(itemName);
 
         String sortOrder;
+        String comparison;
         if (filter.getOrdering() == Ordering.ASCENDING) {
             sortOrder = "ASC";
+            comparison = ">";
         } else {
             sortOrder = "DESC";
+            comparison = "<";
         }
 
         boolean hasBeginDate = false;
@@ -196,10 +273,75 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             queryString += " AND n.timestamp <= :endDate";
             hasEndDate = true;
         }
-        queryString += " ORDER BY n.timestamp " + sortOrder;
+        // The following pages continue after the last result of the previous page, instead of skipping all results
+        // of the previous pages again
+        String nextPageQueryString = queryString + " AND (n.timestamp " + comparison
+                + " :lastTimestamp OR (n.timestamp = :lastTimestamp AND n.id " + comparison + " :lastId))";
+        String orderBy = " ORDER BY n.timestamp " + sortOrder + ", n.id " + sortOrder;
+        queryString += orderBy;
+        nextPageQueryString += orderBy;
 
         logger.debug("The query: {}", queryString);
 
+        // Make the queued items visible to the query
+        flush();
+
+        int maxResults = filter.getPageSize();
+        boolean finalHasBeginDate = hasBeginDate;
+        boolean finalHasEndDate = hasEndDate;
+        int firstPageSize = Math.min(QUERY_PAGE_SIZE, maxResults);
+        List<JpaPersistentItem> firstPage;
+        try {
+            firstPage = queryPage(queryString, item, filter, hasBeginDate, hasEndDate, null,
+                    filter.getPageNumber() * filter.getPageSize(), firstPageSize);
+        } catch (RuntimeException e) {
+            logger.error("Error on querying database!", e);
+            return Collections.emptyList();
+        }
+        String finalNextPageQueryString = nextPageQueryString;
+        return () -> new Iterator<HistoricItem>() {
+            private List<JpaPersistentItem> page = firstPage;
+            private int pageIndex;
+            private int fetched = firstPage.size();
+            private boolean lastPage = firstPage.size() < firstPageSize;
+
+            @Override
+            public boolean hasNext() {
+                if (pageIndex < page.size()) {
+                    return true;
+                }
+                if (lastPage || fetched >= maxResults || page.isEmpty()) {
+                    return false;
+                }
+                // Errors are thrown, the results must not end silently
+                int pageSize = Math.min(QUERY_PAGE_SIZE, maxResults - fetched);
+                page = queryPage(finalNextPageQueryString, item, filter, finalHasBeginDate, finalHasEndDate,
+                        page.get(page.size() - 1), 0, pageSize);
+                pageIndex = 0;
+                fetched += page.size();
+                lastPage = page.size() < pageSize;
+                return !page.isEmpty();
+            }
+
+            @Override
+            public HistoricItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return JpaHistoricItem.fromPersistedItem(page.get(pageIndex++), item);
+            }
+        };
+    }
+
+    /**
+     * Fetches one page of query results. Errors are thrown to the caller.
+     *
+     * @param last the last result of the previous page, null for the first page
+     * @return the persisted items of the page
+     */
+    private List<JpaPersistentItem> queryPage(String queryString, Item item, FilterCriteria filter,
+            boolean hasBeginDate, boolean hasEndDate, @Nullable JpaPersistentItem last, int firstResult,
+            int maxResults) {
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
@@ -214,9 +356,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             if (hasEndDate) {
                 query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
             }
+            if (last != null) {
+                query.setParameter("lastTimestamp", Date.from(last.getTimestamp().toInstant()));
+                query.setParameter("lastId", last.getId());
+            }
 
-            query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
-            query.setMaxResults(filter.getPageSize());
+            query.setFirstResult(firstResult);
+            query.setMaxResults(maxResults);
             logger.debug("Creating query...done");
 
             logger.debug("Retrieving result list...");
@@ -224,20 +370,17 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             List<JpaPersistentItem> result = query.getResultList();
             logger.debug("Retrieving result list...done");
 
-            List<HistoricItem> historicList = JpaHistoricItem.fromResultList(result, item);
-            logger.debug("{}", String.format("Convert to HistoricItem: %d", historicList.size()));
-
             em.getTransaction().commit();
 
-            return historicList;
-        } catch (Exception e) {
-            logger.error("Error on querying database!", e);
-            em.getTransaction().rollback();
+            return result;
+        } catch (RuntimeException e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw e;
         } finally {
             em.close();
         }
-
-        return Collections.emptyList();
     }
 
     /**
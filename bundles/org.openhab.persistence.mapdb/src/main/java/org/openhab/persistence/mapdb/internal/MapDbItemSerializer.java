@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+
+/**
+ * A compact binary format for {@link MapDbItem}s.
+ *
+ * The common state types are written with their values only, all other states with their type name and full string
+ * representation, like in the JSON format of {@link StateTypeAdapter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializer {
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_GENERIC = 0;
+    private static final byte TYPE_ON_OFF = 1;
+    private static final byte TYPE_OPEN_CLOSED = 2;
+    private static final byte TYPE_DECIMAL = 3;
+    private static final byte TYPE_PERCENT = 4;
+    private static final byte TYPE_STRING = 5;
+
+    private MapDbItemSerializer() {
+        // no instances
+    }
+
+    public static byte[] serialize(MapDbItem item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, item.getName());
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IOException if the data is invalid or its state can't be parsed
+     */
+    public static MapDbItem deserialize(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown format version " + version);
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(readString(in));
+            item.setTimestamp(new Date(in.readLong()));
+            item.setState(readState(in));
+            return item;
+        }
+    }
+
+    private static void writeState(DataOutputStream out, State state) throws IOException {
+        Class<? extends State> type = state.getClass();
+        if (type == OnOffType.class) {
+            out.writeByte(TYPE_ON_OFF);
+            out.writeBoolean(state == OnOffType.ON);
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TYPE_OPEN_CLOSED);
+            out.writeBoolean(state == OpenClosedType.OPEN);
+        } else if (type == DecimalType.class && isCompact(((DecimalType) state).toBigDecimal())) {
+            out.writeByte(TYPE_DECIMAL);
+            writeBigDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class && isCompact(((PercentType) state).toBigDecimal())) {
+            out.writeByte(TYPE_PERCENT);
+            writeBigDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == StringType.class) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TYPE_GENERIC);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private static State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_ON_OFF:
+                return in.readBoolean() ? OnOffType.ON : OnOffType.OFF;
+            case TYPE_OPEN_CLOSED:
+                return in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TYPE_DECIMAL:
+                return new DecimalType(readBigDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readBigDecimal(in));
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_GENERIC:
+                String typeName = readString(in);
+                String value = readString(in);
+                State state;
+                try {
+                    @SuppressWarnings("unchecked")
+                    Class<? extends State> valueType = (Class<? extends State>) Class.forName(typeName);
+                    state = TypeParser.parseState(List.of(valueType), value);
+                } catch (ClassNotFoundException | RuntimeException e) {
+                    throw new IOException("Couldn't parse state '" + value + "' of type " + typeName, e);
+                }
+                if (state == null) {
+                    throw new IOException("Couldn't parse state '" + value + "' of type " + typeName);
+                }
+                return state;
+            default:
+                throw new IOException("Unknown state type " + type);
+        }
+    }
+
+    /**
+     * @return true if the unscaled value fits into the 255 bytes of the compact format
+     */
+    private static boolean isCompact(BigDecimal value) {
+        return value.unscaledValue().bitLength() < 255 * 8;
+    }
+
+    private static void writeBigDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readBigDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -18,15 +18,19 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -56,6 +60,10 @@ import com.google.gson.GsonBuilder;
  * This is the implementation of the MapDB {@link PersistenceService}. To learn more about MapDB please visit their
  * <a href="http://www.mapdb.org/">website</a>.
  *
+ * Items are stored in the binary format of {@link MapDbItemSerializer}. Items stored as JSON by earlier versions are
+ * converted when the service is activated. All items are kept in memory as well, so that restoring them on startup
+ * doesn't read the database for every item. Changes are committed at most every {@link #COMMIT_INTERVAL_MILLIS}.
+ *
  * @author Jens Viebig - Initial contribution
  * @author Martin Kühl - Port to 3.x
  */
@@ -68,15 +76,20 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final long COMMIT_INTERVAL_MILLIS = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
+    private final AtomicBoolean commitPending = new AtomicBoolean();
 
     /** holds the local instance of the MapDB database */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    /** values are binary serialized items, or JSON strings written by earlier versions */
+    private @NonNullByDefault({}) Map<String, Object> map;
+    private final Map<String, MapDbItem> items = new ConcurrentHashMap<>();
 
     private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
@@ -133,17 +146,47 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
             }
         }
+        loadItems();
         logger.debug("MapDB persistence service is now activated");
     }
 
+    /**
+     * Deserializes all items in parallel and converts the items stored as JSON to the binary format.
+     */
+    private void loadItems() {
+        long start = System.currentTimeMillis();
+        List<Entry<String, Object>> entries = new ArrayList<>(map.entrySet());
+        Map<String, byte[]> converted = new ConcurrentHashMap<>();
+        entries.parallelStream().forEach(entry -> {
+            Optional<MapDbItem> item = deserialize(entry.getValue());
+            if (item.isPresent()) {
+                items.put(entry.getKey(), item.get());
+                if (entry.getValue() instanceof String) {
+                    serialize(item.get()).ifPresent(bytes -> converted.put(entry.getKey(), bytes));
+                }
+            }
+        });
+        if (!converted.isEmpty()) {
+            map.putAll(converted);
+            db.commit();
+            logger.info("Converted {} items in MapDB to the binary format", converted.size());
+        }
+        logger.debug("Loaded {} items from MapDB in {} ms", items.size(), System.currentTimeMillis() - start);
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            if (commitPending.getAndSet(false)) {
+                db.commit();
+            }
             db.close();
         }
+        items.clear();
     }
 
     @Override
@@ -158,8 +201,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        return items.values().stream().collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
     @Override
@@ -182,26 +224,47 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(localAlias, json);
+        Optional<byte[]> bytes = serialize(mItem);
+        if (bytes.isEmpty()) {
+            return;
+        }
+        map.put(localAlias, bytes.get());
+        items.put(localAlias, mItem);
         commit();
         if (logger.isDebugEnabled()) {
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
         }
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
-            return List.of();
+        MapDbItem item = items.get(filter.getItemName());
+        return item == null ? List.of() : List.of(item);
+    }
+
+    private Optional<byte[]> serialize(MapDbItem item) {
+        try {
+            return Optional.of(MapDbItemSerializer.serialize(item));
+        } catch (IOException e) {
+            logger.warn("Couldn't serialize item {}: {}", item, e.getMessage());
+            return Optional.empty();
         }
-        Optional<MapDbItem> item = deserialize(json);
-        return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private Optional<MapDbItem> deserialize(Object value) {
+        if (value instanceof String) {
+            return deserialize((String) value);
+        }
+        try {
+            MapDbItem item = MapDbItemSerializer.deserialize((byte[]) value);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
+            }
+            return Optional.of(item);
+        } catch (IOException | ClassCastException e) {
+            logger.warn("Couldn't deserialize item: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     @SuppressWarnings("null")
@@ -217,12 +280,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
+    /**
+     * Schedules a commit, unless one is pending already. This groups the changes of all items stored within the
+     * commit interval into a single commit.
+     */
     private void commit() {
-        threadPool.submit(() -> db.commit());
-    }
-
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        return opt.isPresent() ? Stream.of(opt.get()) : Stream.empty();
+        if (commitPending.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                if (commitPending.getAndSet(false)) {
+                    db.commit();
+                }
+            }, COMMIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
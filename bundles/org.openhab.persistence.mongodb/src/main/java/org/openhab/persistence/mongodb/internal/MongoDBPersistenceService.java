@@ -14,17 +14,28 @@ package org.openhab.persistence.mongodb.internal;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -60,15 +71,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteError;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientURI;
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketOpenException;
+import com.mongodb.MongoTimeoutException;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
  *
+ * States are queued and written to the database in the background with unordered bulk operations. They are either
+ * stored as one document per state, or with the bucket schema as one document per item and hour, holding the arrays of
+ * the timestamps and values of that hour.
+ *
  * @author Thorsten Hoeger - Initial contribution
  */
 @NonNullByDefault
@@ -81,15 +102,47 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_REALNAME = "realName";
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
+    private static final String FIELD_BUCKET = "bucket";
+    private static final String FIELD_TIMESTAMPS = "timestamps";
+    private static final String FIELD_VALUES = "values";
+    private static final String FIELD_COUNT = "count";
+
+    private static final String SCHEMA_DOCUMENT = "document";
+    private static final String SCHEMA_BUCKET = "bucket";
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    /**
+     * Number of queued states that triggers writing them before the flush interval expired
+     */
+    private static final int MAX_QUEUED_STATES = 1000;
+    /**
+     * Number of flushes a state is written with before it is discarded, if the database keeps failing
+     */
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    /**
+     * Error code of a duplicate key, returned if a state was inserted by a previous flush already
+     */
+    private static final int DUPLICATE_KEY_ERROR = 11000;
 
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private @NonNullByDefault({}) String url;
     private @NonNullByDefault({}) String db;
     private @NonNullByDefault({}) String collection;
+    private boolean bucketSchema;
+    private long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
 
     private boolean initialized = false;
 
+    private final BlockingQueue<DBObject> writeQueue = new LinkedBlockingQueue<>();
+    /**
+     * States of failed writes, written again with the next flush
+     */
+    private final List<DBObject> failedStates = new ArrayList<>();
+    private int failedFlushes;
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("MongoDB"));
+    private @Nullable ScheduledFuture<?> flushJob;
+
     protected final ItemRegistry itemRegistry;
 
     private @NonNullByDefault({}) MongoClient cl;
@@ -121,10 +174,36 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
                     "The MongoDB database collection is missing - please configure the mongodb:collection parameter.");
             return;
         }
+        Object schema = config.get("schema");
+        if (schema == null || schema.toString().isBlank() || SCHEMA_DOCUMENT.equals(schema.toString())) {
+            bucketSchema = false;
+        } else if (SCHEMA_BUCKET.equals(schema.toString())) {
+            bucketSchema = true;
+        } else {
+            logger.warn("Unknown MongoDB schema '{}' - please configure 'document' or 'bucket'.", schema);
+            return;
+        }
+        logger.debug("MongoDB schema {}", bucketSchema ? SCHEMA_BUCKET : SCHEMA_DOCUMENT);
+        Object flushInterval = config.get("flushInterval");
+        try {
+            flushIntervalMillis = flushInterval == null || flushInterval.toString().isBlank()
+                    ? DEFAULT_FLUSH_INTERVAL_MILLIS
+                    : Long.parseLong(flushInterval.toString());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid MongoDB flush interval '{}', using {} ms.", flushInterval,
+                    DEFAULT_FLUSH_INTERVAL_MILLIS);
+            flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
+        }
 
+        stopFlushJob();
         disconnectFromDatabase();
         connectToDatabase();
 
+        if (flushIntervalMillis > 0) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+
         // connection has been established... initialization completed!
         initialized = true;
     }
@@ -132,7 +211,19 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        initialized = false;
+        stopFlushJob();
+        flush();
         disconnectFromDatabase();
+        scheduler.shutdown();
+    }
+
+    private void stopFlushJob() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
     }
 
     @Override
@@ -176,14 +267,135 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         Object value = this.convertValue(item.getState());
 
         DBObject obj = new BasicDBObject();
-        obj.put(FIELD_ID, new ObjectId());
         obj.put(FIELD_ITEM, name);
         obj.put(FIELD_REALNAME, realName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        this.mongoCollection.save(obj);
+        writeQueue.add(obj);
+
+        logger.debug("MongoDB queued {}={}", name, value);
+
+        if (flushIntervalMillis <= 0) {
+            flush();
+        } else if (writeQueue.size() >= MAX_QUEUED_STATES) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes all queued states with a single unordered bulk operation. The states of failed operations are written
+     * again with the next flush, at most {@link #MAX_FLUSH_ATTEMPTS} times.
+     *
+     * Bucket updates push the values to arrays, so they are only written again if they certainly weren't applied: if
+     * the server rejected them or couldn't be reached. Inserts keep their ids, so they are always written again.
+     */
+    private synchronized void flush() {
+        DBCollection dbCollection = mongoCollection;
+        if ((writeQueue.isEmpty() && failedStates.isEmpty()) || dbCollection == null) {
+            return;
+        }
+        List<DBObject> states = new ArrayList<>(failedStates.size() + writeQueue.size());
+        states.addAll(failedStates);
+        failedStates.clear();
+        writeQueue.drainTo(states);
+        List<List<DBObject>> operations = Collections.emptyList();
+        try {
+            BulkWriteOperation bulk = dbCollection.initializeUnorderedBulkOperation();
+            operations = bucketSchema ? addBucketUpdates(bulk, states) : addInserts(bulk, states);
+            bulk.execute();
+            failedFlushes = 0;
+            logger.debug("MongoDB wrote {} states", states.size());
+        } catch (BulkWriteException e) {
+            // The other operations of the unordered bulk operation were written
+            List<DBObject> failed = new ArrayList<>();
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                    failed.addAll(operations.get(error.getIndex()));
+                }
+            }
+            retryWithNextFlush(failed, e);
+        } catch (MongoTimeoutException | MongoSocketOpenException e) {
+            // No server was reached, so nothing was written
+            retryWithNextFlush(states, e);
+        } catch (MongoException e) {
+            if (bucketSchema) {
+                // The updates may have been applied, pushing the values again would duplicate them
+                logger.warn("MongoDB failed to write {} states, discarding them as they may have been written: {}",
+                        states.size(), e.getMessage());
+                failedFlushes = 0;
+            } else {
+                retryWithNextFlush(states, e);
+            }
+        }
+    }
+
+    private void retryWithNextFlush(List<DBObject> states, MongoException e) {
+        if (states.isEmpty()) {
+            failedFlushes = 0;
+            return;
+        }
+        failedFlushes++;
+        if (failedFlushes < MAX_FLUSH_ATTEMPTS) {
+            logger.debug("MongoDB failed to write {} states, retrying with the next flush: {}", states.size(),
+                    e.getMessage());
+            failedStates.addAll(states);
+        } else {
+            logger.warn("MongoDB failed to write {} states {} times, discarding them: {}", states.size(),
+                    failedFlushes, e.getMessage());
+            failedFlushes = 0;
+        }
+    }
+
+    /**
+     * Adds one insert per state. The ids are kept, a state that is written again after it was written already
+     * fails with a duplicate key.
+     *
+     * @return the states of each operation, by index of the operation
+     */
+    private List<List<DBObject>> addInserts(BulkWriteOperation bulk, List<DBObject> states) {
+        List<List<DBObject>> operations = new ArrayList<>(states.size());
+        for (DBObject state : states) {
+            if (!state.containsField(FIELD_ID)) {
+                state.put(FIELD_ID, new ObjectId());
+            }
+            bulk.insert(state);
+            operations.add(Collections.singletonList(state));
+        }
+        return operations;
+    }
+
+    /**
+     * Adds one upsert per item and hour, appending the timestamps and values of the states to the bucket document.
+     *
+     * @return the states of each operation, by index of the operation
+     */
+    private List<List<DBObject>> addBucketUpdates(BulkWriteOperation bulk, List<DBObject> states) {
+        Map<DBObject, List<DBObject>> statesByBucket = new LinkedHashMap<>();
+        for (DBObject state : states) {
+            DBObject bucket = new BasicDBObject(FIELD_ITEM, state.get(FIELD_ITEM)).append(FIELD_BUCKET,
+                    getBucketStart((Date) state.get(FIELD_TIMESTAMP)));
+            statesByBucket.computeIfAbsent(bucket, b -> new ArrayList<>()).add(state);
+        }
+        statesByBucket.forEach((bucket, bucketStates) -> {
+            List<Object> timestamps = new ArrayList<>(bucketStates.size());
+            List<Object> values = new ArrayList<>(bucketStates.size());
+            for (DBObject state : bucketStates) {
+                timestamps.add(state.get(FIELD_TIMESTAMP));
+                values.add(state.get(FIELD_VALUE));
+            }
+            DBObject update = new BasicDBObject()
+                    .append("$push",
+                            new BasicDBObject(FIELD_TIMESTAMPS, new BasicDBObject("$each", timestamps))
+                                    .append(FIELD_VALUES, new BasicDBObject("$each", values)))
+                    .append("$inc", new BasicDBObject(FIELD_COUNT, bucketStates.size())).append("$set",
+                            new BasicDBObject(FIELD_REALNAME, bucketStates.get(0).get(FIELD_REALNAME)));
+            bulk.find(bucket).upsert().updateOne(update);
+        });
+        return new ArrayList<>(statesByBucket.values());
+    }
 
-        logger.debug("MongoDB save {}={}", name, value);
+    private static Date getBucketStart(Date timestamp) {
+        return Date.from(timestamp.toInstant().truncatedTo(ChronoUnit.HOURS));
     }
 
     private Object convertValue(State state) {
@@ -231,9 +443,14 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             this.cl = new MongoClient(new MongoClientURI(this.url));
             mongoCollection = cl.getDB(this.db).getCollection(this.collection);
 
-            BasicDBObject idx = new BasicDBObject();
-            idx.append(FIELD_TIMESTAMP, 1).append(FIELD_ITEM, 1);
-            this.mongoCollection.createIndex(idx);
+            if (bucketSchema) {
+                this.mongoCollection.createIndex(new BasicDBObject(FIELD_ITEM, 1).append(FIELD_BUCKET, 1));
+            } else {
+                BasicDBObject idx = new BasicDBObject();
+                idx.append(FIELD_TIMESTAMP, 1).append(FIELD_ITEM, 1);
+                this.mongoCollection.createIndex(idx);
+                this.mongoCollection.createIndex(new BasicDBObject(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1));
+            }
             logger.debug("Connect MongoDB ... done");
         } catch (Exception e) {
             logger.error("Failed to connect to database {}", this.url);
@@ -266,9 +483,16 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return Collections.emptyList();
         }
 
+        // Make the states queued so far visible to the query
+        flush();
+
         String name = filter.getItemName();
         Item item = getItem(name);
 
+        if (bucketSchema) {
+            return queryBuckets(filter, name, item);
+        }
+
         List<HistoricItem> items = new ArrayList<>();
         DBObject query = new BasicDBObject();
         if (filter.getItemName() != null) {
@@ -279,11 +503,15 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             Object value = convertValue(filter.getState());
             query.put(FIELD_VALUE, new BasicDBObject(op, value));
         }
+        BasicDBObject timestampQuery = new BasicDBObject();
         if (filter.getBeginDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$gte", filter.getBeginDate()));
+            timestampQuery.put("$gte", Date.from(filter.getBeginDate().toInstant()));
         }
-        if (filter.getBeginDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$lte", filter.getBeginDate()));
+        if (filter.getEndDate() != null) {
+            timestampQuery.put("$lte", Date.from(filter.getEndDate().toInstant()));
+        }
+        if (!timestampQuery.isEmpty()) {
+            query.put(FIELD_TIMESTAMP, timestampQuery);
         }
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
@@ -292,32 +520,130 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
         while (cursor.hasNext()) {
             BasicDBObject obj = (BasicDBObject) cursor.next();
+            items.add(new MongoDBItem(name, toState(item, obj.get(FIELD_VALUE)),
+                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+        }
 
-            final State state;
-            if (item instanceof NumberItem) {
-                state = new DecimalType(obj.getDouble(FIELD_VALUE));
-            } else if (item instanceof DimmerItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof SwitchItem) {
-                state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof ContactItem) {
-                state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof RollershutterItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof DateTimeItem) {
-                state = new DateTimeType(
-                        ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
-            } else {
-                state = new StringType(obj.getString(FIELD_VALUE));
-            }
+        return items;
+    }
 
-            items.add(new MongoDBItem(name, state,
-                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+    /**
+     * Queries the bucket schema. Only the buckets of the hours overlapping the time range are read, their states are
+     * filtered and paged here.
+     */
+    private List<HistoricItem> queryBuckets(FilterCriteria filter, @Nullable String name, @Nullable Item item) {
+        Date begin = filter.getBeginDate() == null ? null : Date.from(filter.getBeginDate().toInstant());
+        Date end = filter.getEndDate() == null ? null : Date.from(filter.getEndDate().toInstant());
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+
+        DBObject query = new BasicDBObject();
+        if (name != null) {
+            query.put(FIELD_ITEM, name);
+        }
+        BasicDBObject bucketQuery = new BasicDBObject();
+        if (begin != null) {
+            bucketQuery.put("$gte", getBucketStart(begin));
+        }
+        if (end != null) {
+            bucketQuery.put("$lte", end);
+        }
+        if (!bucketQuery.isEmpty()) {
+            query.put(FIELD_BUCKET, bucketQuery);
+        }
+
+        DBCursor cursor = this.mongoCollection.find(query).sort(new BasicDBObject(FIELD_BUCKET, ascending ? 1 : -1));
+        try {
+            return getBucketStates(cursor, filter, name, item);
+        } finally {
+            cursor.close();
         }
+    }
 
+    /**
+     * Gets the states of the filter from the buckets, which are sorted in the order of the filter.
+     */
+    List<HistoricItem> getBucketStates(Iterator<DBObject> buckets, FilterCriteria filter, @Nullable String name,
+            @Nullable Item item) {
+        Date begin = filter.getBeginDate() == null ? null : Date.from(filter.getBeginDate().toInstant());
+        Date end = filter.getEndDate() == null ? null : Date.from(filter.getEndDate().toInstant());
+        Object filterValue = filter.getState() == null || filter.getOperator() == null ? null
+                : convertValue(filter.getState());
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+
+        int skip = filter.getPageNumber() * filter.getPageSize();
+        List<HistoricItem> items = new ArrayList<>();
+        while (buckets.hasNext() && items.size() < filter.getPageSize()) {
+            DBObject bucket = buckets.next();
+            List<?> timestamps = (List<?>) bucket.get(FIELD_TIMESTAMPS);
+            List<?> values = (List<?>) bucket.get(FIELD_VALUES);
+            List<Integer> indexes = new ArrayList<>(timestamps.size());
+            for (int i = 0; i < timestamps.size(); i++) {
+                Date timestamp = (Date) timestamps.get(i);
+                if ((begin == null || !timestamp.before(begin)) && (end == null || !timestamp.after(end))
+                        && (filterValue == null || matches(values.get(i), filter.getOperator(), filterValue))) {
+                    indexes.add(i);
+                }
+            }
+            Comparator<Integer> byTimestamp = Comparator.comparing(i -> (Date) timestamps.get(i));
+            indexes.sort(ascending ? byTimestamp : byTimestamp.reversed());
+            for (int i : indexes) {
+                if (skip > 0) {
+                    skip--;
+                } else if (items.size() < filter.getPageSize()) {
+                    items.add(new MongoDBItem(name, toState(item, values.get(i)), ZonedDateTime
+                            .ofInstant(((Date) timestamps.get(i)).toInstant(), ZoneId.systemDefault())));
+                }
+            }
+        }
         return items;
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static boolean matches(Object value, Operator operator, Object filterValue) {
+        int comparison;
+        if (value instanceof Number && filterValue instanceof Number) {
+            comparison = Double.compare(((Number) value).doubleValue(), ((Number) filterValue).doubleValue());
+        } else if (value instanceof Comparable && value.getClass() == filterValue.getClass()) {
+            comparison = ((Comparable) value).compareTo(filterValue);
+        } else {
+            comparison = value.toString().compareTo(filterValue.toString());
+        }
+        switch (operator) {
+            case EQ:
+                return comparison == 0;
+            case NEQ:
+                return comparison != 0;
+            case GT:
+                return comparison > 0;
+            case GTE:
+                return comparison >= 0;
+            case LT:
+                return comparison < 0;
+            case LTE:
+                return comparison <= 0;
+            default:
+                return false;
+        }
+    }
+
+    private State toState(@Nullable Item item, Object value) {
+        if (item instanceof NumberItem) {
+            return new DecimalType(((Number) value).doubleValue());
+        } else if (item instanceof DimmerItem) {
+            return new PercentType(((Number) value).intValue());
+        } else if (item instanceof SwitchItem) {
+            return OnOffType.valueOf(value.toString());
+        } else if (item instanceof ContactItem) {
+            return OpenClosedType.valueOf(value.toString());
+        } else if (item instanceof RollershutterItem) {
+            return new PercentType(((Number) value).intValue());
+        } else if (item instanceof DateTimeItem) {
+            return new DateTimeType(ZonedDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()));
+        } else {
+            return new StringType(value.toString());
+        }
+    }
+
     private @Nullable String convertOperator(Operator operator) {
         switch (operator) {
             case EQ:
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Tests the filtering and paging of the states of the bucket schema.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBPersistenceServiceTest {
+    private static final ZonedDateTime HOUR = ZonedDateTime.of(2021, 1, 1, 10, 0, 0, 0, ZoneId.systemDefault());
+
+    private final NumberItem item = new NumberItem("Temperature");
+    private @NonNullByDefault({}) MongoDBPersistenceService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new MongoDBPersistenceService(mock(ItemRegistry.class));
+    }
+
+    @Test
+    public void numbersAreComparedByValue() {
+        assertTrue(MongoDBPersistenceService.matches(21, Operator.EQ, 21.0));
+        assertTrue(MongoDBPersistenceService.matches(21.5, Operator.GT, 21));
+        assertTrue(MongoDBPersistenceService.matches(21.5, Operator.GTE, 21.5));
+        assertTrue(MongoDBPersistenceService.matches(20L, Operator.LT, 21.0));
+        assertFalse(MongoDBPersistenceService.matches(21.5, Operator.LTE, 21));
+        assertFalse(MongoDBPersistenceService.matches(21, Operator.NEQ, 21.0));
+    }
+
+    @Test
+    public void otherValuesAreComparedByString() {
+        assertTrue(MongoDBPersistenceService.matches("ON", Operator.EQ, "ON"));
+        assertTrue(MongoDBPersistenceService.matches("ON", Operator.NEQ, "OFF"));
+        assertTrue(MongoDBPersistenceService.matches(21, Operator.EQ, "21"));
+        Date date = new Date();
+        assertTrue(MongoDBPersistenceService.matches(date, Operator.LT, new Date(date.getTime() + 1)));
+    }
+
+    @Test
+    public void statesAreFilteredByTimeRange() {
+        FilterCriteria filter = new FilterCriteria().setOrdering(Ordering.ASCENDING)
+                .setBeginDate(HOUR.plusMinutes(20)).setEndDate(HOUR.plusMinutes(70));
+
+        assertEquals(List.of(2.0, 3.0, 4.0), values(service.getBucketStates(buckets(), filter, "Temperature", item)));
+    }
+
+    @Test
+    public void statesAreFilteredByValue() {
+        FilterCriteria filter = new FilterCriteria().setOrdering(Ordering.ASCENDING).setOperator(Operator.GT)
+                .setState(new DecimalType(3));
+
+        assertEquals(List.of(4.0, 5.0, 6.0), values(service.getBucketStates(buckets(), filter, "Temperature", item)));
+    }
+
+    @Test
+    public void pagesSpanBuckets() {
+        FilterCriteria filter = new FilterCriteria().setOrdering(Ordering.ASCENDING).setPageSize(2).setPageNumber(1);
+
+        assertEquals(List.of(3.0, 4.0), values(service.getBucketStates(buckets(), filter, "Temperature", item)));
+    }
+
+    @Test
+    public void statesOfBucketsAreSortedDescending() {
+        List<DBObject> buckets = buckets();
+        FilterCriteria filter = new FilterCriteria().setOrdering(Ordering.DESCENDING).setPageSize(4);
+
+        List<HistoricItem> items = service.getBucketStates(List.of(buckets.get(1), buckets.get(0)).iterator(), filter,
+                "Temperature", item);
+
+        assertEquals(List.of(6.0, 5.0, 4.0, 3.0), values(items));
+    }
+
+    /**
+     * Two buckets of ascending hours with three states each. The states of a bucket are in the order they were
+     * written, which is not necessarily the order of their timestamps.
+     */
+    private static List<DBObject> buckets() {
+        return List.of(bucket(HOUR, new int[] { 30, 10, 50 }, new Object[] { 2.0, 1.0, 3.0 }),
+                bucket(HOUR.plusHours(1), new int[] { 10, 20, 30 }, new Object[] { 4, 5, 6.0 }));
+    }
+
+    private static DBObject bucket(ZonedDateTime hour, int[] minutes, Object[] values) {
+        List<Date> timestamps = Arrays.stream(minutes)
+                .mapToObj(minute -> Date.from(hour.plusMinutes(minute).toInstant())).collect(Collectors.toList());
+        return new BasicDBObject("item", "Temperature").append("bucket", Date.from(hour.toInstant()))
+                .append("timestamps", timestamps).append("values", List.of(values));
+    }
+
+    private static List<Double> values(List<HistoricItem> items) {
+        return items.stream().map(i -> ((DecimalType) i.getState()).doubleValue()).collect(Collectors.toList());
+    }
+}
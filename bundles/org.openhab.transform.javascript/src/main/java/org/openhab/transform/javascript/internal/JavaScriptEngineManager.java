@@ -17,9 +17,17 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
@@ -27,6 +35,7 @@ import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
@@ -35,6 +44,11 @@ import org.slf4j.LoggerFactory;
 /**
  * Simple cache for compiled JavaScript files.
  *
+ * Scripts are executed on a bounded pool of engines, each engine is used by one thread at a time and keeps its own
+ * compiled scripts. Engines are created on demand, so independent transformations run in parallel without sharing an
+ * engine, while a cached script is looked up without locking. If all pooled engines are in use, a pooled engine is
+ * waited for a short time. Only if none gets free, the script is executed on a temporary engine.
+ *
  * @author Thomas Kordelle - Initial contribution
  * @author Thomas Kordelle - pre compiled scripts
  */
@@ -42,42 +56,93 @@ import org.slf4j.LoggerFactory;
 @Component(service = JavaScriptEngineManager.class)
 public class JavaScriptEngineManager {
 
+    // Visible for testing
+    static final int MAX_ENGINES = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long ENGINE_WAIT_MILLIS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    private final String transformFolder;
+    private final long engineWaitMillis;
+
+    private final Semaphore engineLeases = new Semaphore(MAX_ENGINES);
+    private final Queue<PooledEngine> idleEngines = new ConcurrentLinkedQueue<>();
+    private final List<PooledEngine> engines = new CopyOnWriteArrayList<>();
+    /* changed on every cache invalidation, to drop scripts compiled from a file modified meanwhile */
+    private final AtomicLong cacheVersion = new AtomicLong();
+
+    public JavaScriptEngineManager() {
+        this(TransformationScriptWatcher.TRANSFORM_FOLDER, ENGINE_WAIT_MILLIS);
+    }
+
+    // Visible for testing
+    JavaScriptEngineManager(String transformFolder, long engineWaitMillis) {
+        this.transformFolder = transformFolder;
+        this.engineWaitMillis = engineWaitMillis;
+    }
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
-     * storage and put a pre compiled version into the cache.
-     *
-     * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
-     * @throws TransformationException if compile of JavaScript failed
+     * A script engine with the scripts compiled by it.
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
+    private class PooledEngine {
+        private final ScriptEngine engine = manager.getEngineByName("javascript");
+        /* false for a temporary engine, used while all pooled engines are in use */
+        private final boolean pooled;
+        /* keep memory foot print low, only one thread uses an engine at a time */
+        private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.75f, 1);
+
+        private PooledEngine(boolean pooled) {
+            this.pooled = pooled;
+        }
+
+        private CompiledScript getScript(final String filename) throws TransformationException {
             CompiledScript compiledScript = compiledScriptMap.get(filename);
             if (compiledScript != null) {
                 logger.debug("Loading JavaScript {} from cache.", filename);
                 return compiledScript;
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
+            }
+            final String path = transformFolder + File.separator + filename;
+            logger.debug("Loading script {} from storage ", path);
+            final long version = cacheVersion.get();
+            try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
+                final CompiledScript cScript = ((Compilable) engine).compile(reader);
+                logger.debug("Putting compiled JavaScript {} to cache.", cScript);
+                compiledScriptMap.put(filename, cScript);
+                if (cacheVersion.get() != version) {
+                    // the file may have changed while it was compiled
+                    compiledScriptMap.remove(filename);
                 }
+                return cScript;
+            } catch (IOException | ScriptException e) {
+                throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
             }
         }
     }
 
+    /**
+     * Executes a script on one of the pooled engines. If the script is not in the cache of the engine, then it is
+     * loaded from storage and a pre compiled version is put into the cache. The script is evaluated with new bindings,
+     * so executions don't share global state.
+     *
+     * @param filename name of the JavaScript file to execute
+     * @param input value passed to the script in the 'input' variable
+     * @return the result of the script
+     * @throws TransformationException if compile of JavaScript failed
+     * @throws ScriptException if execution of JavaScript failed
+     */
+    protected @Nullable Object eval(final String filename, final String input)
+            throws TransformationException, ScriptException {
+        final PooledEngine engine = acquireEngine();
+        try {
+            final CompiledScript cScript = engine.getScript(filename);
+            final Bindings bindings = cScript.getEngine().createBindings();
+            bindings.put("input", input);
+            return cScript.eval(bindings);
+        } finally {
+            releaseEngine(engine);
+        }
+    }
+
     /**
      * remove a pre compiled script from cache.
      *
@@ -85,6 +150,50 @@ public class JavaScriptEngineManager {
      */
     protected void removeFromCache(String fileName) {
         logger.debug("Removing JavaScript {} from cache.", fileName);
-        compiledScriptMap.remove(fileName);
+        cacheVersion.incrementAndGet();
+        for (PooledEngine engine : engines) {
+            engine.compiledScriptMap.remove(fileName);
+        }
+    }
+
+    private PooledEngine acquireEngine() {
+        if (!tryAcquireLease()) {
+            logger.debug("All {} JavaScript engines are in use for {} ms, using a temporary engine.", MAX_ENGINES,
+                    engineWaitMillis);
+            return new PooledEngine(false);
+        }
+        PooledEngine engine = idleEngines.poll();
+        if (engine == null) {
+            try {
+                engine = createEngine();
+            } catch (RuntimeException e) {
+                engineLeases.release();
+                throw e;
+            }
+        }
+        return engine;
+    }
+
+    private boolean tryAcquireLease() {
+        try {
+            return engineLeases.tryAcquire(engineWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void releaseEngine(PooledEngine engine) {
+        if (engine.pooled) {
+            idleEngines.offer(engine);
+            engineLeases.release();
+        }
+    }
+
+    private synchronized PooledEngine createEngine() {
+        PooledEngine engine = new PooledEngine(true);
+        engines.add(engine);
+        logger.debug("Created JavaScript engine {} of {}.", engines.size(), MAX_ENGINES);
+        return engine;
     }
 }
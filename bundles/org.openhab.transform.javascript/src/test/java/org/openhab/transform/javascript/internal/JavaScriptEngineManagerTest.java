@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptEngineManager;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that scripts are cached per engine and that the caches of all engines are invalidated.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JavaScriptEngineManagerTest {
+    private static final String SCRIPT = "script.js";
+    /* one more transformation than pooled engines, so that a temporary engine is used as well */
+    private static final int PARALLEL_TRANSFORMATIONS = JavaScriptEngineManager.MAX_ENGINES + 1;
+
+    private static CyclicBarrier barrier = new CyclicBarrier(PARALLEL_TRANSFORMATIONS);
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+    private @NonNullByDefault({}) JavaScriptEngineManager manager;
+
+    /**
+     * Called by the script, so that all transformations run at the same time on different engines.
+     */
+    public static void awaitOthers() throws Exception {
+        barrier.await(10, TimeUnit.SECONDS);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(new ScriptEngineManager().getEngineByName("javascript") != null, "No JavaScript engine available");
+        manager = new JavaScriptEngineManager(folder.toString(), 100);
+    }
+
+    @Test
+    public void allEnginesUseTheChangedScript() throws Exception {
+        writeScript("first");
+        assertEquals(Collections.nCopies(PARALLEL_TRANSFORMATIONS, "first:1"), transformInParallel());
+
+        writeScript("second");
+        manager.removeFromCache(SCRIPT);
+        assertEquals(Collections.nCopies(PARALLEL_TRANSFORMATIONS, "second:1"), transformInParallel());
+    }
+
+    private void writeScript(String version) throws IOException {
+        Files.writeString(folder.resolve(SCRIPT), "Java.type('" + JavaScriptEngineManagerTest.class.getName()
+                + "').awaitOthers();\n'" + version + ":' + input");
+    }
+
+    private List<String> transformInParallel() throws Exception {
+        barrier = new CyclicBarrier(PARALLEL_TRANSFORMATIONS);
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_TRANSFORMATIONS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < PARALLEL_TRANSFORMATIONS; i++) {
+                results.add(executor.submit(() -> String.valueOf(manager.eval(SCRIPT, "1"))));
+            }
+            List<String> values = new ArrayList<>();
+            for (Future<String> result : results) {
+                values.add(result.get(20, TimeUnit.SECONDS));
+            }
+            return values;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A scale file compiled for fast lookups.
+ *
+ * The limits of all ranges split the numbers into sorted, non-overlapping intervals: the numbers below the lowest
+ * limit, each limit itself, the numbers between two limits and the numbers above the highest limit. For each interval
+ * the label of the first range in the file containing it is resolved in advance, so a value is looked up by a binary
+ * search of its interval. The format is split into literal text and placeholders in advance as well.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleTable {
+
+    private static final String FORMAT_VALUE = "%value%";
+    private static final String FORMAT_LABEL = "%label%";
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    /**
+     * Part of the format, appending literal text, the value or the label.
+     */
+    @FunctionalInterface
+    private interface FormatSegment {
+        void append(StringBuilder result, String value, String label);
+    }
+
+    private final BigDecimal[] limits;
+    private final double[] doubleLimits;
+    /** labels of the intervals, the interval at index 2i+1 is limit i, null if no range contains the interval */
+    private final @Nullable String[] labels;
+    private final @Nullable String nonNumeric;
+    private final List<FormatSegment> format;
+
+    /**
+     * @param ranges ranges in the order of the file
+     * @param rangeLabels labels of the ranges
+     * @param nonNumeric label for non numeric values, null if there is none
+     * @param format format of the result, containing the placeholders %value% and %label%
+     */
+    public ScaleTable(List<Range> ranges, List<String> rangeLabels, @Nullable String nonNumeric, String format) {
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Range range : ranges) {
+            if (range.min != null) {
+                sortedLimits.add(range.min);
+            }
+            if (range.max != null) {
+                sortedLimits.add(range.max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[0]);
+        doubleLimits = new double[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            doubleLimits[i] = limits[i].doubleValue();
+        }
+
+        labels = new String[2 * limits.length + 1];
+        for (int interval = 0; interval < labels.length; interval++) {
+            BigDecimal value = representative(interval);
+            for (int i = 0; i < ranges.size(); i++) {
+                if (ranges.get(i).contains(value)) {
+                    labels[interval] = rangeLabels.get(i);
+                    break;
+                }
+            }
+        }
+
+        this.nonNumeric = nonNumeric;
+        this.format = parseFormat(format);
+    }
+
+    /**
+     * Returns a number of an interval, all numbers of an interval are contained in the same ranges.
+     */
+    private BigDecimal representative(int interval) {
+        int limit = interval / 2;
+        if (interval % 2 == 1) {
+            return limits[limit];
+        } else if (limits.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (limit == 0) {
+            return limits[0].subtract(BigDecimal.ONE);
+        } else if (limit == limits.length) {
+            return limits[limit - 1].add(BigDecimal.ONE);
+        } else {
+            return limits[limit - 1].add(limits[limit]).multiply(HALF);
+        }
+    }
+
+    private static List<FormatSegment> parseFormat(String format) {
+        List<FormatSegment> segments = new ArrayList<>();
+        int start = 0;
+        while (start < format.length()) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            int index = valueIndex < 0 || (labelIndex >= 0 && labelIndex < valueIndex) ? labelIndex : valueIndex;
+            if (index < 0) {
+                String literal = format.substring(start);
+                segments.add((result, value, label) -> result.append(literal));
+                break;
+            }
+            if (index > start) {
+                String literal = format.substring(start, index);
+                segments.add((result, value, label) -> result.append(literal));
+            }
+            if (index == valueIndex) {
+                segments.add((result, value, label) -> result.append(value));
+                start = index + FORMAT_VALUE.length();
+            } else {
+                segments.add((result, value, label) -> result.append(label));
+                start = index + FORMAT_LABEL.length();
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Looks up the label of a numeric value.
+     *
+     * @param source the value as string
+     * @return the label of the first range containing the value, null if no range contains it
+     * @throws NumberFormatException if the value isn't a number
+     */
+    public @Nullable String getLabel(String source) {
+        if (isPlainNumber(source)) {
+            try {
+                // adding zero turns -0.0 into 0.0, which are different for the binary search
+                double value = Double.parseDouble(source) + 0.0;
+                if (Double.isFinite(value)) {
+                    int index = Arrays.binarySearch(doubleLimits, value);
+                    if (index < 0) {
+                        // rounding to double keeps the order, so the value is in the same interval as its double
+                        return labels[2 * (-index - 1)];
+                    }
+                    // the value may differ from the limit it is rounded to, so compare it exactly
+                }
+            } catch (NumberFormatException e) {
+                // parsed as BigDecimal below
+            }
+        }
+        return getLabel(new BigDecimal(source));
+    }
+
+    /**
+     * Looks up the label of a numeric value.
+     *
+     * @param value the value
+     * @return the label of the first range containing the value, null if no range contains it
+     */
+    public @Nullable String getLabel(BigDecimal value) {
+        int index = Arrays.binarySearch(limits, value);
+        return labels[index >= 0 ? 2 * index + 1 : 2 * (-index - 1)];
+    }
+
+    public @Nullable String getNonNumeric() {
+        return nonNumeric;
+    }
+
+    /**
+     * Formats the result of a transformation.
+     *
+     * @param value the transformed value
+     * @param label the label of the range containing the value
+     * @return the format with its placeholders replaced
+     */
+    public String format(String value, String label) {
+        StringBuilder result = new StringBuilder();
+        for (FormatSegment segment : format) {
+            segment.append(result, value, label);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Checks if a number only consists of digits, signs, decimal point and exponent, so it's parsed the same as double
+     * and as {@link BigDecimal}.
+     */
+    private static boolean isPlainNumber(String source) {
+        if (source.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
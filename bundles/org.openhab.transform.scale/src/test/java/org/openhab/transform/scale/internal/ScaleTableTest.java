@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ScaleTableTest {
+    private static final BigDecimal TEN = BigDecimal.TEN;
+    private static final BigDecimal FIFTEEN = new BigDecimal(15);
+    private static final BigDecimal SEVENTEEN = new BigDecimal(17);
+
+    // same ranges as evaluationorder.scale
+    private final ScaleTable table = new ScaleTable(
+            List.of(Range.lessThan(FIFTEEN), Range.closedOpen(TEN, SEVENTEEN), Range.atLeast(FIFTEEN)),
+            List.of("first", "second", "last"), null, "%label%");
+
+    @Test
+    public void testFirstMatchingRangeIsUsed() {
+        assertEquals("first", table.getLabel("-1000"));
+        assertEquals("first", table.getLabel("10"));
+        assertEquals("first", table.getLabel("14.999999"));
+        assertEquals("second", table.getLabel("15"));
+        assertEquals("second", table.getLabel("16"));
+        assertEquals("last", table.getLabel("17"));
+        assertEquals("last", table.getLabel("1e10"));
+    }
+
+    @Test
+    public void testValuesCloseToLimitsAreComparedExactly() {
+        // both are rounded to the double 15.0
+        assertEquals("first", table.getLabel("14.99999999999999999999"));
+        assertEquals("second", table.getLabel("15.00000000000000000001"));
+        assertEquals("second", table.getLabel("15.000"));
+        assertEquals("first", table.getLabel(new BigDecimal("14.99999999999999999999")));
+    }
+
+    @Test
+    public void testGapsHaveNoLabel() {
+        ScaleTable gaps = new ScaleTable(List.of(Range.closed(BigDecimal.ZERO, TEN), Range.open(FIFTEEN, SEVENTEEN)),
+                List.of("low", "high"), null, "%label%");
+
+        assertEquals("low", gaps.getLabel("-0"));
+        assertEquals("low", gaps.getLabel("10"));
+        assertNull(gaps.getLabel("-0.1"));
+        assertNull(gaps.getLabel("12"));
+        assertNull(gaps.getLabel("15"));
+        assertEquals("high", gaps.getLabel("16"));
+        assertNull(gaps.getLabel("17"));
+    }
+
+    @Test
+    public void testInvalidNumberIsRejected() {
+        assertThrows(NumberFormatException.class, () -> table.getLabel("1-2"));
+        assertThrows(NumberFormatException.class, () -> table.getLabel("NaN"));
+        assertThrows(NumberFormatException.class, () -> table.getLabel(" 1"));
+    }
+
+    @Test
+    public void testFormat() {
+        ScaleTable formatted = new ScaleTable(List.of(Range.all()), List.of("a $1 label"), null,
+                "%label% (%value%%label%) %");
+
+        assertEquals("a $1 label (42a $1 label) %", formatted.format("42", "a $1 label"));
+    }
+}
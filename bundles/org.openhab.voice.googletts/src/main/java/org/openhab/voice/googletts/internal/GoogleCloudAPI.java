@@ -28,10 +28,15 @@ import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.http.HttpHeader;
@@ -106,6 +111,24 @@ class GoogleCloudAPI {
      */
     private File cacheFolder;
 
+    /**
+     * Maximum size of the audio kept in memory
+     */
+    private static final int RECENT_AUDIO_MAX_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * Recently used audio by cache file name, in access order. Repeated announcements are served without reading
+     * the cache folder.
+     */
+    private final Map<String, byte[]> recentAudio = new LinkedHashMap<>(16, 0.75f, true);
+    private int recentAudioBytes;
+
+    /**
+     * Requests in progress by cache file name, so concurrent requests for the same text wait for the first request
+     * instead of calling Google again.
+     */
+    private final Map<String, CompletableFuture<byte @Nullable []>> pendingRequests = new ConcurrentHashMap<>();
+
     /**
      * Configuration
      */
@@ -140,6 +163,8 @@ class GoogleCloudAPI {
      */
     void setConfig(GoogleTTSConfig config) {
         this.config = config;
+        // audio depends on the configuration, e.g. the speaking rate
+        clearRecentAudio();
 
         String clientId = config.clientId;
         String clientSecret = config.clientSecret;
@@ -323,6 +348,36 @@ class GoogleCloudAPI {
         String[] format = getFormatForCodec(codec);
         String fileNameInCache = getUniqueFilenameForText(text, voice.getTechnicalName());
         File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + format[1]);
+        byte[] audio = getRecentAudio(audioFileInCache.getName());
+        if (audio != null) {
+            logger.debug("Audio file {} was found in memory.", audioFileInCache.getName());
+            return audio;
+        }
+
+        CompletableFuture<byte @Nullable []> request = new CompletableFuture<>();
+        CompletableFuture<byte @Nullable []> pendingRequest = pendingRequests.putIfAbsent(audioFileInCache.getName(),
+                request);
+        if (pendingRequest != null) {
+            logger.debug("Audio file {} is being synthesized, waiting for it.", audioFileInCache.getName());
+            return waitForRequest(pendingRequest);
+        }
+        try {
+            audio = synthesizeSpeech(text, voice, format[0], audioFileInCache);
+            if (audio != null) {
+                putRecentAudio(audioFileInCache.getName(), audio);
+            }
+            request.complete(audio);
+            return audio;
+        } catch (RuntimeException ex) {
+            request.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingRequests.remove(audioFileInCache.getName());
+        }
+    }
+
+    private byte @Nullable [] synthesizeSpeech(String text, GoogleTTSVoice voice, String audioFormat,
+            File audioFileInCache) {
         try {
             // check if in cache
             if (audioFileInCache.exists()) {
@@ -331,7 +386,7 @@ class GoogleCloudAPI {
             }
 
             // if not in cache, get audio data and put to cache
-            byte[] audio = synthesizeSpeechByGoogle(text, voice, format[0]);
+            byte[] audio = synthesizeSpeechByGoogle(text, voice, audioFormat);
             if (audio != null) {
                 saveAudioAndTextToFile(text, audioFileInCache, audio, voice.getTechnicalName());
             }
@@ -351,6 +406,47 @@ class GoogleCloudAPI {
         }
     }
 
+    private byte @Nullable [] waitForRequest(CompletableFuture<byte @Nullable []> request) {
+        try {
+            return request.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException ex) {
+            logger.warn("Error synthesizing speech: {}", ex.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private byte @Nullable [] getRecentAudio(String fileName) {
+        synchronized (recentAudio) {
+            return recentAudio.get(fileName);
+        }
+    }
+
+    private void putRecentAudio(String fileName, byte[] audio) {
+        if (audio.length > RECENT_AUDIO_MAX_BYTES / 4) {
+            // long texts are not worth to be kept in memory
+            return;
+        }
+        synchronized (recentAudio) {
+            byte[] previous = recentAudio.put(fileName, audio);
+            recentAudioBytes += audio.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> iterator = recentAudio.values().iterator();
+            while (recentAudioBytes > RECENT_AUDIO_MAX_BYTES && iterator.hasNext()) {
+                recentAudioBytes -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void clearRecentAudio() {
+        synchronized (recentAudio) {
+            recentAudio.clear();
+            recentAudioBytes = 0;
+        }
+    }
+
     /**
      * Create cache entry.
      *
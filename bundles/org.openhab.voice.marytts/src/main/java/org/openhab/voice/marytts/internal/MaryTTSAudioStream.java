@@ -54,7 +54,18 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
      * @throws IOException
      */
     public MaryTTSAudioStream(AudioInputStream inputStream, AudioFormat audioFormat) throws IOException {
-        rawAudio = IOUtils.toByteArray(inputStream);
+        this(IOUtils.toByteArray(inputStream), audioFormat);
+    }
+
+    /**
+     * Constructs an instance with the passed properties
+     *
+     * @param rawAudio The raw audio data of this instance, without the WAVE header
+     * @param audioFormat The AudioFormat of this instance
+     * @throws IOException
+     */
+    public MaryTTSAudioStream(byte[] rawAudio, AudioFormat audioFormat) throws IOException {
+        this.rawAudio = rawAudio;
         this.length = rawAudio.length + 36;
         this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
         this.audioFormat = audioFormat;
@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
 
+import org.apache.commons.io.IOUtils;
 import org.openhab.core.audio.AudioFormat;
 import org.openhab.core.audio.AudioStream;
 import org.openhab.core.voice.TTSException;
@@ -44,6 +45,11 @@ public class MaryTTSService implements TTSService {
 
     private final Logger logger = LoggerFactory.getLogger(MaryTTSService.class);
 
+    /**
+     * Generated raw audio by voice and text. Synthesis is expensive and the same announcements are usually repeated.
+     */
+    private static final AudioCache AUDIO_CACHE = new AudioCache("org.openhab.voice.marytts");
+
     private MaryInterface marytts;
 
     /**
@@ -114,17 +120,31 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
-        // Synchronize on marytts
-        synchronized (marytts) {
-            // Set voice (Each voice supports only a single AudioFormat)
-            marytts.setLocale(voice.getLocale());
-            marytts.setVoice(voice.getLabel());
+        // Each voice supports only a single AudioFormat, so the voice and the text identify the audio. The cache
+        // keeps the extension of the key for its file.
+        String key = voice.getUID() + "|" + text + ".raw";
+        try {
+            byte[] rawAudio = AUDIO_CACHE.get(key);
+            if (rawAudio != null) {
+                return new MaryTTSAudioStream(rawAudio, maryTTSVoiceAudioFormat);
+            }
 
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
+            // Synchronize on marytts
+            synchronized (marytts) {
+                // Same text may have been generated while waiting for marytts
+                rawAudio = AUDIO_CACHE.get(key);
+                if (rawAudio == null) {
+                    // Set voice (Each voice supports only a single AudioFormat)
+                    marytts.setLocale(voice.getLocale());
+                    marytts.setVoice(voice.getLabel());
+
+                    rawAudio = IOUtils.toByteArray(marytts.generateAudio(text));
+                    AUDIO_CACHE.put(key, rawAudio);
+                }
             }
+            return new MaryTTSAudioStream(rawAudio, maryTTSVoiceAudioFormat);
+        } catch (SynthesisException | IOException e) {
+            throw new TTSException("Error generating an AudioStream", e);
         }
     }
 
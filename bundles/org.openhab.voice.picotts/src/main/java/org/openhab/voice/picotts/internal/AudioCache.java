@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.picotts.internal;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.cache.ByteArrayFileCache;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of generated audio. The most recently used audio is kept in memory up to a maximum size, all audio is kept in
+ * a file cache. Files older than the expiry are removed in the background, at most once a day.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class AudioCache {
+    private static final int MAX_MEMORY_BYTES = 4 * 1024 * 1024;
+    private static final Duration EXPIRY = Duration.ofDays(30);
+    private static final long CLEANUP_INTERVAL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(AudioCache.class);
+
+    private final ByteArrayFileCache fileCache;
+    private final Map<String, byte[]> recentAudio = new LinkedHashMap<>(16, 0.75f, true);
+    private int recentAudioBytes;
+    private final AtomicLong lastCleanup = new AtomicLong();
+
+    /**
+     * @param servicePID PID of the service, the files are kept in its cache folder
+     */
+    AudioCache(String servicePID) {
+        fileCache = new ByteArrayFileCache(servicePID, EXPIRY);
+    }
+
+    /**
+     * Returns the cached audio.
+     *
+     * @param key the key of the audio, its extension is used for the cache file
+     * @return the audio or null if it isn't cached
+     */
+    byte @Nullable [] get(String key) {
+        synchronized (recentAudio) {
+            byte[] audio = recentAudio.get(key);
+            if (audio != null) {
+                return audio;
+            }
+        }
+        if (fileCache.containsKey(key)) {
+            try {
+                byte[] audio = fileCache.get(key);
+                putRecentAudio(key, audio);
+                return audio;
+            } catch (IOException e) {
+                logger.debug("Failed to read cached audio, generating it again: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds audio to the cache.
+     *
+     * @param key the key of the audio, its extension is used for the cache file
+     * @param audio the audio
+     */
+    void put(String key, byte[] audio) {
+        putRecentAudio(key, audio);
+        fileCache.put(key, audio);
+        clearExpired();
+    }
+
+    private void putRecentAudio(String key, byte[] audio) {
+        if (audio.length > MAX_MEMORY_BYTES / 4) {
+            // long texts are not worth to be kept in memory
+            return;
+        }
+        synchronized (recentAudio) {
+            byte[] previous = recentAudio.put(key, audio);
+            recentAudioBytes += audio.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> iterator = recentAudio.values().iterator();
+            while (recentAudioBytes > MAX_MEMORY_BYTES && iterator.hasNext()) {
+                recentAudioBytes -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void clearExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastCleanup.get();
+        if (now - last > CLEANUP_INTERVAL_MILLIS && lastCleanup.compareAndSet(last, now)) {
+            // scanning the cache folder is done in the background, not to delay the announcement
+            ThreadPoolManager.getPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(fileCache::clearExpired);
+        }
+    }
+}
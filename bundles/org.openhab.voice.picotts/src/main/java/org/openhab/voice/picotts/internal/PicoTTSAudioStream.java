@@ -12,11 +12,11 @@
  */
 package org.openhab.voice.picotts.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 
 import org.openhab.core.audio.AudioException;
 import org.openhab.core.audio.AudioFormat;
@@ -30,19 +30,14 @@ import org.openhab.core.voice.Voice;
  * @author Florian Schmidt - Initial Contribution
  */
 class PicoTTSAudioStream extends FixedLengthAudioStream {
-    private final Voice voice;
-    private final String text;
     private final AudioFormat audioFormat;
+    private final byte[] audio;
     private final InputStream inputStream;
 
-    private long length;
-    private File file;
-
-    public PicoTTSAudioStream(String text, Voice voice, AudioFormat audioFormat) throws AudioException {
-        this.text = text;
-        this.voice = voice;
+    public PicoTTSAudioStream(byte[] audio, AudioFormat audioFormat) {
+        this.audio = audio;
         this.audioFormat = audioFormat;
-        this.inputStream = createInputStream();
+        this.inputStream = new ByteArrayInputStream(audio);
     }
 
     @Override
@@ -50,48 +45,44 @@ class PicoTTSAudioStream extends FixedLengthAudioStream {
         return audioFormat;
     }
 
-    private InputStream createInputStream() throws AudioException {
-        String outputFile = generateOutputFilename();
-        String[] command = getCommand(outputFile);
+    /**
+     * Generates the audio for a text by executing pico2wave.
+     *
+     * @param text The text to speak
+     * @param voice The voice to use
+     * @return The generated WAVE audio
+     * @throws AudioException if the audio could not be generated
+     */
+    static byte[] generateAudio(String text, Voice voice) throws AudioException {
+        File file = createOutputFile(text);
+        String[] command = getCommand(voice, file.getAbsolutePath(), text);
 
         try {
             Process process = Runtime.getRuntime().exec(command);
             process.waitFor();
-            file = new File(outputFile);
-            this.length = file.length();
-            return getFileInputStream(file);
+            if (!file.exists()) {
+                throw new AudioException("Temporary file '" + file.getName() + "' not found!");
+            }
+            return Files.readAllBytes(file.toPath());
         } catch (IOException e) {
             throw new AudioException("Error while executing '" + command + "'", e);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new AudioException("The '" + command + "' has been interrupted", e);
-        }
-    }
-
-    private InputStream getFileInputStream(File file) throws AudioException {
-        if (file == null) {
-            throw new IllegalArgumentException("file must not be null");
-        }
-        if (file.exists()) {
-            try {
-                return new FileInputStream(file);
-            } catch (FileNotFoundException e) {
-                throw new AudioException("Cannot open temporary audio file '" + file.getName() + ".");
-            }
-        } else {
-            throw new AudioException("Temporary file '" + file.getName() + "' not found!");
+        } finally {
+            file.delete();
         }
     }
 
     /**
-     * Generates a unique, absolute output filename
+     * Generates a unique, absolute output file
      *
-     * @return Unique, absolute output filename
+     * @return Unique, absolute output file
      */
-    private String generateOutputFilename() throws AudioException {
+    private static File createOutputFile(String text) throws AudioException {
         try {
-            File tempFile = File.createTempFile(Integer.toString(text.hashCode()), ".wav");
-            tempFile.deleteOnExit();
-            return tempFile.getAbsolutePath();
+            // deleted as soon as the audio was read
+            return File.createTempFile(Integer.toString(text.hashCode()), ".wav");
         } catch (IOException e) {
             throw new AudioException("Unable to create temp file.", e);
         }
@@ -103,8 +94,8 @@ class PicoTTSAudioStream extends FixedLengthAudioStream {
      * @param outputFile The absolute filename of the command's output
      * @return The command used to generate the audio file {@code outputFile}
      */
-    private String[] getCommand(String outputFile) {
-        return new String[] { "pico2wave", "-l=" + this.voice.getLabel(), "-w=" + outputFile, this.text };
+    private static String[] getCommand(Voice voice, String outputFile, String text) {
+        return new String[] { "pico2wave", "-l=" + voice.getLabel(), "-w=" + outputFile, text };
     }
 
     @Override
@@ -112,17 +103,18 @@ class PicoTTSAudioStream extends FixedLengthAudioStream {
         return inputStream.read();
     }
 
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return inputStream.read(b, off, len);
+    }
+
     @Override
     public long length() {
-        return length;
+        return audio.length;
     }
 
     @Override
     public InputStream getClonedStream() throws AudioException {
-        if (file != null) {
-            return getFileInputStream(file);
-        } else {
-            throw new AudioException("No temporary audio file available.");
-        }
+        return new ByteArrayInputStream(audio);
     }
 }
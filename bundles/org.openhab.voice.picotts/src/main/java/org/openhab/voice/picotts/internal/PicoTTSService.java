@@ -14,7 +14,11 @@ package org.openhab.voice.picotts.internal;
 
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +35,12 @@ import org.osgi.service.component.annotations.Component;
  */
 @Component
 public class PicoTTSService implements TTSService {
+    /**
+     * Generated audio by voice and text. Every generation starts a pico2wave process and the same announcements are
+     * usually repeated.
+     */
+    private static final AudioCache AUDIO_CACHE = new AudioCache("org.openhab.voice.picotts");
+
     private final Set<Voice> voices = Stream
             .of(new PicoTTSVoice("de-DE"), new PicoTTSVoice("en-US"), new PicoTTSVoice("en-GB"),
                     new PicoTTSVoice("es-ES"), new PicoTTSVoice("fr-FR"), new PicoTTSVoice("it-IT"))
@@ -39,6 +49,12 @@ public class PicoTTSService implements TTSService {
     private final Set<AudioFormat> audioFormats = Collections.singleton(
             new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 16000L));
 
+    /**
+     * Generations in progress by voice and text, so concurrent requests for the same text wait for the first request
+     * instead of starting another process.
+     */
+    private final Map<String, CompletableFuture<byte[]>> pendingRequests = new ConcurrentHashMap<>();
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return this.voices;
@@ -68,12 +84,53 @@ public class PicoTTSService implements TTSService {
         }
 
         try {
-            return new PicoTTSAudioStream(text, voice, requestedFormat);
+            return new PicoTTSAudioStream(getAudio(text, voice), requestedFormat);
         } catch (AudioException e) {
             throw new TTSException(e);
         }
     }
 
+    private byte[] getAudio(String text, Voice voice) throws AudioException {
+        // the cache keeps the extension of the key for its file
+        String key = voice.getUID() + "|" + text + ".wav";
+        byte[] audio = AUDIO_CACHE.get(key);
+        if (audio != null) {
+            return audio;
+        }
+
+        CompletableFuture<byte[]> request = new CompletableFuture<>();
+        CompletableFuture<byte[]> pendingRequest = pendingRequests.putIfAbsent(key, request);
+        if (pendingRequest != null) {
+            return waitForRequest(pendingRequest);
+        }
+        try {
+            // the audio may have been generated by a request that completed after the check above
+            audio = AUDIO_CACHE.get(key);
+            if (audio == null) {
+                audio = PicoTTSAudioStream.generateAudio(text, voice);
+                AUDIO_CACHE.put(key, audio);
+            }
+            request.complete(audio);
+            return audio;
+        } catch (AudioException | RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingRequests.remove(key);
+        }
+    }
+
+    private byte[] waitForRequest(CompletableFuture<byte[]> request) throws AudioException {
+        try {
+            return request.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AudioException("Interrupted while waiting for the audio", e);
+        } catch (ExecutionException e) {
+            throw new AudioException("Error while generating the audio", e.getCause());
+        }
+    }
+
     @Override
     public String getId() {
         return "picotts";
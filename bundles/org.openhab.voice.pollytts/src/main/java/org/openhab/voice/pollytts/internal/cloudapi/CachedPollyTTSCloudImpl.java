@@ -19,11 +19,19 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +49,20 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
 
     private final File cacheFolder;
 
+    /**
+     * Requests to the service in progress by audio file name, so concurrent requests for the same text wait for the
+     * first request instead of calling the service again.
+     */
+    private final Map<String, CompletableFuture<File>> pendingRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Last use of the cached audio files by file name. It is loaded from the modification times of the files once and
+     * kept up to date, so neither lookups nor the cache cleaner have to scan the cache folder.
+     */
+    private final Map<String, Long> lastUse = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean purging = new AtomicBoolean();
+
     /**
      * Create the file folder to hold the the cached speech files.
      * check to make sure the directory exist and
@@ -49,31 +71,81 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
     public CachedPollyTTSCloudImpl(PollyTTSConfig config, File cacheFolder) throws IOException {
         super(config);
         this.cacheFolder = cacheFolder;
+        ThreadPoolManager.getPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(this::loadLastUse);
+    }
+
+    private void loadLastUse() {
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String fileName = file.getName();
+                if (!fileName.endsWith(".txt") && !fileName.endsWith(".tmp")) {
+                    // a lookup in the meantime already recorded a later use
+                    lastUse.putIfAbsent(fileName, file.lastModified());
+                }
+            }
+        }
     }
 
     /**
      * Fetch the specified text as an audio file.
      * The audio file will be obtained from the cached folder if it
      * exist or generated by use to the external voice service.
-     * The cached file txt description time stamp will be updated
-     * to identify last use.
+     * The use date of the cached file is updated for the cache cleaner.
      */
     public File getTextToSpeechAsFile(String text, String label, String audioFormat) throws IOException {
         String fileNameInCache = getUniqueFilenameForText(text, label);
         // check if in cache
         File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + audioFormat.toLowerCase());
-        if (audioFileInCache.exists()) {
-            // update use date
-            updateTimeStamp(audioFileInCache);
-            updateTimeStamp(new File(cacheFolder, fileNameInCache + ".txt"));
+        Long lastUsed = lastUse.get(audioFileInCache.getName());
+        if (lastUsed != null || audioFileInCache.exists()) {
+            // update use date, the use date is kept in the modification time of the files for restarts, the cache
+            // cleaner works with days, so the files are touched at most once a day
+            long now = System.currentTimeMillis();
+            if (lastUsed == null || now - lastUsed > TimeUnit.DAYS.toMillis(1)) {
+                audioFileInCache.setLastModified(now);
+                new File(cacheFolder, fileNameInCache + ".txt").setLastModified(now);
+                lastUse.put(audioFileInCache.getName(), now);
+            }
             purgeAgedFiles();
             return audioFileInCache;
         }
 
+        CompletableFuture<File> request = new CompletableFuture<>();
+        CompletableFuture<File> pendingRequest = pendingRequests.putIfAbsent(audioFileInCache.getName(), request);
+        if (pendingRequest != null) {
+            return waitForRequest(pendingRequest);
+        }
+        try {
+            // the file may have been written by a request that completed after the check above
+            File audioFile = audioFileInCache.exists() ? audioFileInCache
+                    : writeToCache(text, label, audioFormat, fileNameInCache, audioFileInCache);
+            request.complete(audioFile);
+            return audioFile;
+        } catch (RuntimeException ex) {
+            request.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingRequests.remove(audioFileInCache.getName());
+        }
+    }
+
+    private File writeToCache(String text, String label, String audioFormat, String fileNameInCache,
+            File audioFileInCache) {
+        // write to a temporary file first, the audio file must not be visible in the cache before it is complete
+        File tempFile = new File(cacheFolder, audioFileInCache.getName() + ".tmp");
         // if not in cache, get audio data and put to cache
         try (InputStream is = getTextToSpeech(text, label, audioFormat);
-                FileOutputStream fos = new FileOutputStream(audioFileInCache)) {
+                FileOutputStream fos = new FileOutputStream(tempFile)) {
             copyStream(is, fos);
+        } catch (IOException ex) {
+            logger.warn("Could not write {} to cache, return null", audioFileInCache, ex);
+            tempFile.delete();
+            return null;
+        }
+        try {
+            Files.move(tempFile.toPath(), audioFileInCache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            lastUse.put(audioFileInCache.getName(), System.currentTimeMillis());
             // write text to file for transparency too
             // this allows to know which contents is in which audio file
             File txtFileInCache = new File(cacheFolder, fileNameInCache + ".txt");
@@ -86,6 +158,17 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
         }
     }
 
+    private File waitForRequest(CompletableFuture<File> request) throws IOException {
+        try {
+            return request.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the audio file", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Could not retrieve the audio file", ex.getCause());
+        }
+    }
+
     /**
      * Gets a unique filename for a give text, by creating a MD5 hash of it. It
      * will be preceded by the voice label.
@@ -129,12 +212,7 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
         }
     }
 
-    private void updateTimeStamp(File file) throws IOException {
-        // update use date for cache management
-        file.setLastModified(System.currentTimeMillis());
-    }
-
-    private void purgeAgedFiles() throws IOException {
+    private void purgeAgedFiles() {
         // just exit if expiration set to 0/disabled
         if (config.getExpireDate() == 0) {
             return;
@@ -144,19 +222,30 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
         // only execute ~ once every 2 days if cache called
         long oneDayMillis = TimeUnit.DAYS.toMillis(1);
         logger.debug("PollyTTS cache cleaner lastdelete {}", diff);
-        if (diff > (2 * oneDayMillis)) {
+        if (diff > (2 * oneDayMillis) && purging.compareAndSet(false, true)) {
             config.setLastDelete(now);
-            long xDaysAgo = config.getExpireDate() * oneDayMillis;
-            // Now search folders and delete old files
-            int filesDeleted = 0;
-            for (File file : cacheFolder.listFiles()) {
-                diff = now - file.lastModified();
-                if (diff > xDaysAgo) {
-                    filesDeleted++;
-                    file.delete();
+            // deleting the files is done in the background, not to delay the announcement
+            ThreadPoolManager.getPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(() -> {
+                try {
+                    purgeAgedFiles(now, config.getExpireDate() * oneDayMillis);
+                } finally {
+                    purging.set(false);
                 }
+            });
+        }
+    }
+
+    private void purgeAgedFiles(long now, long xDaysAgo) {
+        // delete the audio files that weren't used recently together with their text files
+        int filesDeleted = 0;
+        for (Map.Entry<String, Long> entry : lastUse.entrySet()) {
+            if (now - entry.getValue() > xDaysAgo && lastUse.remove(entry.getKey(), entry.getValue())) {
+                String fileName = entry.getKey();
+                new File(cacheFolder, fileName).delete();
+                new File(cacheFolder, fileName.substring(0, fileName.lastIndexOf('.')) + ".txt").delete();
+                filesDeleted++;
             }
-            logger.debug("PollyTTS cache cleaner deleted '{}' aged files", filesDeleted);
         }
+        logger.debug("PollyTTS cache cleaner deleted '{}' aged files", filesDeleted);
     }
 }
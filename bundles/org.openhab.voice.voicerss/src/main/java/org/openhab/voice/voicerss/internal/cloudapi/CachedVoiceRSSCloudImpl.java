@@ -20,8 +20,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +45,12 @@ public class CachedVoiceRSSCloudImpl extends VoiceRSSCloudImpl {
 
     private final File cacheFolder;
 
+    /**
+     * Requests to the service in progress by audio file name, so concurrent requests for the same text wait for the
+     * first request instead of calling the service again.
+     */
+    private final Map<String, CompletableFuture<File>> pendingRequests = new ConcurrentHashMap<>();
+
     /**
      * Stream buffer size
      */
@@ -64,25 +76,66 @@ public class CachedVoiceRSSCloudImpl extends VoiceRSSCloudImpl {
             return audioFileInCache;
         }
 
+        CompletableFuture<File> request = new CompletableFuture<>();
+        CompletableFuture<File> pendingRequest = pendingRequests.putIfAbsent(audioFileInCache.getName(), request);
+        if (pendingRequest != null) {
+            return waitForRequest(pendingRequest);
+        }
+        try {
+            // the file may have been written by a request that completed after the check above
+            File audioFile = audioFileInCache.exists() ? audioFileInCache
+                    : writeToCache(apiKey, text, locale, audioFormat, fileNameInCache, audioFileInCache);
+            request.complete(audioFile);
+            return audioFile;
+        } catch (IOException | RuntimeException ex) {
+            request.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingRequests.remove(audioFileInCache.getName());
+        }
+    }
+
+    private File writeToCache(String apiKey, String text, String locale, String audioFormat, String fileNameInCache,
+            File audioFileInCache) throws IOException {
+        // write to a temporary file first, the audio file must not be visible in the cache before it is complete
+        File tempFile = new File(cacheFolder, audioFileInCache.getName() + ".tmp");
         // if not in cache, get audio data and put to cache
         try (InputStream is = super.getTextToSpeech(apiKey, text, locale, audioFormat);
-                FileOutputStream fos = new FileOutputStream(audioFileInCache)) {
+                FileOutputStream fos = new FileOutputStream(tempFile)) {
             copyStream(is, fos);
+        } catch (FileNotFoundException ex) {
+            logger.warn("Could not write {} to cache", audioFileInCache, ex);
+            return null;
+        } catch (IOException ex) {
+            logger.error("Could not write {} to cache", audioFileInCache, ex);
+            tempFile.delete();
+            return null;
+        }
+        try {
+            Files.move(tempFile.toPath(), audioFileInCache.toPath(), StandardCopyOption.REPLACE_EXISTING);
             // write text to file for transparency too
             // this allows to know which contents is in which audio file
             File txtFileInCache = new File(cacheFolder, fileNameInCache + ".txt");
             writeText(txtFileInCache, text);
             // return from cache
             return audioFileInCache;
-        } catch (FileNotFoundException ex) {
-            logger.warn("Could not write {} to cache", audioFileInCache, ex);
-            return null;
         } catch (IOException ex) {
-            logger.error("Could not write {} to cache", audioFileInCache, ex);
+            logger.error("Could not write {} to cache", audioFileInCache, ex);
             return null;
         }
     }
 
+    private File waitForRequest(CompletableFuture<File> request) throws IOException {
+        try {
+            return request.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the audio file", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Could not retrieve the audio file", ex.getCause());
+        }
+    }
+
     /**
      * Gets a unique filename for a give text, by creating a MD5 hash of it. It
      * will be preceded by the locale.
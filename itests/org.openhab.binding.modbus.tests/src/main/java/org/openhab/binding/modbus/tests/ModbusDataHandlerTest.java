@@ -28,6 +28,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -598,6 +600,48 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         assertSingleStateUpdate(dataHandler, CHANNEL_STRING, is(equalTo(new StringType("ON"))));
     }
 
+    @Test
+    public void testOnUnchangedRegistersFailedTransformationIsRetried() throws InvalidSyntaxException {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger transformations = new AtomicInteger();
+        mockTransformation("FAILING", new TransformationService() {
+
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                transformations.incrementAndGet();
+                if (failing.get()) {
+                    throw new TransformationException("failing");
+                }
+                return "transformed";
+            }
+        });
+        ModbusRegisterArray registers = new ModbusRegisterArray(new byte[] { (byte) 0xff, (byte) 0xfd });
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "FAILING(foobar)", ModbusConstants.ValueType.INT16, null, registers, null, bundleContext);
+
+        // the failed transformation passes on the untransformed value
+        String stringItemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_STRING));
+        waitForAssert(() -> assertThat(getStateUpdates(stringItemName), is(equalTo(List.of(new StringType("-3"))))));
+
+        // the value is unchanged, but the transformation is tried again
+        failing.set(false);
+        readRegistersAgain(dataHandler, registers);
+        waitForAssert(() -> assertThat(getStateUpdates(stringItemName),
+                is(equalTo(List.of(new StringType("-3"), new StringType("transformed"))))));
+
+        // the successfully transformed states are reused while the value is unchanged
+        int successfulTransformations = transformations.get();
+        readRegistersAgain(dataHandler, registers);
+        assertThat(transformations.get(), is(equalTo(successfulTransformations)));
+    }
+
+    private void readRegistersAgain(ModbusDataThingHandler dataHandler, ModbusRegisterArray registers) {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, registers));
+    }
+
     @Test
     public void testWriteRealTransformation() throws InvalidSyntaxException {
         captureModbusWrites();